@@ -0,0 +1,102 @@
+package cn.guruguru.datalink.benchmark;
+
+import cn.guruguru.datalink.benchmark.generator.DdlCorpusGenerator;
+import cn.guruguru.datalink.ddl.converter.FlinkDdlConverter;
+import cn.guruguru.datalink.ddl.result.FlinkDdlConverterResult;
+import cn.guruguru.datalink.ddl.statement.CreateDatabaseStatement;
+import cn.guruguru.datalink.ddl.statement.CreateTableStatement;
+import cn.guruguru.datalink.ddl.statement.DdlStatementListener;
+import cn.guruguru.datalink.ddl.table.CaseStrategy;
+import cn.guruguru.datalink.ddl.table.JdbcDialect;
+import cn.guruguru.datalink.ddl.table.TableDuplicateStrategy;
+import cn.guruguru.datalink.ddl.table.TableSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link FlinkDdlConverter#convertSql}, {@link FlinkDdlConverter#convertStream} and
+ * {@link FlinkDdlConverter#convertSchema}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DdlConverterBenchmark {
+
+    @Param({"10", "1000"})
+    private int tables;
+
+    @Param({"20"})
+    private int columns;
+
+    private final FlinkDdlConverter flinkDdlConverter = new FlinkDdlConverter();
+
+    private String oracleSql;
+    private String mysqlSql;
+    private List<TableSchema> tableSchemas;
+
+    @Setup
+    public void setup() {
+        DdlCorpusGenerator generator = new DdlCorpusGenerator(42L);
+        oracleSql = generator.generateSql(JdbcDialect.Oracle, tables, columns);
+        mysqlSql = generator.generateSql(JdbcDialect.MySQL, tables, columns);
+        tableSchemas = generator.generateSchemas(tables, columns);
+    }
+
+    @Benchmark
+    public FlinkDdlConverterResult convertOracleSql() {
+        return flinkDdlConverter.convertSql(
+                JdbcDialect.Oracle, "BENCHMARK_CATALOG", null, oracleSql, CaseStrategy.UPPERCASE);
+    }
+
+    @Benchmark
+    public FlinkDdlConverterResult convertOracleSqlInParallel() {
+        return flinkDdlConverter.convertSql(JdbcDialect.Oracle, "BENCHMARK_CATALOG", null, oracleSql,
+                CaseStrategy.UPPERCASE, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int convertOracleStream(Blackhole blackhole) {
+        return flinkDdlConverter.convertStream(JdbcDialect.Oracle, "BENCHMARK_CATALOG", null,
+                new StringReader(oracleSql), CaseStrategy.UPPERCASE, new DdlStatementListener() {
+                    @Override
+                    public void onCreateDatabase(CreateDatabaseStatement statement) {
+                        blackhole.consume(statement);
+                    }
+
+                    @Override
+                    public void onCreateTable(CreateTableStatement statement) {
+                        blackhole.consume(statement);
+                    }
+                });
+    }
+
+    @Benchmark
+    public FlinkDdlConverterResult convertMysqlSql() {
+        return flinkDdlConverter.convertSql(
+                JdbcDialect.MySQL, "BENCHMARK_CATALOG", null, mysqlSql, CaseStrategy.LOWERCASE);
+    }
+
+    @Benchmark
+    public FlinkDdlConverterResult convertSchema() {
+        return flinkDdlConverter.convertSchema(JdbcDialect.Oracle, tableSchemas,
+                null, null, TableDuplicateStrategy.IGNORE, CaseStrategy.UPPERCASE);
+    }
+}
@@ -0,0 +1,59 @@
+package cn.guruguru.datalink.benchmark;
+
+import cn.guruguru.datalink.benchmark.generator.PipelineGenerator;
+import cn.guruguru.datalink.parser.Parser;
+import cn.guruguru.datalink.parser.impl.FlinkSqlParser;
+import cn.guruguru.datalink.parser.impl.SparkSqlParser;
+import cn.guruguru.datalink.parser.result.ParseResult;
+import cn.guruguru.datalink.protocol.Pipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link FlinkSqlParser#parse(Pipeline)} and {@link SparkSqlParser#parse(Pipeline)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    @Param({"2", "16", "64"})
+    private int nodes;
+
+    @Param({"10", "100"})
+    private int fields;
+
+    private final Parser flinkSqlParser = new FlinkSqlParser();
+    private final Parser sparkSqlParser = new SparkSqlParser();
+
+    private Pipeline pipeline;
+
+    @Setup
+    public void setup() {
+        pipeline = new PipelineGenerator(42L).generate(nodes, fields);
+    }
+
+    @Benchmark
+    public ParseResult flinkParse() {
+        return flinkSqlParser.parse(pipeline);
+    }
+
+    @Benchmark
+    public ParseResult sparkParse() {
+        return sparkSqlParser.parse(pipeline);
+    }
+}
@@ -0,0 +1,74 @@
+package cn.guruguru.datalink.benchmark;
+
+import cn.guruguru.datalink.benchmark.generator.DdlCorpusGenerator;
+import cn.guruguru.datalink.ddl.converter.OracleSqlPreprocessor;
+import cn.guruguru.datalink.ddl.table.JdbcDialect;
+import cn.guruguru.datalink.utils.SqlUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link OracleSqlPreprocessor} and {@link SqlUtil#compress}
+ *
+ * <p>The {@code legacy*} methods are the former {@code String#replaceAll} chains and are kept as baselines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreprocessorBenchmark {
+
+    @Param({"10", "1000"})
+    private int tables;
+
+    @Param({"20"})
+    private int columns;
+
+    private String oracleSql;
+
+    @Setup
+    public void setup() {
+        oracleSql = new DdlCorpusGenerator(42L).generateSql(JdbcDialect.Oracle, tables, columns);
+    }
+
+    @Benchmark
+    public String preprocessOracle() {
+        return OracleSqlPreprocessor.preprocess(oracleSql);
+    }
+
+    @Benchmark
+    public String legacyPreprocessOracle() {
+        return oracleSql.replaceAll("(?i)\\sENABLE", "")
+                .replaceAll("(?i)USING INDEX ", "")
+                .replaceAll("(?i)NUMBER\\(\\*,\\s?0\\)", "NUMBER")
+                .replaceAll("(?i),?\\s*\n?\\s*supplemental log data.*columns", "");
+    }
+
+    @Benchmark
+    public String compress() {
+        return SqlUtil.compress(oracleSql);
+    }
+
+    @Benchmark
+    public String legacyCompress() {
+        return oracleSql.replaceAll("\\n", "")
+                .replaceAll("\\(\\s*", "(")
+                .replaceAll("\\s*\\)", ")")
+                .replaceAll("\\s{2,}", " ")
+                .replaceAll("\\s*;", ";")
+                .trim();
+    }
+}
@@ -0,0 +1,74 @@
+package cn.guruguru.datalink.benchmark;
+
+import cn.guruguru.datalink.protocol.field.DataType;
+import cn.guruguru.datalink.protocol.node.extract.scan.MySqlScanNode;
+import cn.guruguru.datalink.protocol.node.extract.scan.OracleScanNode;
+import cn.guruguru.datalink.type.converter.DataTypeConverter;
+import cn.guruguru.datalink.type.converter.FlinkDataTypeConverter;
+import cn.guruguru.datalink.type.converter.SparkDataTypeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for {@link DataTypeConverter#toEngineType(String, DataType)}
+ *
+ * <p>Each invocation converts a fixed mix of MySQL and Oracle types, the score is the time per mix.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeConverterBenchmark {
+
+    private static final DataType[] MYSQL_TYPES = {
+            new DataType("INT", null, null),
+            new DataType("BIGINT", null, null),
+            new DataType("DECIMAL", 20, 4),
+            new DataType("VARCHAR", 255, null),
+            new DataType("DATETIME", 3, null),
+            new DataType("TINYINT", 1, null),
+    };
+
+    private static final DataType[] ORACLE_TYPES = {
+            new DataType("NUMBER", 15, 0),
+            new DataType("NUMBER", 20, 4),
+            new DataType("VARCHAR2", 64, null),
+            new DataType("DATE", null, null),
+            new DataType("TIMESTAMP", 6, null),
+            new DataType("CLOB", null, null),
+    };
+
+    private final DataTypeConverter flinkTypeConverter = new FlinkDataTypeConverter();
+    private final DataTypeConverter sparkTypeConverter = new SparkDataTypeConverter();
+
+    @Benchmark
+    public void flinkToEngineType(Blackhole blackhole) {
+        convert(flinkTypeConverter, blackhole);
+    }
+
+    @Benchmark
+    public void sparkToEngineType(Blackhole blackhole) {
+        convert(sparkTypeConverter, blackhole);
+    }
+
+    private void convert(DataTypeConverter typeConverter, Blackhole blackhole) {
+        for (DataType dataType : MYSQL_TYPES) {
+            blackhole.consume(typeConverter.toEngineType(MySqlScanNode.TYPE, dataType));
+        }
+        for (DataType dataType : ORACLE_TYPES) {
+            blackhole.consume(typeConverter.toEngineType(OracleScanNode.TYPE, dataType));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package cn.guruguru.datalink.benchmark.generator;
+
+import cn.guruguru.datalink.ddl.table.JdbcDialect;
+import cn.guruguru.datalink.ddl.table.TableField;
+import cn.guruguru.datalink.ddl.table.TableSchema;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator for synthetic DDL corpora and table schemas
+ *
+ * <p>Oracle scripts look like the output of {@code DBMS_METADATA.GET_DDL}, i.e. with {@code ENABLE},
+ * {@code USING INDEX}, storage clauses and {@code COMMENT ON} statements, so that the preprocessor and the comment
+ * parsing are part of the measurement.
+ */
+public class DdlCorpusGenerator {
+
+    private static final String[] ORACLE_TYPES = {
+            "NUMBER(15,0)", "NUMBER(*,0)", "NUMBER(20,4)", "VARCHAR2(64 CHAR)", "VARCHAR2(2048)",
+            "NVARCHAR2(128)", "CHAR(1)", "DATE", "TIMESTAMP", "CLOB", "BINARY_DOUBLE",
+    };
+
+    private static final String[] MYSQL_TYPES = {
+            "INT", "BIGINT", "DECIMAL(20,4)", "VARCHAR(64)", "VARCHAR(1024)", "CHAR(1)",
+            "DATETIME(3)", "DATE", "TEXT", "DOUBLE", "TINYINT(1)",
+    };
+
+    private static final String[][] SCHEMA_TYPES = {
+            {"NUMBER", "15", "0"}, {"NUMBER", "20", "4"}, {"VARCHAR2", "64", null}, {"NVARCHAR2", "128", null},
+            {"CHAR", "1", null}, {"DATE", null, null}, {"TIMESTAMP", null, null}, {"CLOB", null, null},
+    };
+
+    private final Random random;
+
+    public DdlCorpusGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generate a DDL script
+     *
+     * @param dialect JDBC dialect, only Oracle, DMDB and MySQL are supported
+     * @param tables number of tables
+     * @param columns number of columns per table
+     * @return a script with one or more statements
+     */
+    public String generateSql(JdbcDialect dialect, int tables, int columns) {
+        Preconditions.checkNotNull(dialect, "dialect is null");
+        Preconditions.checkState(tables > 0, "tables must be positive");
+        Preconditions.checkState(columns > 0, "columns must be positive");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tables; i++) {
+            switch (dialect) {
+                case Oracle:
+                case DMDB:
+                    appendOracleTable(sb, "SCHEMA_" + (i % 8), "TABLE_" + i, columns);
+                    break;
+                case MySQL:
+                    appendMysqlTable(sb, "db_" + (i % 8), "table_" + i, columns);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported dialect:" + dialect);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Generate table schemas
+     *
+     * @param tables number of table schemas
+     * @param columns number of columns per table
+     * @return a list of table schemas with Oracle types
+     */
+    public List<TableSchema> generateSchemas(int tables, int columns) {
+        Preconditions.checkState(tables > 0, "tables must be positive");
+        Preconditions.checkState(columns > 0, "columns must be positive");
+        List<TableSchema> tableSchemas = new ArrayList<>(tables);
+        for (int i = 0; i < tables; i++) {
+            List<TableField> fields = new ArrayList<>(columns);
+            int offset = random.nextInt(SCHEMA_TYPES.length);
+            for (int j = 0; j < columns; j++) {
+                String[] type = SCHEMA_TYPES[(offset + j) % SCHEMA_TYPES.length];
+                fields.add(new TableField("COL_" + j, type[0],
+                        type[1] == null ? null : Integer.valueOf(type[1]),
+                        type[2] == null ? null : Integer.valueOf(type[2]),
+                        "column " + j));
+            }
+            tableSchemas.add(TableSchema.builder()
+                    .catalog("BENCHMARK_CATALOG")
+                    .database("SCHEMA_" + (i % 8))
+                    .tableName("TABLE_" + i)
+                    .tableComment("table " + i)
+                    .fields(fields)
+                    .build());
+        }
+        return tableSchemas;
+    }
+
+    private void appendOracleTable(StringBuilder sb, String schema, String table, int columns) {
+        int offset = random.nextInt(ORACLE_TYPES.length);
+        sb.append("CREATE TABLE \"").append(schema).append("\".\"").append(table).append("\" \n   (");
+        for (int j = 0; j < columns; j++) {
+            sb.append("\t\"COL_").append(j).append("\" ").append(ORACLE_TYPES[(offset + j) % ORACLE_TYPES.length]);
+            if (j == 0) {
+                sb.append(" NOT NULL ENABLE");
+            }
+            sb.append(", \n");
+        }
+        sb.append("\t PRIMARY KEY (\"COL_0\")\n")
+                .append("  USING INDEX PCTFREE 10 INITRANS 2 MAXTRANS 255 COMPUTE STATISTICS \n")
+                .append("  TABLESPACE \"SRC_DATA\"  ENABLE, \n")
+                .append("   SUPPLEMENTAL LOG DATA (ALL) COLUMNS\n")
+                .append("   ) SEGMENT CREATION DEFERRED \n")
+                .append("  PCTFREE 10 PCTUSED 40 INITRANS 1 MAXTRANS 255 \n")
+                .append(" NOCOMPRESS LOGGING\n")
+                .append("  TABLESPACE \"SRC_DATA\" ;\n\n");
+        sb.append("COMMENT ON TABLE \"").append(schema).append("\".\"").append(table)
+                .append("\" IS 'table ").append(table).append("';\n");
+        for (int j = 0; j < columns; j++) {
+            sb.append("COMMENT ON COLUMN \"").append(schema).append("\".\"").append(table).append("\".\"COL_")
+                    .append(j).append("\" IS 'column ").append(j).append("';\n");
+        }
+        sb.append('\n');
+    }
+
+    private void appendMysqlTable(StringBuilder sb, String database, String table, int columns) {
+        int offset = random.nextInt(MYSQL_TYPES.length);
+        sb.append("CREATE TABLE ").append(database).append('.').append(table).append(" (\n");
+        sb.append("  id BIGINT NOT NULL AUTO_INCREMENT,\n");
+        for (int j = 0; j < columns; j++) {
+            sb.append("  col_").append(j).append(' ').append(MYSQL_TYPES[(offset + j) % MYSQL_TYPES.length])
+                    .append(" DEFAULT NULL COMMENT 'column ").append(j).append("',\n");
+        }
+        sb.append("  PRIMARY KEY (id)\n")
+                .append(") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='table ").append(table).append("';\n\n");
+    }
+}
@@ -0,0 +1,94 @@
+package cn.guruguru.datalink.benchmark.generator;
+
+import cn.guruguru.datalink.protocol.Pipeline;
+import cn.guruguru.datalink.protocol.field.DataField;
+import cn.guruguru.datalink.protocol.field.DataType;
+import cn.guruguru.datalink.protocol.node.Node;
+import cn.guruguru.datalink.protocol.node.extract.scan.MySqlScanNode;
+import cn.guruguru.datalink.protocol.node.load.AmoroLoadNode;
+import cn.guruguru.datalink.protocol.relation.FieldRelation;
+import cn.guruguru.datalink.protocol.relation.NodeRelation;
+import cn.guruguru.datalink.protocol.relation.Relation;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator for synthetic pipelines
+ *
+ * <p>A pipeline with {@code N} nodes consists of {@code N / 2} independent MySQL scan to Amoro load flows, each node
+ * has {@code M} fields mapped one to one. Field types cycle through the common MySQL types so that every type branch
+ * of the converters is exercised.
+ */
+public class PipelineGenerator {
+
+    private static final DataType[] MYSQL_TYPES = {
+            new DataType("INT", null, null),
+            new DataType("BIGINT", null, null),
+            new DataType("VARCHAR", 255, null),
+            new DataType("DECIMAL", 20, 4),
+            new DataType("DATETIME", 3, null),
+            new DataType("DATE", null, null),
+            new DataType("DOUBLE", null, null),
+            new DataType("TEXT", null, null),
+    };
+
+    private static final DataType[] AMORO_TYPES = {
+            new DataType("INT", null, null),
+            new DataType("LONG", null, null),
+            new DataType("STRING", null, null),
+            new DataType("DECIMAL", 20, 4),
+            new DataType("TIMESTAMP", null, null),
+            new DataType("DATE", null, null),
+            new DataType("DOUBLE", null, null),
+            new DataType("STRING", null, null),
+    };
+
+    private final Random random;
+
+    public PipelineGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generate a pipeline
+     *
+     * @param nodes number of nodes, must be an even number
+     * @param fields number of fields per node
+     * @return a synthetic pipeline
+     */
+    public Pipeline generate(int nodes, int fields) {
+        Preconditions.checkState(nodes > 0 && nodes % 2 == 0, "nodes must be a positive even number");
+        Preconditions.checkState(fields > 0, "fields must be positive");
+        List<Node> nodeList = new ArrayList<>(nodes);
+        List<NodeRelation> nodeRelations = new ArrayList<>(nodes / 2);
+        for (int i = 0; i < nodes / 2; i++) {
+            String extractId = "extract_" + i;
+            String loadId = "load_" + i;
+            List<DataField> extractFields = new ArrayList<>(fields);
+            List<DataField> loadFields = new ArrayList<>(fields);
+            List<FieldRelation> fieldRelations = new ArrayList<>(fields);
+            int offset = random.nextInt(MYSQL_TYPES.length);
+            for (int j = 0; j < fields; j++) {
+                int typeIndex = (offset + j) % MYSQL_TYPES.length;
+                String fieldName = "col_" + j;
+                DataField extractField = new DataField(fieldName, extractId, "column " + j, MYSQL_TYPES[typeIndex]);
+                DataField loadField = new DataField(fieldName, loadId, "column " + j, AMORO_TYPES[typeIndex]);
+                extractFields.add(extractField);
+                loadFields.add(loadField);
+                fieldRelations.add(new FieldRelation(extractField, loadField));
+            }
+            nodeList.add(new MySqlScanNode(extractId, extractId, extractFields, null,
+                    "jdbc:mysql://localhost:3306/db_" + i, "user", "password", "table_" + i, "col_0"));
+            nodeList.add(new AmoroLoadNode(loadId, loadId, loadFields, fieldRelations, null, null,
+                    "thrift://localhost:1260", "amoro_catalog", "db_" + i, "table_" + i, "col_0"));
+            nodeRelations.add(new NodeRelation(
+                    Collections.singletonList(extractId), Collections.singletonList(loadId)));
+        }
+        Relation relation = new Relation(nodeRelations, Collections.emptyList());
+        return new Pipeline("pipeline_" + nodes + "_" + fields, "benchmark", null, nodeList, relation, null);
+    }
+}
@@ -2,6 +2,7 @@ package cn.guruguru.datalink.ddl.converter;
 
 import cn.guruguru.datalink.ddl.statement.CreateDatabaseStatement;
 import cn.guruguru.datalink.ddl.statement.CreateTableStatement;
+import cn.guruguru.datalink.ddl.statement.DdlStatementListener;
 import cn.guruguru.datalink.ddl.table.JdbcDialect;
 import cn.guruguru.datalink.ddl.result.FlinkDdlConverterResult;
 import cn.guruguru.datalink.ddl.table.CaseStrategy;
@@ -9,32 +10,54 @@ import cn.guruguru.datalink.ddl.table.Affix;
 import cn.guruguru.datalink.ddl.table.TableDuplicateStrategy;
 import cn.guruguru.datalink.ddl.table.TableField;
 import cn.guruguru.datalink.ddl.table.TableSchema;
-import cn.guruguru.datalink.type.converter.FlinkDataTypeConverter;
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.type.converter.DataTypeConverter;
+import cn.guruguru.datalink.type.converter.factory.SimpleTypeConverterFactory;
 import cn.guruguru.datalink.exception.IllegalDDLException;
 import cn.guruguru.datalink.exception.SQLSyntaxException;
 import cn.guruguru.datalink.protocol.field.DataType;
-import cn.guruguru.datalink.utils.SqlUtil;
+import cn.guruguru.datalink.utils.SqlStatementSplitter;
+import cn.guruguru.datalink.utils.SqlLogger;
 import com.google.common.base.Preconditions;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParser;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.parser.ParseException;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.Statements;
 import net.sf.jsqlparser.statement.comment.Comment;
 import net.sf.jsqlparser.statement.create.table.ColumnDefinition;
 import net.sf.jsqlparser.statement.create.table.CreateTable;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 
 import javax.annotation.Nullable;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Slf4j
 public class FlinkDdlConverter implements DdlConverter<FlinkDdlConverterResult> {
     private static final long serialVersionUID = 4400665610164265289L;
+    private static final SqlLogger sqlLog = new SqlLogger(log);
 
-    private static final FlinkDataTypeConverter flinkTypeConverter = new FlinkDataTypeConverter();
+    private static final DataTypeConverter flinkTypeConverter =
+            SimpleTypeConverterFactory.getCachedInstance(EngineType.FLINK_SQL);
+
+    private static final Pattern CREATE_TABLE_STATEMENT_PATTERN =
+            Pattern.compile("CREATE\\s+(GLOBAL\\s+TEMPORARY\\s+)?TABLE\\s", Pattern.CASE_INSENSITIVE);
+    private static final Pattern COMMENT_STATEMENT_PATTERN =
+            Pattern.compile("COMMENT\\s+ON\\s", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DEFAULT_SPEC_PATTERN = Pattern.compile("\\s?DEFAULT\\s(\\S)+\\s?");
+    private static final Pattern AUTO_INCREMENT_SPEC_PATTERN = Pattern.compile("\\s?AUTO_INCREMENT\\s?");
+    private static final Pattern COLLATE_SPEC_PATTERN = Pattern.compile("\\s?COLLATE\\s(\\S)+\\s?");
+    private static final Pattern CHARACTER_LENGTH_PATTERN = Pattern.compile("(\\d+)\\s.+");
 
     // ~ converter for table schemas --------------------------------------
 
@@ -151,7 +174,8 @@ public class FlinkDdlConverter implements DdlConverter<FlinkDdlConverterResult>
         Preconditions.checkNotNull(dialect,"dialect is null");
         Preconditions.checkNotNull(targetCatalog,"catalog is null");
         Preconditions.checkNotNull(sql,"sql is null");
-        log.info("start parse {} SQL:{}", dialect, SqlUtil.compress(sql));
+        log.info("start parse {} SQL", dialect);
+        sqlLog.log("{} SQL:{}", dialect, SqlLogger.compressed(sql));
 
         FlinkDdlConverterResult result;
         try {
@@ -167,18 +191,218 @@ public class FlinkDdlConverter implements DdlConverter<FlinkDdlConverterResult>
             result = parseCreateTableStatements(
                     dialect, statements, targetCatalog, defaultDatabase, tableCommentMap, columnCommentMap, caseStrategy);
             if (result.getCreateTableStatements().isEmpty()) {
-                log.error("create table statements is empty, SQL: {}", SqlUtil.compress(sql));
+                log.error("create table statements is empty, SQL: {}", SqlLogger.compressed(sql));
                 throw new IllegalDDLException("create table statements is empty");
             }
         } catch (JSQLParserException e) {
-            log.error("parse SQL error:{}", SqlUtil.compress(sql));
+            log.error("parse SQL error:{}", SqlLogger.compressed(sql));
             throw new SQLSyntaxException(e);
         }
 
-        log.info("end parse {} SQL:{}", dialect, SqlUtil.compress(sql));
+        log.info("end parse {} SQL", dialect);
         return result;
     }
 
+    // ~ parallel converter for sql ---------------------------------------
+
+    /**
+     * Convert to SQL in parallel
+     *
+     * <p>The first pass splits the statements and collects table comments and column comments, then CREATE-TABLE
+     * statements are parsed and converted on the executor. Results are collected in the order of the statements,
+     * so the result is the same as {@link #convertSql(JdbcDialect, String, String, String, CaseStrategy)}.
+     *
+     * @param dialect data source type
+     * @param targetCatalog target catalog
+     * @param defaultDatabase default database, If database is set in SQL (like {@code CREATE TABLE `db1`.`tb1` (...)}),
+     *                        it will be ignored
+     * @param sql one or more SQL statements from Data Source, non-CREATE-TABLE statements will be ignored
+     * @param caseStrategy case strategy
+     * @param executor executor to convert CREATE-TABLE statements, like {@link java.util.concurrent.ForkJoinPool}
+     */
+    public FlinkDdlConverterResult convertSql(JdbcDialect dialect,
+                                              String targetCatalog,
+                                              @Nullable String defaultDatabase,
+                                              String sql,
+                                              CaseStrategy caseStrategy,
+                                              Executor executor) throws RuntimeException {
+        Preconditions.checkNotNull(dialect,"dialect is null");
+        Preconditions.checkNotNull(targetCatalog,"catalog is null");
+        Preconditions.checkNotNull(sql,"sql is null");
+        Preconditions.checkNotNull(executor,"executor is null");
+        log.info("start parse {} SQL in parallel", dialect);
+
+        // first pass: split statements and collect comments
+        Map<String, String> tableCommentMap = new HashMap<>();
+        Map<String, String> columnCommentMap = new HashMap<>();
+        List<String> createTableSqls = new ArrayList<>();
+        SqlStatementSplitter splitter = new SqlStatementSplitter(new StringReader(sql));
+        while (splitter.hasNext()) {
+            String statementSql = splitter.next();
+            if (COMMENT_STATEMENT_PATTERN.matcher(statementSql).lookingAt()) {
+                Statement statement = parseStatement(dialect, statementSql);
+                if (statement instanceof Comment) {
+                    parseCommentStatement((Comment) statement, targetCatalog, tableCommentMap, columnCommentMap);
+                }
+            } else if (CREATE_TABLE_STATEMENT_PATTERN.matcher(statementSql).lookingAt()) {
+                createTableSqls.add(statementSql);
+            }
+        }
+        if (createTableSqls.isEmpty()) {
+            log.error("create table statements is empty, SQL: {}", SqlLogger.compressed(sql));
+            throw new IllegalDDLException("create table statements is empty");
+        }
+
+        // second pass: convert tables in parallel, the comment maps are only read from now on
+        List<CompletableFuture<Pair<CreateDatabaseStatement, CreateTableStatement>>> futures =
+                new ArrayList<>(createTableSqls.size());
+        for (String createTableSql : createTableSqls) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                CreateTable createTable = (CreateTable) parseStatement(dialect, createTableSql);
+                return Pair.of(
+                        convertDatabase(targetCatalog, defaultDatabase, createTable, caseStrategy),
+                        convertCreateTable(dialect, targetCatalog, defaultDatabase,
+                                createTable, tableCommentMap, columnCommentMap, caseStrategy));
+            }, executor));
+        }
+        // There may be same databases or tables
+        Map<String, String> createDatabaseSqlMap = new LinkedHashMap<>();
+        Map<String, String> createTableSqlMap = new LinkedHashMap<>();
+        for (CompletableFuture<Pair<CreateDatabaseStatement, CreateTableStatement>> future : futures) {
+            Pair<CreateDatabaseStatement, CreateTableStatement> statements;
+            try {
+                statements = future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+            }
+            createDatabaseSqlMap.put(statements.getLeft().getDatabaseIdentifier(), statements.getLeft().getDdl());
+            createTableSqlMap.put(statements.getRight().getTableIdentifier(), statements.getRight().getDdl());
+        }
+        log.info("end parse {} SQL in parallel, {} tables", dialect, createTableSqlMap.size());
+        return getFlinkSqlConverterResult(dialect, createDatabaseSqlMap, createTableSqlMap);
+    }
+
+    // ~ streaming converter for sql --------------------------------------
+
+    /**
+     * Convert a SQL script incrementally, e.g. a schema dump with tens of thousands of tables
+     *
+     * <p>Statements are split from the reader one at a time and only CREATE-TABLE and COMMENT statements are parsed,
+     * so memory does not grow with the size of the script. A CREATE-TABLE statement is emitted when the next
+     * CREATE-TABLE statement or the end of the script is reached, with the COMMENT statements read so far for its
+     * table, whether they precede or follow it. Pending comments are kept by table until their table is emitted, so
+     * comments of a table which follow a later CREATE-TABLE statement can not be applied, they are logged as a warning
+     * at the end of the script. Unlike {@link #convertSql}, duplicate tables are emitted as they arrive.
+     *
+     * @param dialect data source type
+     * @param targetCatalog target catalog
+     * @param defaultDatabase default database, If database is set in SQL (like {@code CREATE TABLE `db1`.`tb1` (...)}),
+     *                        it will be ignored
+     * @param reader SQL script from Data Source, it is not closed by this method
+     * @param caseStrategy case strategy
+     * @param listener callback for the converted statements
+     * @return number of converted tables
+     */
+    public int convertStream(JdbcDialect dialect,
+                             String targetCatalog,
+                             @Nullable String defaultDatabase,
+                             Reader reader,
+                             CaseStrategy caseStrategy,
+                             DdlStatementListener listener) throws RuntimeException {
+        Preconditions.checkNotNull(dialect,"dialect is null");
+        Preconditions.checkNotNull(targetCatalog,"catalog is null");
+        Preconditions.checkNotNull(reader,"reader is null");
+        Preconditions.checkNotNull(listener,"listener is null");
+        log.info("start parse {} SQL stream", dialect);
+
+        Set<String> databaseIdentifiers = new HashSet<>();
+        Map<String, String> tableCommentMap = new HashMap<>();
+        Map<String, String> columnCommentMap = new HashMap<>();
+        CreateTable pendingTable = null;
+        int tableCount = 0;
+        SqlStatementSplitter splitter = new SqlStatementSplitter(reader);
+        while (splitter.hasNext()) {
+            String sql = splitter.next();
+            boolean isComment = COMMENT_STATEMENT_PATTERN.matcher(sql).lookingAt();
+            if (!isComment && !CREATE_TABLE_STATEMENT_PATTERN.matcher(sql).lookingAt()) {
+                continue; // skip other statements without parsing
+            }
+            Statement statement = parseStatement(dialect, sql);
+            if (statement instanceof Comment) {
+                parseCommentStatement((Comment) statement, targetCatalog, tableCommentMap, columnCommentMap);
+            } else if (statement instanceof CreateTable) {
+                if (pendingTable != null) {
+                    emitCreateTable(dialect, targetCatalog, defaultDatabase, pendingTable, tableCommentMap,
+                            columnCommentMap, caseStrategy, databaseIdentifiers, listener);
+                    tableCount++;
+                }
+                pendingTable = (CreateTable) statement;
+            }
+        }
+        if (pendingTable != null) {
+            emitCreateTable(dialect, targetCatalog, defaultDatabase, pendingTable, tableCommentMap,
+                    columnCommentMap, caseStrategy, databaseIdentifiers, listener);
+            tableCount++;
+        }
+        if (!tableCommentMap.isEmpty() || !columnCommentMap.isEmpty()) {
+            log.warn("comments of tables which are not emitted after them are ignored, tables: {}, columns: {}",
+                    tableCommentMap.keySet(), columnCommentMap.keySet());
+        }
+        if (tableCount == 0) {
+            log.error("create table statements is empty in {} SQL stream", dialect);
+            throw new IllegalDDLException("create table statements is empty");
+        }
+        log.info("end parse {} SQL stream, {} tables", dialect, tableCount);
+        return tableCount;
+    }
+
+    /**
+     * Parse a single statement
+     *
+     * @param dialect JDBC dialect
+     * @param sql a single statement
+     * @return a statement
+     */
+    private Statement parseStatement(JdbcDialect dialect, String sql) {
+        // CCJSqlParserUtil.parse starts a thread per call to enforce a timeout, which dominates the cost of
+        // parsing small statements one by one, so the parser is called directly
+        CCJSqlParser parser = CCJSqlParserUtil.newParser(preprocessSql(dialect, sql)).withAllowComplexParsing(true);
+        try {
+            return parser.Statement();
+        } catch (ParseException e) {
+            log.error("parse SQL error:{}", SqlLogger.compressed(sql));
+            throw new SQLSyntaxException(e);
+        }
+    }
+
+    /**
+     * Convert a CREATE-TABLE statement and emit it with its database, the comments of the table are removed afterward
+     */
+    private void emitCreateTable(JdbcDialect dialect,
+                                 String targetCatalog,
+                                 @Nullable String defaultDatabase,
+                                 CreateTable createTable,
+                                 Map<String, String> tableCommentMap,
+                                 Map<String, String> columnCommentMap,
+                                 CaseStrategy caseStrategy,
+                                 Set<String> databaseIdentifiers,
+                                 DdlStatementListener listener) {
+        CreateDatabaseStatement createDatabaseStatement =
+                convertDatabase(targetCatalog, defaultDatabase, createTable, caseStrategy);
+        if (databaseIdentifiers.add(createDatabaseStatement.getDatabaseIdentifier())) {
+            listener.onCreateDatabase(createDatabaseStatement);
+        }
+        CreateTableStatement createTableStatement = convertCreateTable(dialect, targetCatalog, defaultDatabase,
+                createTable, tableCommentMap, columnCommentMap, caseStrategy);
+        listener.onCreateTable(createTableStatement);
+        // keys of convertCreateTable and convertColumns
+        tableCommentMap.remove(createTableStatement.getTableIdentifier());
+        String columnPrefix = String.format("\"%s\".\"%s\".", getTargetDatabase(defaultDatabase, createTable),
+                createTable.getTable().getName().replaceAll("\"", ""));
+        columnCommentMap.keySet().removeIf(column -> column.startsWith(columnPrefix));
+    }
+
     /**
      * Parse table comments and column comments
      *
@@ -194,23 +418,37 @@ public class FlinkDdlConverter implements DdlConverter<FlinkDdlConverterResult>
                                        Map<String, String> columnCommentMap) {
         for (Statement statement : statements.getStatements()) {
             if (statement instanceof Comment) {
-                Comment comment = (Comment) statement;
-                // table comment
-                if (comment.getTable() != null) {
-                    String tableQualifier = comment.getTable().getFullyQualifiedName();
-                    String tableIdentifier = String.format("`%s`.%s", catalog,
-                            tableQualifier.replaceAll("\"", "`"));
-                    tableCommentMap.put(tableIdentifier, comment.getComment().toString());
-                }
-                // column comment
-                if (comment.getColumn() != null) {
-                    String columnQualifier = comment.getColumn().getFullyQualifiedName();
-                    columnCommentMap.put(columnQualifier, comment.getComment().toString());
-                }
+                parseCommentStatement((Comment) statement, catalog, tableCommentMap, columnCommentMap);
             }
         }
     }
 
+    /**
+     * Parse a table comment or a column comment
+     *
+     * @param comment COMMENT statement
+     * @param catalog catalog
+     * @param tableCommentMap a map for table comment
+     * @param columnCommentMap a map for column comment
+     */
+    private void parseCommentStatement(Comment comment,
+                                       String catalog,
+                                       Map<String, String> tableCommentMap,
+                                       Map<String, String> columnCommentMap) {
+        // table comment
+        if (comment.getTable() != null) {
+            String tableQualifier = comment.getTable().getFullyQualifiedName();
+            String tableIdentifier = String.format("`%s`.%s", catalog,
+                    tableQualifier.replaceAll("\"", "`"));
+            tableCommentMap.put(tableIdentifier, comment.getComment().toString());
+        }
+        // column comment
+        if (comment.getColumn() != null) {
+            String columnQualifier = comment.getColumn().getFullyQualifiedName();
+            columnCommentMap.put(columnQualifier, comment.getComment().toString());
+        }
+    }
+
     /**
      * Parse a set of CREATE-TABLE statement
      *
@@ -272,37 +510,89 @@ public class FlinkDdlConverter implements DdlConverter<FlinkDdlConverterResult>
         Map<String, String> createDatabaseSqlMap = new LinkedHashMap<>();
         Map<String, String> createTableSqlMap = new LinkedHashMap<>();
         for (CreateTable createTable : createTableList) {
-            String targetDatabase = createTable.getTable().getSchemaName();
-            Preconditions.checkState(defaultDatabase != null || targetDatabase != null,
-                    "database is required");
-            if (targetDatabase != null) {
-                targetDatabase = targetDatabase.replaceAll("\"", "");
-            } else {
-                targetDatabase = defaultDatabase;
-            }
-            String databaseIdentifier = formatDatabaseIdentifier(targetCatalog, targetDatabase, null, caseStrategy);
-            String createDatabaseSql = String.format("CREATE DATABASE IF NOT EXISTS %s", databaseIdentifier);
-            createDatabaseSqlMap.put(databaseIdentifier, createDatabaseSql);
-            log.info("generated CREATE-DATABASE sql: {}", SqlUtil.compress(createDatabaseSql));
-
-            String targetTable = createTable.getTable().getName().replaceAll("\"", "");
-            List<String> columns = convertColumns(dialect, targetDatabase, targetTable,
-                    createTable.getColumnDefinitions(), columnCommentMap, caseStrategy);
-            // set table comment for Oracle and DMDB
-            String tableComment = null;
-            String tableIdentifier = formatTableIdentifier(
-                    targetCatalog, targetDatabase, targetTable, null, null, caseStrategy);
-            if (tableCommentMap != null && tableCommentMap.get(tableIdentifier) != null) {
-                tableComment = tableCommentMap.get(tableIdentifier);
-            }
-            // generate CREATE-TABLE sql
-            String createTableSql = genCreateTableSql(tableIdentifier, tableComment, columns);
-            createTableSqlMap.put(tableIdentifier, createTableSql);
-            log.info("generated CREATE-TABLE sql: {}", SqlUtil.compress(createTableSql));
+            CreateDatabaseStatement createDatabaseStatement =
+                    convertDatabase(targetCatalog, defaultDatabase, createTable, caseStrategy);
+            createDatabaseSqlMap.put(createDatabaseStatement.getDatabaseIdentifier(), createDatabaseStatement.getDdl());
+            CreateTableStatement createTableStatement = convertCreateTable(dialect, targetCatalog, defaultDatabase,
+                    createTable, tableCommentMap, columnCommentMap, caseStrategy);
+            createTableSqlMap.put(createTableStatement.getTableIdentifier(), createTableStatement.getDdl());
         }
         return getFlinkSqlConverterResult(dialect, createDatabaseSqlMap, createTableSqlMap);
     }
 
+    /**
+     * Convert the database of a CREATE-TABLE statement
+     *
+     * @param targetCatalog target catalog
+     * @param defaultDatabase default database
+     * @param createTable CreateTable
+     * @param caseStrategy case strategy
+     * @return a CREATE-DATABASE statement
+     */
+    private CreateDatabaseStatement convertDatabase(String targetCatalog,
+                                                    @Nullable String defaultDatabase,
+                                                    CreateTable createTable,
+                                                    CaseStrategy caseStrategy) {
+        String targetDatabase = getTargetDatabase(defaultDatabase, createTable);
+        String databaseIdentifier = formatDatabaseIdentifier(targetCatalog, targetDatabase, null, caseStrategy);
+        String createDatabaseSql = String.format("CREATE DATABASE IF NOT EXISTS %s", databaseIdentifier);
+        sqlLog.log("generated CREATE-DATABASE sql: {}", SqlLogger.compressed(createDatabaseSql));
+        return new CreateDatabaseStatement(databaseIdentifier, createDatabaseSql);
+    }
+
+    /**
+     * Convert a CREATE-TABLE statement
+     *
+     * @param dialect  JDBC dialect
+     * @param targetCatalog target catalog
+     * @param defaultDatabase default default
+     * @param createTable CreateTable
+     * @param tableCommentMap table comment map
+     * @param columnCommentMap column comment map
+     * @param caseStrategy case strategy
+     * @return a CREATE-TABLE statement
+     */
+    private CreateTableStatement convertCreateTable(JdbcDialect dialect,
+                                                    String targetCatalog,
+                                                    @Nullable String defaultDatabase,
+                                                    CreateTable createTable,
+                                                    Map<String, String> tableCommentMap,
+                                                    Map<String, String> columnCommentMap,
+                                                    CaseStrategy caseStrategy) {
+        String targetDatabase = getTargetDatabase(defaultDatabase, createTable);
+        String targetTable = createTable.getTable().getName().replaceAll("\"", "");
+        List<String> columns = convertColumns(dialect, targetDatabase, targetTable,
+                createTable.getColumnDefinitions(), columnCommentMap, caseStrategy);
+        // set table comment for Oracle and DMDB
+        String tableComment = null;
+        String tableIdentifier = formatTableIdentifier(
+                targetCatalog, targetDatabase, targetTable, null, null, caseStrategy);
+        if (tableCommentMap != null && tableCommentMap.get(tableIdentifier) != null) {
+            tableComment = tableCommentMap.get(tableIdentifier);
+        }
+        // generate CREATE-TABLE sql
+        String createTableSql = genCreateTableSql(tableIdentifier, tableComment, columns);
+        sqlLog.log("generated CREATE-TABLE sql: {}", SqlLogger.compressed(createTableSql));
+        return new CreateTableStatement(tableIdentifier, createTableSql);
+    }
+
+    /**
+     * Get the database of a CREATE-TABLE statement
+     *
+     * @param defaultDatabase default database
+     * @param createTable CreateTable
+     * @return the database in the statement or the default database
+     */
+    private String getTargetDatabase(@Nullable String defaultDatabase, CreateTable createTable) {
+        String targetDatabase = createTable.getTable().getSchemaName();
+        Preconditions.checkState(defaultDatabase != null || targetDatabase != null,
+                "database is required");
+        if (targetDatabase != null) {
+            return targetDatabase.replaceAll("\"", "");
+        }
+        return defaultDatabase;
+    }
+
     /**
      * Convert table column
      *
@@ -337,9 +627,9 @@ public class FlinkDdlConverter implements DdlConverter<FlinkDdlConverterResult>
             if (col.getColumnSpecs() != null) {
                 String columnSpec = String.join(" ", col.getColumnSpecs());
                 // remove unnecessary keywords
-                columnSpec = columnSpec.replaceAll("\\s?DEFAULT\\s(\\S)+\\s?", ""); // remove `DEFAULT` keyword
-                columnSpec = columnSpec.replaceAll("\\s?AUTO_INCREMENT\\s?", ""); // remove `AUTO_INCREMENT` keyword for MySQL
-                columnSpec = columnSpec.replaceAll("\\s?COLLATE\\s(\\S)+\\s?", ""); // remove `COLLATE utf8mb4_unicode_ci` for MySQL
+                columnSpec = DEFAULT_SPEC_PATTERN.matcher(columnSpec).replaceAll(""); // remove `DEFAULT` keyword
+                columnSpec = AUTO_INCREMENT_SPEC_PATTERN.matcher(columnSpec).replaceAll(""); // remove `AUTO_INCREMENT` keyword for MySQL
+                columnSpec = COLLATE_SPEC_PATTERN.matcher(columnSpec).replaceAll(""); // remove `COLLATE utf8mb4_unicode_ci` for MySQL
                 engineColumn.append(" ").append(columnSpec);
             }
             if (columnCommentMap != null && columnCommentMap.get(columnFullName) != null) {
@@ -366,9 +656,9 @@ public class FlinkDdlConverter implements DdlConverter<FlinkDdlConverterResult>
                 String arg0 = columnTypeArgs.get(0);
                 if (StringUtils.isNumeric(arg0)) {
                     precision = Integer.valueOf(columnTypeArgs.get(0));
-                } else if (Pattern.matches("\\d+\\s.+", arg0)) { // Oracle: VARCHAR(32 CHAR)
-                    Matcher matcher = Pattern.compile("(\\d+)\\s.+").matcher(arg0);
-                    if (matcher.find()) {
+                } else { // Oracle: VARCHAR(32 CHAR)
+                    Matcher matcher = CHARACTER_LENGTH_PATTERN.matcher(arg0);
+                    if (matcher.matches()) {
                         String number = matcher.group(1);
                         precision = Integer.valueOf(number);
                     }
@@ -435,11 +725,8 @@ public class FlinkDdlConverter implements DdlConverter<FlinkDdlConverterResult>
      * @return a preprocessed sql
      */
     private String preprocessSqlForOracle(String sql) {
-        // remove some keywords and clauses
-        return sql.replaceAll("(?i)\\sENABLE", "")
-                .replaceAll("(?i)USING INDEX ", "")
-                .replaceAll("(?i)NUMBER\\(\\*,\\s?0\\)", "NUMBER")
-                .replaceAll("(?i),?\\s*\n?\\s*supplemental log data.*columns", "");
+        // remove some keywords and clauses in a single pass
+        return OracleSqlPreprocessor.preprocess(sql);
     }
 
     /**
@@ -0,0 +1,237 @@
+package cn.guruguru.datalink.ddl.converter;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Single-pass preprocessor of Oracle and DMDB DDL
+ *
+ * <p>Removes the clauses which can not be parsed by JSqlParser and are meaningless for engine tables:
+ * <ul>
+ *     <li>{@code ENABLE} of constraints, e.g. {@code NOT NULL ENABLE}</li>
+ *     <li>{@code USING INDEX} of primary keys, the storage clause after it is kept</li>
+ *     <li>{@code NUMBER(*,0)}, which is replaced with {@code NUMBER}</li>
+ *     <li>{@code SUPPLEMENTAL LOG DATA (...) COLUMNS} and the comma before it</li>
+ * </ul>
+ *
+ * <p>Keywords are only matched as whole words outside string literals, quoted identifiers and comments, so a column
+ * named {@code "ENABLE"} or a comment like {@code 'USING INDEX'} is kept as is.
+ */
+public final class OracleSqlPreprocessor {
+
+    private OracleSqlPreprocessor() {
+    }
+
+    /**
+     * Preprocess a script or a single statement
+     *
+     * @param sql Oracle or DMDB SQL
+     * @return a preprocessed SQL
+     */
+    public static String preprocess(CharSequence sql) {
+        Preconditions.checkNotNull(sql, "sql is null");
+        int length = sql.length();
+        StringBuilder out = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                int end = skipQuoted(sql, i);
+                out.append(sql, i, end);
+                i = end;
+            } else if (c == '-' && charAt(sql, i + 1) == '-') {
+                int end = skipLineComment(sql, i);
+                out.append(sql, i, end);
+                i = end;
+            } else if (c == '/' && charAt(sql, i + 1) == '*') {
+                int end = skipBlockComment(sql, i);
+                out.append(sql, i, end);
+                i = end;
+            } else if (isWordChar(c)) {
+                i = rewriteWord(sql, i, skipWord(sql, i), out);
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Rewrite a word and the clause starting with it
+     *
+     * @return the position after the consumed input
+     */
+    private static int rewriteWord(CharSequence sql, int start, int end, StringBuilder out) {
+        if (isKeyword(sql, start, end, "ENABLE")) {
+            trimTrailingWhitespace(out);
+            return end;
+        }
+        if (isKeyword(sql, start, end, "USING")) {
+            int indexEnd = matchKeyword(sql, skipWhitespace(sql, end), "INDEX");
+            if (indexEnd > 0) {
+                return indexEnd;
+            }
+        }
+        if (isKeyword(sql, start, end, "NUMBER")) {
+            int numberEnd = matchAnyPrecisionNumber(sql, end);
+            if (numberEnd > 0) {
+                out.append("NUMBER");
+                return numberEnd;
+            }
+        }
+        if (isKeyword(sql, start, end, "SUPPLEMENTAL")) {
+            int clauseEnd = matchSupplementalLogData(sql, end);
+            if (clauseEnd > 0) {
+                trimTrailingWhitespace(out);
+                if (out.length() > 0 && out.charAt(out.length() - 1) == ',') {
+                    out.setLength(out.length() - 1);
+                }
+                return clauseEnd;
+            }
+        }
+        out.append(sql, start, end);
+        return end;
+    }
+
+    /**
+     * Match {@code (*, 0)} after {@code NUMBER}
+     *
+     * @return the position after {@code )}, or -1 if not matched
+     */
+    private static int matchAnyPrecisionNumber(CharSequence sql, int from) {
+        int i = skipWhitespace(sql, from);
+        for (char expected : new char[] {'(', '*', ',', '0', ')'}) {
+            i = skipWhitespace(sql, i);
+            if (charAt(sql, i) != expected) {
+                return -1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Match {@code LOG DATA (...) COLUMNS} after {@code SUPPLEMENTAL}
+     *
+     * @return the position after {@code COLUMNS}, or -1 if not matched
+     */
+    private static int matchSupplementalLogData(CharSequence sql, int from) {
+        int i = matchKeyword(sql, skipWhitespace(sql, from), "LOG");
+        if (i < 0) {
+            return -1;
+        }
+        i = matchKeyword(sql, skipWhitespace(sql, i), "DATA");
+        if (i < 0) {
+            return -1;
+        }
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == ';') {
+                return -1;
+            } else if (c == '\'' || c == '"') {
+                i = skipQuoted(sql, i);
+            } else if (isWordChar(c)) {
+                int end = skipWord(sql, i);
+                if (isKeyword(sql, i, end, "COLUMNS")) {
+                    return end;
+                }
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return -1;
+    }
+
+    // ~ scanner ----------------------------------------------------
+
+    private static int matchKeyword(CharSequence sql, int from, String keyword) {
+        if (from >= sql.length() || !isWordChar(sql.charAt(from))) {
+            return -1;
+        }
+        int end = skipWord(sql, from);
+        return isKeyword(sql, from, end, keyword) ? end : -1;
+    }
+
+    private static boolean isKeyword(CharSequence sql, int start, int end, String keyword) {
+        if (end - start != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (Character.toUpperCase(sql.charAt(start + i)) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipQuoted(CharSequence sql, int start) {
+        char quote = sql.charAt(start);
+        int length = sql.length();
+        int i = start + 1;
+        while (i < length) {
+            if (sql.charAt(i) == quote) {
+                if (charAt(sql, i + 1) != quote) {
+                    return i + 1;
+                }
+                i++; // escaped quote
+            }
+            i++;
+        }
+        return length;
+    }
+
+    private static int skipLineComment(CharSequence sql, int start) {
+        int length = sql.length();
+        int i = start + 2;
+        while (i < length && sql.charAt(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipBlockComment(CharSequence sql, int start) {
+        int length = sql.length();
+        for (int i = start + 2; i + 1 < length; i++) {
+            if (sql.charAt(i) == '*' && sql.charAt(i + 1) == '/') {
+                return i + 2;
+            }
+        }
+        return length;
+    }
+
+    private static int skipWord(CharSequence sql, int start) {
+        int length = sql.length();
+        int i = start;
+        while (i < length && isWordChar(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(CharSequence sql, int start) {
+        int length = sql.length();
+        int i = start;
+        while (i < length && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void trimTrailingWhitespace(StringBuilder out) {
+        int length = out.length();
+        while (length > 0 && Character.isWhitespace(out.charAt(length - 1))) {
+            length--;
+        }
+        out.setLength(length);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+    }
+
+    private static char charAt(CharSequence sql, int index) {
+        return index < sql.length() ? sql.charAt(index) : 0;
+    }
+}
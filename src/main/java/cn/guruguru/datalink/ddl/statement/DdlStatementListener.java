@@ -0,0 +1,26 @@
+package cn.guruguru.datalink.ddl.statement;
+
+/**
+ * Callback for statements emitted by a streaming DDL conversion
+ *
+ * <p>A {@link CreateDatabaseStatement} is emitted once and before the first {@link CreateTableStatement} of the
+ * database. Statements are emitted in the order of the source script.
+ *
+ * @see cn.guruguru.datalink.ddl.converter.FlinkDdlConverter#convertStream
+ */
+public interface DdlStatementListener {
+
+    /**
+     * Called when a database is seen for the first time
+     *
+     * @param statement CREATE-DATABASE statement
+     */
+    void onCreateDatabase(CreateDatabaseStatement statement);
+
+    /**
+     * Called when a table is converted
+     *
+     * @param statement CREATE-TABLE statement
+     */
+    void onCreateTable(CreateTableStatement statement);
+}
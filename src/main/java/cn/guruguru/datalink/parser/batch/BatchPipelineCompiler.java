@@ -0,0 +1,87 @@
+package cn.guruguru.datalink.parser.batch;
+
+import cn.guruguru.datalink.parser.Parser;
+import cn.guruguru.datalink.parser.result.ParseOutcome;
+import cn.guruguru.datalink.protocol.Pipeline;
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compiles many pipelines in parallel with a shared, thread-safe {@link Parser}
+ *
+ * <p>Usages:
+ * <pre>
+ *     Parser parser = SimpleParserFactory.createParser(EngineType.FLINK_SQL);
+ *     BatchPipelineCompiler compiler = new BatchPipelineCompiler(parser, new ForkJoinPool(16));
+ *     List&lt;ParseOutcome&gt; outcomes = compiler.compile(pipelines);
+ * </pre>
+ */
+@Slf4j
+public class BatchPipelineCompiler {
+
+    private final Parser parser;
+    private final Executor executor;
+
+    /**
+     * Creates a compiler running on the common {@link ForkJoinPool}
+     *
+     * @param parser a thread-safe parser
+     */
+    public BatchPipelineCompiler(Parser parser) {
+        this(parser, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a compiler running on the given executor
+     *
+     * @param parser a thread-safe parser
+     * @param executor an executor, e.g. a {@link ForkJoinPool} with a custom parallelism
+     */
+    public BatchPipelineCompiler(Parser parser, Executor executor) {
+        this.parser = Preconditions.checkNotNull(parser, "parser is null");
+        this.executor = Preconditions.checkNotNull(executor, "executor is null");
+    }
+
+    /**
+     * Parse all pipelines, a failed pipeline does not stop the others
+     *
+     * @param pipelines a collection of pipelines
+     * @return outcomes in the iteration order of the input
+     */
+    public List<ParseOutcome> compile(Collection<Pipeline> pipelines) {
+        Preconditions.checkNotNull(pipelines, "pipelines is null");
+        log.info("start compile {} pipelines", pipelines.size());
+        List<CompletableFuture<ParseOutcome>> futures = new ArrayList<>(pipelines.size());
+        for (Pipeline pipeline : pipelines) {
+            futures.add(CompletableFuture.supplyAsync(() -> compileOne(pipeline), executor));
+        }
+        List<ParseOutcome> outcomes = new ArrayList<>(futures.size());
+        int failures = 0;
+        for (CompletableFuture<ParseOutcome> future : futures) {
+            ParseOutcome outcome = future.join();
+            if (!outcome.isSuccess()) {
+                failures++;
+            }
+            outcomes.add(outcome);
+        }
+        log.info("end compile {} pipelines, {} failed", outcomes.size(), failures);
+        return outcomes;
+    }
+
+    private ParseOutcome compileOne(Pipeline pipeline) {
+        String pipelineId = pipeline == null ? null : pipeline.getId();
+        try {
+            return ParseOutcome.success(pipelineId, parser.parse(pipeline));
+        } catch (RuntimeException e) {
+            log.error("compile pipeline error, id:{}", pipelineId, e);
+            return ParseOutcome.failure(pipelineId, e);
+        }
+    }
+}
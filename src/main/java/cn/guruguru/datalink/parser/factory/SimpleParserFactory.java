@@ -6,9 +6,14 @@ import cn.guruguru.datalink.parser.Parser;
 import cn.guruguru.datalink.parser.impl.FlinkSqlParser;
 import cn.guruguru.datalink.parser.impl.SparkSqlParser;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Simple Parser Factory designed based on the Simple Factory Pattern
  *
+ * <p>Parsers are stateless and thread-safe, so a single parser is cached per engine type and shared by all callers.
+ *
  * Usages:
  * <pre>
  *     Parser parser = SimpleParserFactory.createParser(EngineType.SPARK_SQL);
@@ -17,21 +22,25 @@ import cn.guruguru.datalink.parser.impl.SparkSqlParser;
  */
 public class SimpleParserFactory {
 
+    private static final Map<EngineType, Parser> PARSERS = new EnumMap<>(EngineType.class);
+
+    static {
+        PARSERS.put(EngineType.SPARK_SQL, new SparkSqlParser());
+        PARSERS.put(EngineType.FLINK_SQL, new FlinkSqlParser());
+    }
+
     /**
-     * Creates a sql parser based on the type of computing engine
+     * Gets the shared sql parser based on the type of computing engine
      *
      * @param engineType engine type
      * @return a concrete sql parser
      */
     public static Parser createParser(EngineType engineType) {
-        switch (engineType) {
-            case SPARK_SQL:
-                return new SparkSqlParser();
-            case FLINK_SQL:
-                return new FlinkSqlParser();
-            default:
-                throw new UnsupportedEngineException("Unsupported engine：" + engineType);
+        Parser parser = PARSERS.get(engineType);
+        if (parser == null) {
+            throw new UnsupportedEngineException("Unsupported engine：" + engineType);
         }
+        return parser;
     }
 
     public static Parser of(EngineType engineType) {
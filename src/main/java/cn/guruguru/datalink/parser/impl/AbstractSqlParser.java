@@ -1,6 +1,9 @@
 package cn.guruguru.datalink.parser.impl;
 
 import cn.guruguru.datalink.parser.Parser;
+import cn.guruguru.datalink.parser.result.IncrementalParseResult;
+import cn.guruguru.datalink.parser.result.NodeSqlFragment;
+import cn.guruguru.datalink.parser.result.ParseDiff;
 import cn.guruguru.datalink.parser.result.ParseResult;
 import cn.guruguru.datalink.protocol.Pipeline;
 import cn.guruguru.datalink.protocol.Metadata;
@@ -13,35 +16,47 @@ import cn.guruguru.datalink.protocol.node.LoadNode;
 import cn.guruguru.datalink.protocol.node.Node;
 import cn.guruguru.datalink.protocol.node.NodePropDescriptor;
 import cn.guruguru.datalink.protocol.node.extract.CdcExtractNode;
+import cn.guruguru.datalink.protocol.node.extract.ScanExtractNode;
+import cn.guruguru.datalink.protocol.node.extract.scan.ScanPushdown;
+import cn.guruguru.datalink.protocol.node.transform.JoinKey;
+import cn.guruguru.datalink.protocol.node.transform.JoinNode;
+import cn.guruguru.datalink.protocol.node.transform.LookupJoinNode;
 import cn.guruguru.datalink.protocol.node.transform.TransformNode;
+import cn.guruguru.datalink.protocol.node.transform.UnionNode;
 import cn.guruguru.datalink.protocol.relation.FieldRelation;
 import cn.guruguru.datalink.protocol.relation.NodeRelation;
 import cn.guruguru.datalink.type.converter.DataTypeConverter;
 import cn.guruguru.datalink.type.definition.DataTypes;
 import cn.guruguru.datalink.type.definition.DataTypesFactory;
+import cn.guruguru.datalink.utils.SqlLogger;
 import com.google.common.base.Preconditions;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonTypeName;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-
+import java.util.stream.Collectors;
+
+/**
+ * Base class of SQL parsers
+ *
+ * <p>Parsers are stateless: everything produced while parsing a {@link Pipeline} lives in a {@link ParseContext}
+ * created by {@link #parse(Pipeline)}, so a single parser instance can be shared between threads.
+ */
 @Slf4j
 public abstract class AbstractSqlParser implements Parser {
 
+    private static final SqlLogger sqlLog = new SqlLogger(log);
+
     public static final String SOURCE_MULTIPLE_ENABLE_KEY = "source.multiple.enable";
-    protected final Set<String> hasParsedSet = new HashSet<>();
-    protected List<String> setSqls = new ArrayList<>();
-    protected final List<String> extractTableSqls = new ArrayList<>();
-    protected final List<String> transformTableSqls = new ArrayList<>();
-    protected final List<String> loadTableSqls = new ArrayList<>();
-    protected final List<String> insertSqls = new ArrayList<>();
 
     /**
      * Specify a data type converter
@@ -50,7 +65,13 @@ public abstract class AbstractSqlParser implements Parser {
      */
     protected abstract DataTypeConverter getTypeConverter();
 
-    protected abstract ParseResult getParseResult(Pipeline pipeline);
+    /**
+     * Assemble the parse result from the statements generated in the context
+     *
+     * @param context the context of the current parsing
+     * @return the result of parsing
+     */
+    protected abstract ParseResult getParseResult(ParseContext context);
 
 
     // ~ Entrypoint ---------------------------------------
@@ -62,6 +83,53 @@ public abstract class AbstractSqlParser implements Parser {
      */
     @Override
     public ParseResult parse(Pipeline pipeline) {
+        checkPipeline(pipeline);
+        log.info("start parse the Pipeline, id:{}", pipeline.getId());
+        ParseContext context = new ParseContext(pipeline);
+        // Parse nodes and node relations
+        parseNodeRelations(context);
+        // TODO: Parse field relations
+        log.info("parse the Pipeline success, id:{}", pipeline.getId());
+        // Parse Result
+        return getParseResult(context);
+    }
+
+    /**
+     * Parse a {@link Pipeline} again after it was edited
+     *
+     * <p>Statements of the nodes whose fingerprints are unchanged are reused from the previous result, only the
+     * changed nodes and their downstream nodes are parsed again. If the previous result is not an
+     * {@link IncrementalParseResult}, all nodes are parsed.
+     *
+     * @param pipeline an edited {@link Pipeline}
+     * @param previous the previous result of the pipeline, null for the first parsing
+     * @return the result with the SQL fragments of every node and the difference from the previous result
+     * @see NodeFingerprinter
+     */
+    public IncrementalParseResult parse(Pipeline pipeline, @Nullable ParseResult previous) {
+        checkPipeline(pipeline);
+        log.info("start parse the Pipeline incrementally, id:{}", pipeline.getId());
+        Map<String, NodeSqlFragment> previousFragments = previous instanceof IncrementalParseResult
+                ? ((IncrementalParseResult) previous).getFragments()
+                : Collections.emptyMap();
+        ParseContext context = new ParseContext(pipeline, getEngineType(), previousFragments);
+        parseNodeRelations(context);
+        ParseResult result = getParseResult(context);
+        Set<String> removedNodeIds = new LinkedHashSet<>(previousFragments.keySet());
+        removedNodeIds.removeAll(context.getFragments().keySet());
+        List<String> previousSqls = previous == null ? Collections.emptyList() : previous.getSqlStatements();
+        ParseDiff diff = new ParseDiff(
+                context.getReparsedNodeIds(),
+                context.getReusedNodeIds(),
+                removedNodeIds,
+                subtract(result.getSqlStatements(), previousSqls),
+                subtract(previousSqls, result.getSqlStatements()));
+        log.info("parse the Pipeline incrementally success, id:{}, reparsed nodes:{}, reused nodes:{}",
+                pipeline.getId(), diff.getReparsedNodeIds().size(), diff.getReusedNodeIds().size());
+        return new IncrementalParseResult(result, context.getFragments(), diff);
+    }
+
+    private void checkPipeline(Pipeline pipeline) {
         Preconditions.checkNotNull(pipeline, "the pipeline is null");
         Preconditions.checkNotNull(pipeline.getId(), "id is null");
         Preconditions.checkNotNull(pipeline.getNodes(), "nodes is null");
@@ -71,25 +139,45 @@ public abstract class AbstractSqlParser implements Parser {
         Preconditions.checkState(!pipeline.getRelation().getNodeRelations().isEmpty(), "node relations is empty");
         Preconditions.checkNotNull(pipeline.getRelation().getFieldRelations(), "field relations is null");
         // Preconditions.checkState(!pipeline.getRelation().getFieldRelations().isEmpty(), "field relations is empty");
-        log.info("start parse the Pipeline, id:{}", pipeline.getId());
-        // Parse nodes and node relations
-        parseNodeRelations(pipeline);
-        // TODO: Parse field relations
-        log.info("parse the Pipeline success, id:{}", pipeline.getId());
-        // Parse Result
-        return getParseResult(pipeline);
+    }
+
+    /**
+     * Statements of the first list which are not in the second list, duplicates are counted
+     */
+    private static List<String> subtract(List<String> sqls, List<String> otherSqls) {
+        Map<String, Integer> counts = new HashMap<>();
+        otherSqls.forEach(sql -> counts.merge(sql, 1, Integer::sum));
+        List<String> difference = new ArrayList<>();
+        for (String sql : sqls) {
+            Integer count = counts.get(sql);
+            if (count == null || count == 0) {
+                difference.add(sql);
+            } else {
+                counts.put(sql, count - 1);
+            }
+        }
+        return difference;
     }
 
     // ~ SET Commands -------------------------------------
 
     /**
-     * Parser the configuration of the computing engine
+     * Parser the configuration of the computing engine, the tuning profile is rendered before the properties
      *
      * @param pipeline a {@link Pipeline}
      * @return s set of set statements
      */
     protected List<String> parseConfiguration(Pipeline pipeline) {
         List<String> setSqls = new ArrayList<>();
+        if (pipeline.getTuningProfile() != null) {
+            Set<String> keys = pipeline.getProperties() == null ? Collections.emptySet()
+                    : pipeline.getProperties().keySet().stream().map(String::trim).collect(Collectors.toSet());
+            pipeline.getTuningProfile().toConfiguration(getEngineType()).forEach((key, value) -> {
+                if (!keys.contains(key)) {
+                    setSqls.add(String.format("SET %s=%s", key, value));
+                }
+            });
+        }
         if (pipeline.getProperties() != null) {
             pipeline.getProperties().forEach(
                     (key, value) -> {
@@ -105,14 +193,15 @@ public abstract class AbstractSqlParser implements Parser {
 
     // ~ Node Relations -----------------------------------
 
-    protected void parseNodeRelations(Pipeline pipeline) {
+    protected void parseNodeRelations(ParseContext context) {
+        Pipeline pipeline = context.getPipeline();
         // Parse nodes
         Map<String, Node> nodeMap = getNodeMap(pipeline);
         // Parse node relations
         Map<String, NodeRelation> nodeRelationMap = getNodeRelationMap(pipeline);
         // Parser node relations
         pipeline.getRelation().getNodeRelations().forEach(r -> {
-            parseNodeRelation(r, nodeMap, nodeRelationMap);
+            parseNodeRelation(context, r, nodeMap, nodeRelationMap);
         });
     }
 
@@ -140,11 +229,12 @@ public abstract class AbstractSqlParser implements Parser {
      * Here we only parse the output node in the relation,
      * and the input node parsing is achieved by parsing the dependent node parsing of the output node.
      *
+     * @param context the context of the current parsing
      * @param relation Define relations between nodes, it also shows the data flow
      * @param nodeMap Store the mapping relation between node id and node
      * @param relationMap Store the mapping relation between node id and relation
      */
-    protected void parseNodeRelation(NodeRelation relation, Map<String, Node> nodeMap,
+    protected void parseNodeRelation(ParseContext context, NodeRelation relation, Map<String, Node> nodeMap,
                                    Map<String, NodeRelation> relationMap) {
         log.info("start parse node relation, relation:{}", relation);
         Preconditions.checkNotNull(relation, "relation is null");
@@ -156,11 +246,13 @@ public abstract class AbstractSqlParser implements Parser {
             Preconditions.checkNotNull(s, "node id in outputs is null");
             Node outputNode = nodeMap.get(s);
             Preconditions.checkNotNull(outputNode, "can not find any node by node id " + s);
-            parseInputNodes(relation, nodeMap, relationMap);
-            parseSingleNode(outputNode, relation, nodeMap);
+            parseInputNodes(context, relation, nodeMap, relationMap);
+            parseSingleNode(context, outputNode, relation, nodeMap);
             // for Load node we need to generate insert sql
             if (outputNode instanceof LoadNode) {
-                insertSqls.add(genLoadNodeInsertSql((LoadNode) outputNode, relation, nodeMap));
+                context.getInsertSqls().add(context.getOrGenerateInsertSql(outputNode,
+                        () -> genLoadNodeInsertSql((LoadNode) outputNode, relation, nodeMap)));
+                context.getInsertNodeIds().add(outputNode.getId());
             }
         });
         log.info("parse node relation success, relation:{}", relation);
@@ -168,18 +260,19 @@ public abstract class AbstractSqlParser implements Parser {
 
     /**
      * parse the input nodes corresponding to the output node
+     * @param context the context of the current parsing
      * @param relation Define relations between nodes, it also shows the data flow
      * @param nodeMap Store the mapping relation between node id and node
      * @param relationMap Store the mapping relation between node id and relation
      */
-    private void parseInputNodes(NodeRelation relation, Map<String, Node> nodeMap,
+    private void parseInputNodes(ParseContext context, NodeRelation relation, Map<String, Node> nodeMap,
                                  Map<String, NodeRelation> relationMap) {
         for (String upstreamNodeId : relation.getInputs()) {
-            if (!hasParsedSet.contains(upstreamNodeId)) {
+            if (!context.getHasParsedSet().contains(upstreamNodeId)) {
                 Node upstreamNode = nodeMap.get(upstreamNodeId);
                 Preconditions.checkNotNull(upstreamNode,
                         "can not find any node by node id " + upstreamNodeId);
-                parseSingleNode(upstreamNode, relationMap.get(upstreamNodeId), nodeMap);
+                parseSingleNode(context, upstreamNode, relationMap.get(upstreamNodeId), nodeMap);
             }
         }
     }
@@ -187,63 +280,237 @@ public abstract class AbstractSqlParser implements Parser {
     /**
      * Parse a single node and generate the corresponding sql
      *
+     * @param context the context of the current parsing
      * @param node The abstract of extract, transform, load
      * @param relation Define relations between nodes, it also shows the data flow
      * @param nodeMap store the mapping relation between node id and node
      */
-    private void parseSingleNode(Node node, NodeRelation relation, Map<String, Node> nodeMap) {
+    private void parseSingleNode(ParseContext context, Node node, NodeRelation relation, Map<String, Node> nodeMap) {
+        Set<String> hasParsedSet = context.getHasParsedSet();
         if (hasParsedSet.contains(node.getId())) {
             log.warn("the node has already been parsed, node id:{}", node.getId());
             return;
         }
         if (node instanceof ExtractNode) {
             log.info("start parse node, node id:{}", node.getId());
-            String sql = genCreateSql(node);
-            log.info("node id:{}, create table sql:\n{}", node.getId(), sql);
-            registerTableSql(node, sql);
+            String sql = context.getOrGenerateCreateSql(node, () -> {
+                String createSql = genCreateSql(context, node);
+                sqlLog.log("node id:{}, create table sql:\n{}", node.getId(), SqlLogger.sql(createSql));
+                return createSql;
+            });
+            registerTableSql(context, node, sql);
+            if (node instanceof ScanExtractNode && ((ScanExtractNode) node).getIncremental() != null) {
+                context.getHighWatermarkSqls().put(node.getId(), ((ScanExtractNode) node).genHighWatermarkSql());
+            }
             hasParsedSet.add(node.getId());
         } else {
             Preconditions.checkNotNull(relation, "relation is null");
             if (node instanceof LoadNode) {
-                String createSql = genCreateSql(node);
-                log.info("node id:{}, create table sql:\n{}", node.getId(), createSql);
-                registerTableSql(node, createSql);
+                String createSql = context.getOrGenerateCreateSql(node, () -> {
+                    String sql = genCreateSql(context, node);
+                    sqlLog.log("node id:{}, create table sql:\n{}", node.getId(), SqlLogger.sql(sql));
+                    return sql;
+                });
+                registerTableSql(context, node, createSql);
                 hasParsedSet.add(node.getId());
             } else if (node instanceof TransformNode) {
                 TransformNode transformNode = (TransformNode) node;
                 Preconditions.checkNotNull(transformNode.getFieldRelations(),
                         "field relations is null");
-                Preconditions.checkState(!transformNode.getFieldRelations().isEmpty(),
-                        "field relations is empty");
-                String createSql = genCreateSql(node);
-                log.info("node id:{}, create table sql:\n{}", node.getId(), createSql);
-                String selectSql = genTransformSelectSql(transformNode, relation, nodeMap);
-                log.info("node id:{}, transform sql:\n{}", node.getId(), selectSql);
-                registerTableSql(node, createSql + " AS\n" + selectSql);
+                Preconditions.checkState(!transformNode.getFieldRelations().isEmpty()
+                                || transformNode instanceof UnionNode, "field relations is empty");
+                String sql = context.getOrGenerateCreateSql(node, () -> {
+                    String createSql = genCreateSql(context, node);
+                    sqlLog.log("node id:{}, create table sql:\n{}", node.getId(), SqlLogger.sql(createSql));
+                    String selectSql = genTransformSelectSql(context, transformNode, relation, nodeMap);
+                    sqlLog.log("node id:{}, transform sql:\n{}", node.getId(), SqlLogger.sql(selectSql));
+                    return createSql + " AS\n" + selectSql;
+                });
+                registerTableSql(context, node, sql);
                 hasParsedSet.add(node.getId());
             }
         }
         log.info("parse node success, node id:{}", node.getId());
     }
 
-    private String genTransformSelectSql(TransformNode transformNode, NodeRelation relation,
+    private String genTransformSelectSql(ParseContext context, TransformNode transformNode, NodeRelation relation,
                                          Map<String, Node> nodeMap) {
+        if (transformNode instanceof LookupJoinNode) {
+            LookupJoinNode joinNode = (LookupJoinNode) transformNode;
+            Node streamNode = getJoinInput(joinNode, relation, nodeMap, joinNode.getStreamNodeId());
+            Node lookupNode = getJoinInput(joinNode, relation, nodeMap, joinNode.getLookupNodeId());
+            return genJoinSelectSql(context, joinNode, streamNode, lookupNode, joinNode.getJoinKeys(),
+                    genLookupJoinHint(joinNode, lookupNode), genLookupJoinFrom(joinNode, streamNode, lookupNode));
+        }
+        if (transformNode instanceof JoinNode) {
+            JoinNode joinNode = (JoinNode) transformNode;
+            Node leftNode = getJoinInput(joinNode, relation, nodeMap, joinNode.getLeftNodeId());
+            Node rightNode = getJoinInput(joinNode, relation, nodeMap, joinNode.getRightNodeId());
+            String hint = joinNode.getSmallNodeId() == null
+                    ? ""
+                    : genJoinHint(joinNode, nodeMap.get(joinNode.getSmallNodeId()));
+            String from = genInputTable(leftNode) + " " + joinNode.getJoinType().keyword() + " "
+                    + genInputTable(rightNode);
+            return genJoinSelectSql(context, joinNode, leftNode, rightNode, joinNode.getJoinKeys(), hint, from);
+        }
+        if (transformNode instanceof UnionNode) {
+            return genUnionSelectSql(context, (UnionNode) transformNode, relation, nodeMap);
+        }
         // parse base relation that one to one and generate the transform sql
         Preconditions.checkState(relation.getInputs().size() == 1,
                 "simple transform only support one input node");
         Preconditions.checkState(relation.getOutputs().size() == 1,
                 "join node only support one output node");
-        return genSimpleSelectSql(transformNode, transformNode.getFieldRelations(), relation,
-                transformNode.getFilterClause(), nodeMap);
+        // fields which are not used downstream are not computed
+        List<FieldRelation> fieldRelations = context.getPushdownPlan().pruneFieldRelations(transformNode);
+        return genSimpleSelectSql(transformNode, fieldRelations, relation, transformNode.getFilterClause(), nodeMap);
+    }
+
+    private static Node getJoinInput(TransformNode joinNode, NodeRelation relation, Map<String, Node> nodeMap,
+                                     String nodeId) {
+        Preconditions.checkState(relation.getInputs().size() == 2 && relation.getInputs().contains(nodeId),
+                "inputs of join node %s must be its two input nodes", joinNode.getId());
+        Preconditions.checkState(relation.getOutputs().size() == 1,
+                "join node only support one output node");
+        return Preconditions.checkNotNull(nodeMap.get(nodeId), "can not find any node by node id " + nodeId);
+    }
+
+    /**
+     * Generate the select sql of a join of two inputs, the input fields are qualified by the table names of their
+     * nodes
+     *
+     * @param context the context of the current parsing
+     * @param joinNode a join node
+     * @param leftNode the left input node
+     * @param rightNode the right input node
+     * @param joinKeys keys whose left fields are fields of the left node
+     * @param hint the hint after the SELECT keyword
+     * @param from the joined tables
+     * @return Select sql of the join
+     */
+    private String genJoinSelectSql(ParseContext context, TransformNode joinNode, Node leftNode, Node rightNode,
+                                    List<JoinKey> joinKeys, String hint, String from) {
+        String leftTable = leftNode.genTableName();
+        String rightTable = rightNode.genTableName();
+        Preconditions.checkState(!leftTable.equals(rightTable),
+                "the input nodes of %s have the same table name", joinNode.getId());
+        Map<String, String> qualifiers = new HashMap<>();
+        qualifiers.put(leftNode.getId(), leftTable);
+        qualifiers.put(rightNode.getId(), rightTable);
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT ").append(hint);
+        Map<String, FieldRelation> fieldRelationMap = new HashMap<>();
+        context.getPushdownPlan().pruneFieldRelations(joinNode).forEach(r ->
+                fieldRelationMap.put(r.getOutputField().getName(), qualifyFieldRelation(r, qualifiers)));
+        parseFieldRelations(joinNode.getNodeType(), joinNode.getPrimaryKey(), joinNode.getFields(),
+                fieldRelationMap, sb);
+        sb.append("\n    FROM ").append(from);
+        sb.append("\n    ON ").append(joinKeys.stream()
+                .map(key -> leftTable + "." + new DataField(key.getLeftField()).format()
+                        + " = " + rightTable + "." + new DataField(key.getRightField()).format())
+                .collect(Collectors.joining(" AND "))).append(" ");
+        parseFilterFields(joinNode.getFilterClause(), sb);
+        return sb.toString();
+    }
+
+    /**
+     * Generate the select sql of a union node, the rows of every input are selected and combined by UNION ALL
+     *
+     * @param context the context of the current parsing
+     * @param unionNode a union node
+     * @param relation the relation whose inputs are the inputs of the union
+     * @param nodeMap Store the mapping relation between node id and node
+     * @return Select sql of the union
+     */
+    private String genUnionSelectSql(ParseContext context, UnionNode unionNode, NodeRelation relation,
+                                     Map<String, Node> nodeMap) {
+        Preconditions.checkState(relation.getOutputs().size() == 1,
+                "union node only support one output node");
+        List<String> selectSqls = new ArrayList<>();
+        for (String inputId : relation.getInputs()) {
+            Node inputNode = Preconditions.checkNotNull(nodeMap.get(inputId),
+                    "can not find any node by node id " + inputId);
+            // fields which are not used downstream are not computed
+            List<FieldRelation> fieldRelations = context.getPushdownPlan()
+                    .pruneFieldRelations(unionNode, unionNode.getInputFieldRelations(inputNode));
+            Map<String, FieldRelation> fieldRelationMap = new HashMap<>();
+            fieldRelations.forEach(r -> fieldRelationMap.put(r.getOutputField().getName(), r));
+            StringBuilder sb = new StringBuilder("SELECT ");
+            parseFieldRelations(unionNode.getNodeType(), unionNode.getPrimaryKey(), unionNode.getFields(),
+                    fieldRelationMap, sb);
+            sb.append("\n    FROM ").append(genInputTable(inputNode));
+            selectSqls.add(sb.toString());
+        }
+        String unionSql = String.join("\n    UNION ALL\n    ", selectSqls);
+        if (StringUtils.isBlank(unionNode.getFilterClause())) {
+            return unionSql;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT * FROM (\n    ").append(unionSql).append("\n    ) AS ").append(unionNode.genTableName());
+        parseFilterFields(unionNode.getFilterClause(), sb);
+        return sb.toString();
+    }
+
+    /**
+     * Qualify the input field of a field relation by the table name of its node
+     */
+    private static FieldRelation qualifyFieldRelation(FieldRelation relation, Map<String, String> qualifiers) {
+        Field inputField = relation.getInputField();
+        if (inputField == null || inputField.getClass() != DataField.class) {
+            return relation; // constants and meta fields
+        }
+        DataField dataField = (DataField) inputField;
+        String qualifier = qualifiers.get(dataField.getNodeId());
+        if (qualifier == null || !dataField.getName().trim().matches("`?[\\w$]+`?")) {
+            return relation; // a field without node id or an expression
+        }
+        DataField qualified = new DataField(qualifier + "." + dataField.format(), dataField.getNodeId(),
+                dataField.getComment(), dataField.getDataType());
+        return new FieldRelation(qualified, relation.getOutputField());
     }
 
-    private void registerTableSql(Node node, String sql) {
+    /**
+     * Generate the hint of a lookup join, which is placed after the SELECT keyword
+     *
+     * @param joinNode a lookup join node
+     * @param lookupNode the lookup node of the join
+     * @return a hint followed by a space, or an empty string
+     */
+    protected String genLookupJoinHint(LookupJoinNode joinNode, Node lookupNode) {
+        return "";
+    }
+
+    /**
+     * Generate the hint of a join whose small side is marked, which is placed after the SELECT keyword
+     *
+     * @param joinNode a join node
+     * @param smallNode the small input node of the join
+     * @return a hint followed by a space, or an empty string
+     */
+    protected String genJoinHint(JoinNode joinNode, Node smallNode) {
+        return "";
+    }
+
+    /**
+     * Generate the FROM clause of a lookup join without the join condition, the inputs are referenced by their table
+     * names
+     *
+     * @param joinNode a lookup join node
+     * @param streamNode the stream node of the join
+     * @param lookupNode the lookup node of the join
+     * @return the joined tables
+     */
+    protected String genLookupJoinFrom(LookupJoinNode joinNode, Node streamNode, Node lookupNode) {
+        return genInputTable(streamNode) + " " + joinNode.getJoinType().keyword() + " " + genInputTable(lookupNode);
+    }
+
+    private void registerTableSql(ParseContext context, Node node, String sql) {
         if (node instanceof ExtractNode) {
-            extractTableSqls.add(sql);
+            context.getExtractTableSqls().add(sql);
         } else if (node instanceof TransformNode) {
-            transformTableSqls.add(sql);
+            context.getTransformTableSqls().add(sql);
         } else if (node instanceof LoadNode) {
-            loadTableSqls.add(sql);
+            context.getLoadTableSqls().add(sql);
         } else {
             throw new UnsupportedOperationException("Only support [ExtractNode|TransformNode|LoadNode]");
         }
@@ -281,12 +548,30 @@ public abstract class AbstractSqlParser implements Parser {
             fieldRelationMap.put(s.getOutputField().getName(), s);
         });
         parseFieldRelations(node.getNodeType(), node.getPrimaryKey(), node.getFields(), fieldRelationMap, sb);
-        String tableName = nodeMap.get(relation.getInputs().get(0)).genTableName();
-        sb.append("\n    FROM ").append(tableName).append(" ");
+        Node inputNode = nodeMap.get(relation.getInputs().get(0));
+        sb.append("\n    FROM ").append(genInputTable(inputNode)).append(" ");
         parseFilterFields(filterClause, sb);
         return sb.toString();
     }
 
+    /**
+     * Generate the table reference of an input node, the rows of an incremental scan node are filtered here if the
+     * engine can not push its predicate down to the data source
+     *
+     * @param inputNode an input node
+     * @return a table name or a subquery aliased by the table name
+     */
+    protected String genInputTable(Node inputNode) {
+        String tableName = inputNode.genTableName();
+        if (inputNode instanceof ScanExtractNode
+                && !((ScanExtractNode) inputNode).isIncrementalPushedDown(getEngineType())) {
+            ScanExtractNode scanNode = (ScanExtractNode) inputNode;
+            String predicate = scanNode.genIncrementalPredicate(scanNode.getIncrementalField().format());
+            return String.format("(SELECT * FROM %s WHERE %s) AS %s", tableName, predicate, tableName);
+        }
+        return tableName;
+    }
+
     /**
      * Parse filter fields to generate filter sql like 'where 1=1...'
      *
@@ -342,19 +627,44 @@ public abstract class AbstractSqlParser implements Parser {
     /**
      * Generate create sql
      *
+     * @param context the context of the current parsing
      * @param node The abstract of extract, transform, load
      * @return The creation sql pf table
      */
-    protected abstract String genCreateSql(Node node);
+    protected abstract String genCreateSql(ParseContext context, Node node);
 
     /**
      * Generate generic create sql
      *
+     * @param context the context of the current parsing
+     * @param node The abstract of extract, transform, load
+     * @return The creation sql pf table
+     */
+    protected String genGenericCreateSql(ParseContext context, Node node) {
+        return genGenericCreateSql(node, genTableOptions(context, node));
+    }
+
+    /**
+     * Generate generic create sql with the given options
+     *
+     * @param node The abstract of extract, transform, load
+     * @param options the options of the table
+     * @return The creation sql pf table
+     */
+    protected String genGenericCreateSql(Node node, Map<String, String> options) {
+        return genGenericCreateSql(node, options, false);
+    }
+
+    /**
+     * Generate generic create sql with the given options
+     *
      * @param node The abstract of extract, transform, load
+     * @param options the options of the table
+     * @param temporary whether the table is a temporary table, which shadows a table of the same name
      * @return The creation sql pf table
      */
-    protected String genGenericCreateSql(Node node) {
-        StringBuilder sb = new StringBuilder("CREATE TABLE IF NOT EXISTS ");
+    protected String genGenericCreateSql(Node node, Map<String, String> options, boolean temporary) {
+        StringBuilder sb = new StringBuilder(temporary ? "CREATE TEMPORARY TABLE " : "CREATE TABLE IF NOT EXISTS ");
         sb.append(node.genTableName()).append("(\n");
         String filterPrimaryKey = getFilterPrimaryKey(node);
         sb.append(parseFields(node.getFields(), node, filterPrimaryKey));
@@ -370,12 +680,27 @@ public abstract class AbstractSqlParser implements Parser {
             sb.append(String.format(" PARTITIONED BY (%s)",
                     StringUtils.join(formatFields(node.getPartitionFields()), ",")));
         }
-        String parsedOptions = parseOptions(node.getPropDescriptor(getEngineType()),
-                node.tableOptions(getEngineType()));
+        String parsedOptions = parseOptions(node.getPropDescriptor(getEngineType()), options);
         sb.append(parsedOptions);
         return sb.toString();
     }
 
+    /**
+     * Generate the options of a table, the projection and predicates planned for a scan node are pushed down
+     *
+     * @param context the context of the current parsing
+     * @param node a node
+     * @return table options
+     * @see PushdownPlan
+     */
+    protected Map<String, String> genTableOptions(ParseContext context, Node node) {
+        ScanPushdown pushdown = context.getPushdownPlan().getScanPushdown(node.getId());
+        if (node instanceof ScanExtractNode && pushdown != null) {
+            return ((ScanExtractNode) node).tableOptions(getEngineType(), pushdown);
+        }
+        return node.tableOptions(getEngineType());
+    }
+
     /**
      * Generate load node insert sql
      *
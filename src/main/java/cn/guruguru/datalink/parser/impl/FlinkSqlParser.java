@@ -5,21 +5,39 @@ import cn.guruguru.datalink.protocol.field.DataType;
 import cn.guruguru.datalink.parser.result.ParseResult;
 import cn.guruguru.datalink.parser.result.FlinkSqlParseResult;
 import cn.guruguru.datalink.protocol.Pipeline;
+import cn.guruguru.datalink.protocol.enums.RuntimeMode;
 import cn.guruguru.datalink.protocol.field.DataField;
 import cn.guruguru.datalink.protocol.field.Field;
+import cn.guruguru.datalink.protocol.field.MetaField;
+import cn.guruguru.datalink.protocol.node.ExtractNode;
 import cn.guruguru.datalink.protocol.node.Node;
 import cn.guruguru.datalink.protocol.node.NodePropDescriptor;
+import cn.guruguru.datalink.protocol.node.extract.CdcExtractNode;
 import cn.guruguru.datalink.protocol.node.extract.cdc.MongoCdcNode;
+import cn.guruguru.datalink.protocol.node.extract.cdc.MysqlBackfill;
+import cn.guruguru.datalink.protocol.node.extract.cdc.MysqlCdcNode;
+import cn.guruguru.datalink.protocol.node.extract.scan.JdbcScanNode;
+import cn.guruguru.datalink.protocol.node.transform.JoinNode;
+import cn.guruguru.datalink.protocol.node.transform.LookupCache;
+import cn.guruguru.datalink.protocol.node.transform.LookupJoinNode;
 import cn.guruguru.datalink.protocol.node.transform.TransformNode;
 import cn.guruguru.datalink.protocol.relation.FieldRelation;
 import cn.guruguru.datalink.type.converter.DataTypeConverter;
-import cn.guruguru.datalink.type.converter.FlinkDataTypeConverter;
+import cn.guruguru.datalink.type.converter.factory.SimpleTypeConverterFactory;
+import cn.guruguru.datalink.utils.DurationUtil;
+import com.google.common.base.Preconditions;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Flink sql parser
@@ -30,6 +48,18 @@ import java.util.Map;
 @Slf4j
 public class FlinkSqlParser extends AbstractSqlParser {
 
+    public static final String REUSE_SOURCE_KEY = "table.optimizer.reuse-source-enabled";
+    public static final String REUSE_SUB_PLAN_KEY = "table.optimizer.reuse-sub-plan-enabled";
+    public static final String STATE_TTL_KEY = "table.exec.state.ttl";
+    public static final String UPSERT_MATERIALIZE_KEY = "table.exec.sink.upsert-materialize";
+    public static final String RUNTIME_MODE_KEY = "execution.runtime-mode";
+    public static final String BATCH_SHUFFLE_MODE_KEY = "execution.batch-shuffle-mode";
+    public static final String DEFAULT_PARALLELISM_KEY = "parallelism.default";
+    public static final String DML_SYNC_KEY = "table.dml-sync";
+
+    private static final DataTypeConverter TYPE_CONVERTER =
+            SimpleTypeConverterFactory.getCachedInstance(EngineType.FLINK_SQL);
+
     @Override
     public EngineType getEngineType() {
         return EngineType.FLINK_SQL;
@@ -37,17 +67,165 @@ public class FlinkSqlParser extends AbstractSqlParser {
 
     @Override
     protected DataTypeConverter getTypeConverter() {
-        return new FlinkDataTypeConverter();
+        return TYPE_CONVERTER;
     }
 
     @Override
-    protected ParseResult getParseResult(Pipeline pipeline) {
+    protected ParseResult getParseResult(ParseContext context) {
+        Pipeline pipeline = context.getPipeline();
+        Map<String, String> backfillTableSqls = genBackfillTableSqls(pipeline);
         // Parse Flink configuration
         List<String> setSqls = parseConfiguration(pipeline);
-        List<String> createTableSqls = new ArrayList<>(extractTableSqls);
-        createTableSqls.addAll(transformTableSqls);
-        createTableSqls.addAll(loadTableSqls);
-        return new FlinkSqlParseResult(setSqls, createTableSqls, insertSqls);
+        if (pipeline.getRuntimeMode() != null) {
+            parseRuntimeMode(pipeline, pipeline.getRuntimeMode(), setSqls);
+        } else if (!backfillTableSqls.isEmpty()) {
+            // the streaming job follows the batch job of the backfills
+            parseRuntimeMode(pipeline, RuntimeMode.STREAMING, setSqls);
+        }
+        Integer snapshotParallelism = context.getServerIdPlan().getSnapshotParallelism();
+        if (snapshotParallelism != null && pipeline.getRuntimeMode() != RuntimeMode.BATCH) {
+            // the tuned MySQL CDC nodes read their snapshots with the parallelism of the job
+            addDefaultConfiguration(pipeline, setSqls, DEFAULT_PARALLELISM_KEY, String.valueOf(snapshotParallelism));
+        }
+        boolean statementSet = pipeline.isStatementSetEnabled() && context.getInsertSqls().size() > 1;
+        if (statementSet) {
+            // sources and common sub-plans shared by the inserts of the statement set are read and computed once
+            addDefaultConfiguration(pipeline, setSqls, REUSE_SOURCE_KEY, "true");
+            addDefaultConfiguration(pipeline, setSqls, REUSE_SUB_PLAN_KEY, "true");
+        }
+        String stateTtl = resolveStateTtl(pipeline);
+        if (stateTtl != null) {
+            addDefaultConfiguration(pipeline, setSqls, STATE_TTL_KEY, stateTtl);
+        }
+        if (UpsertKeyPlan.isUpsertKeyAligned(pipeline)) {
+            // the changes of a key arrive in order, so the changelog is not materialized in the state of the sink
+            addDefaultConfiguration(pipeline, setSqls, UPSERT_MATERIALIZE_KEY, "NONE");
+        }
+        List<String> backfillSetSqls = backfillTableSqls.isEmpty()
+                ? Collections.emptyList()
+                : genBackfillSetSqls(pipeline);
+        return new FlinkSqlParseResult(setSqls, context.getCreateTableSqls(), context.getInsertSqls(),
+                context.getHighWatermarkSqls(), statementSet, backfillSetSqls, backfillTableSqls);
+    }
+
+    /**
+     * Generate the SET statements of the batch job of the backfills, which only has the properties of the pipeline
+     * and the settings of the BATCH mode. The tuning profile and the settings generated for the streaming job, e.g.
+     * the checkpoints, the state TTL or the upsert materialization, only apply to the streaming job.
+     *
+     * @see FlinkSqlParseResult#getSqlStatements()
+     */
+    private static List<String> genBackfillSetSqls(Pipeline pipeline) {
+        List<String> setSqls = new ArrayList<>();
+        if (pipeline.getProperties() != null) {
+            pipeline.getProperties().forEach(
+                    (key, value) -> setSqls.add(String.format("SET %s=%s", key.trim(), value.trim())));
+        }
+        parseRuntimeMode(pipeline, RuntimeMode.BATCH, setSqls);
+        // the streaming job is submitted after the batch job has finished
+        setSqls.add(String.format("SET %s=true", DML_SYNC_KEY));
+        return setSqls;
+    }
+
+    /**
+     * Generate the bounded tables of the backfills, each one is a temporary table shadowing its CDC table until the
+     * existing rows are written
+     *
+     * <p>The batch job and the streaming job run the same inserts, so every unbounded source needs a backfill and no
+     * other bounded source may be read, since its rows would be written by both jobs. A JDBC scan node is only
+     * allowed as the lookup node of a lookup join.
+     *
+     * @return a map from table name to the creation sql of the temporary table
+     * @see MysqlBackfill
+     */
+    private Map<String, String> genBackfillTableSqls(Pipeline pipeline) {
+        List<MysqlCdcNode> backfillNodes = pipeline.getNodes().stream()
+                .filter(node -> node instanceof MysqlCdcNode && ((MysqlCdcNode) node).getBackfill() != null)
+                .map(node -> (MysqlCdcNode) node)
+                .collect(Collectors.toList());
+        if (backfillNodes.isEmpty() || pipeline.getRuntimeMode() == RuntimeMode.BATCH) {
+            // a BATCH job only reads the snapshot, which is partitioned by the backfill
+            return Collections.emptyMap();
+        }
+        Map<String, String> properties = pipeline.getProperties();
+        Preconditions.checkState(properties == null || properties.keySet().stream()
+                        .noneMatch(key -> RUNTIME_MODE_KEY.equals(key.trim()) || DML_SYNC_KEY.equals(key.trim())),
+                "%s and %s of backfill pipeline %s are set by the parser", RUNTIME_MODE_KEY, DML_SYNC_KEY,
+                pipeline.getId());
+        Set<String> lookupNodeIds = pipeline.getNodes().stream()
+                .filter(node -> node instanceof LookupJoinNode)
+                .map(node -> ((LookupJoinNode) node).getLookupNodeId())
+                .collect(Collectors.toSet());
+        for (Node node : pipeline.getNodes()) {
+            // the existing rows of every source are read by the batch job
+            Preconditions.checkState(!(node instanceof CdcExtractNode) || backfillNodes.contains(node),
+                    "unbounded source %s of a backfill pipeline has no backfill", node.getId());
+            Preconditions.checkState(!(node instanceof ExtractNode) || node instanceof CdcExtractNode
+                            || lookupNodeIds.contains(node.getId()),
+                    "bounded source %s of a backfill pipeline would be read by both jobs", node.getId());
+        }
+        Map<String, String> backfillTableSqls = new LinkedHashMap<>();
+        for (MysqlCdcNode node : backfillNodes) {
+            String createSql = genGenericCreateSql(node, genSnapshotTableOptions(node), true);
+            // the CDC table would be read by the batch job otherwise
+            Preconditions.checkState(createSql.startsWith("CREATE TEMPORARY TABLE "),
+                    "the backfill table of %s is not temporary", node.getId());
+            backfillTableSqls.put(node.genTableName(), createSql);
+        }
+        return backfillTableSqls;
+    }
+
+    /**
+     * Add the settings of a runtime mode
+     *
+     * <p>A batch job exchanges data by blocking shuffles, so that its stages run one after another with fewer
+     * resources, and the parallelism of a stage is left to the scheduler, e.g. the adaptive batch scheduler decides it
+     * from the size of the input. The scheduler and the shuffle of the cluster are options of the cluster, which a SET
+     * statement does not change on a session cluster, so they are left to the configuration of the cluster. The
+     * checkpoints of a streaming job are left to the tuning profile, the properties or the cluster as well.
+     */
+    private static void parseRuntimeMode(Pipeline pipeline, RuntimeMode runtimeMode, List<String> setSqls) {
+        addDefaultConfiguration(pipeline, setSqls, RUNTIME_MODE_KEY, runtimeMode.name().toLowerCase());
+        if (runtimeMode == RuntimeMode.BATCH) {
+            addDefaultConfiguration(pipeline, setSqls, BATCH_SHUFFLE_MODE_KEY, "ALL_EXCHANGES_BLOCKING");
+            addDefaultConfiguration(pipeline, setSqls, DEFAULT_PARALLELISM_KEY, "-1");
+        }
+    }
+
+    /**
+     * Resolve the state TTL of the job
+     *
+     * <p>Flink 1.15 can not set the state TTL of a single join, so the largest state TTL of the join nodes is applied
+     * to the whole job unless the pipeline sets one.
+     *
+     * @param pipeline a pipeline
+     * @return a duration, or null to keep the state forever
+     */
+    @Nullable
+    private static String resolveStateTtl(Pipeline pipeline) {
+        if (pipeline.getStateTtl() != null) {
+            Preconditions.checkArgument(DurationUtil.isDuration(pipeline.getStateTtl()),
+                    "stateTtl is not a duration: %s", pipeline.getStateTtl());
+            return pipeline.getStateTtl().trim();
+        }
+        return pipeline.getNodes().stream()
+                .filter(node -> node instanceof JoinNode && ((JoinNode) node).getStateTtl() != null)
+                .map(node -> (JoinNode) node)
+                .max(Comparator.comparing(JoinNode::getStateTtlMillis))
+                .map(JoinNode::getStateTtl)
+                .orElse(null);
+    }
+
+    /**
+     * Add a SET statement unless the key is configured in the properties or the tuning profile of the pipeline
+     */
+    private static void addDefaultConfiguration(Pipeline pipeline, List<String> setSqls, String key, String value) {
+        Map<String, String> properties = pipeline.getProperties();
+        boolean configured = properties != null && properties.keySet().stream().anyMatch(k -> key.equals(k.trim()));
+        // a key may also be set by the tuning profile
+        if (!configured && setSqls.stream().noneMatch(sql -> sql.startsWith("SET " + key + "="))) {
+            setSqls.add(String.format("SET %s=%s", key, value));
+        }
     }
 
     /**
@@ -98,15 +276,68 @@ public class FlinkSqlParser extends AbstractSqlParser {
     /**
      * Generate create sql
      *
+     * @param context the context of the current parsing
      * @param node The abstract of extract, transform, load
      * @return The creation sql pf table
      */
     @Override
-    protected String genCreateSql(Node node) {
+    protected String genCreateSql(ParseContext context, Node node) {
         if (node instanceof TransformNode) {
             return genCreateTransformSql(node);
         }
-        return genGenericCreateSql(node);
+        return genGenericCreateSql(context, node);
+    }
+
+    /**
+     * Add the lookup options to a lookup node
+     */
+    @Override
+    protected Map<String, String> genTableOptions(ParseContext context, Node node) {
+        if (context.getPipeline().getRuntimeMode() == RuntimeMode.BATCH && node instanceof CdcExtractNode) {
+            return genSnapshotTableOptions((CdcExtractNode) node);
+        }
+        Map<String, String> options = super.genTableOptions(context, node);
+        LookupCache lookupCache = context.getLookupCaches().get(node.getId());
+        if (lookupCache != null) {
+            Preconditions.checkArgument(!lookupCache.isAsync(),
+                    "the JDBC connector of Flink 1.15 does not support async lookup, node id:%s", node.getId());
+            options.putAll(lookupCache.tableOptions());
+        }
+        String serverId = context.getServerIdPlan().getServerId(node.getId());
+        if (serverId != null) {
+            options.put("server-id", serverId);
+        }
+        return options;
+    }
+
+    /**
+     * Generate the options of a bounded read which replaces a CDC source
+     */
+    private static Map<String, String> genSnapshotTableOptions(CdcExtractNode node) {
+        Preconditions.checkState(node.getFields().stream().noneMatch(field -> field instanceof MetaField),
+                "metadata fields of %s can not be read in the BATCH mode", node.getId());
+        Map<String, String> options = node.snapshotTableOptions();
+        Preconditions.checkState(options != null,
+                "unbounded source %s can not be read in the BATCH mode", node.getId());
+        return options;
+    }
+
+    /**
+     * Generate a processing time lookup join, the stream input is extended by a processing time attribute and the
+     * lookup table is queried as of that time
+     */
+    @Override
+    protected String genLookupJoinFrom(LookupJoinNode joinNode, Node streamNode, Node lookupNode) {
+        Preconditions.checkState(lookupNode instanceof JdbcScanNode,
+                "lookup node of %s must be a JDBC scan node", joinNode.getId());
+        Preconditions.checkState(streamNode.getFields().stream()
+                        .noneMatch(f -> LookupJoinNode.PROC_TIME_FIELD.equalsIgnoreCase(f.getName())),
+                "stream node of %s has a field named %s", joinNode.getId(), LookupJoinNode.PROC_TIME_FIELD);
+        String streamTable = streamNode.genTableName();
+        String procTime = new DataField(LookupJoinNode.PROC_TIME_FIELD).format();
+        return String.format("(SELECT *, PROCTIME() AS %s FROM %s) AS %s %s %s FOR SYSTEM_TIME AS OF %s.%s AS %s",
+                procTime, genInputTable(streamNode), streamTable, joinNode.getJoinType().keyword(),
+                lookupNode.genTableName(), streamTable, procTime, lookupNode.genTableName());
     }
 
     /**
@@ -115,7 +346,7 @@ public class FlinkSqlParser extends AbstractSqlParser {
     @Override
     protected String getFilterPrimaryKey(Node node) {
         if (node instanceof MongoCdcNode) { // MongoCdcNode ?
-            if (null != node.getProperties().get(SOURCE_MULTIPLE_ENABLE_KEY)
+            if (node.getProperties() != null && null != node.getProperties().get(SOURCE_MULTIPLE_ENABLE_KEY)
                     && node.getProperties().get(SOURCE_MULTIPLE_ENABLE_KEY).equals("true")) {
                 return node.getPrimaryKey();
             }
@@ -135,7 +366,7 @@ public class FlinkSqlParser extends AbstractSqlParser {
         if (options != null && !options.isEmpty()) {
             sb.append(" ").append(propDescriptor.name()).append(" (");
             for (Map.Entry<String, String> kv : options.entrySet()) {
-                sb.append("\n    '").append(kv.getKey()).append("' = '").append(kv.getValue()).append("'").append(",");
+                sb.append("\n    '").append(kv.getKey()).append("' = '").append(kv.getValue().replace("'", "''")).append("'").append(",");
             }
             if (sb.length() > 0) {
                 sb.delete(sb.lastIndexOf(","), sb.length());
@@ -0,0 +1,140 @@
+package cn.guruguru.datalink.parser.impl;
+
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.protocol.Pipeline;
+import cn.guruguru.datalink.protocol.enums.RuntimeMode;
+import cn.guruguru.datalink.protocol.node.Node;
+import cn.guruguru.datalink.protocol.node.extract.CdcExtractNode;
+import cn.guruguru.datalink.protocol.node.transform.LookupCache;
+import cn.guruguru.datalink.protocol.relation.NodeRelation;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Computes a fingerprint for every node of a pipeline
+ *
+ * <p>The fingerprint of a node covers its JSON form (fields, properties, field relations and so on), the relation
+ * whose output is the node and the fingerprints of its input nodes. So a change of a node changes the fingerprints of
+ * all its downstream nodes, and an unchanged fingerprint means the SQL generated for the node is unchanged.
+ *
+ * <p>Since the SQL of extract and transform nodes also depends on the fields used downstream, the fingerprint covers
+ * the {@link PushdownPlan} of the node as well, and the options of a lookup node also depend on its lookup cache.
+ */
+public final class NodeFingerprinter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final EngineType engineType;
+    private final PushdownPlan pushdownPlan;
+    private final Map<String, LookupCache> lookupCaches;
+    private final ServerIdPlan serverIdPlan;
+    private final RuntimeMode runtimeMode;
+    private final Map<String, Node> nodeMap = new HashMap<>();
+    private final Map<String, NodeRelation> relationMap = new HashMap<>();
+    private final Map<String, String> fingerprints = new HashMap<>();
+    private final Set<String> visiting = new HashSet<>();
+
+    private NodeFingerprinter(EngineType engineType,
+                              Pipeline pipeline,
+                              PushdownPlan pushdownPlan,
+                              Map<String, LookupCache> lookupCaches,
+                              ServerIdPlan serverIdPlan) {
+        this.engineType = engineType;
+        this.pushdownPlan = pushdownPlan;
+        this.lookupCaches = lookupCaches;
+        this.serverIdPlan = serverIdPlan;
+        this.runtimeMode = pipeline.getRuntimeMode();
+        pipeline.getNodes().forEach(node -> nodeMap.put(node.getId(), node));
+        pipeline.getRelation().getNodeRelations().forEach(relation ->
+                relation.getOutputs().forEach(output -> relationMap.put(output, relation)));
+    }
+
+    /**
+     * Compute the fingerprints of all nodes
+     *
+     * @param engineType the engine type of the generated SQL
+     * @param pipeline a pipeline
+     * @return a map of node id to fingerprint
+     */
+    public static Map<String, String> fingerprint(EngineType engineType, Pipeline pipeline) {
+        Preconditions.checkNotNull(pipeline, "the pipeline is null");
+        return fingerprint(engineType, pipeline, PushdownPlan.plan(pipeline), ParseContext.getLookupCaches(pipeline),
+                ServerIdPlan.plan(pipeline));
+    }
+
+    /**
+     * Compute the fingerprints of all nodes with the plans of a {@link ParseContext}
+     *
+     * @param engineType the engine type of the generated SQL
+     * @param pipeline a pipeline
+     * @param pushdownPlan the pushdown plan of the pipeline
+     * @param lookupCaches the caches of the lookup nodes
+     * @param serverIdPlan the server ids of the MySQL CDC nodes
+     * @return a map of node id to fingerprint
+     */
+    static Map<String, String> fingerprint(EngineType engineType,
+                                           Pipeline pipeline,
+                                           PushdownPlan pushdownPlan,
+                                           Map<String, LookupCache> lookupCaches,
+                                           ServerIdPlan serverIdPlan) {
+        Preconditions.checkNotNull(engineType, "engine type is null");
+        Preconditions.checkNotNull(pipeline, "the pipeline is null");
+        NodeFingerprinter fingerprinter =
+                new NodeFingerprinter(engineType, pipeline, pushdownPlan, lookupCaches, serverIdPlan);
+        fingerprinter.nodeMap.keySet().forEach(fingerprinter::fingerprint);
+        return fingerprinter.fingerprints;
+    }
+
+    private String fingerprint(String nodeId) {
+        String fingerprint = fingerprints.get(nodeId);
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+        Node node = nodeMap.get(nodeId);
+        Preconditions.checkNotNull(node, "can not find any node by node id " + nodeId);
+        Preconditions.checkState(visiting.add(nodeId), "node relations have a cycle at node id " + nodeId);
+        Set<String> usedFields = pushdownPlan.getUsedFields(nodeId);
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(engineType.name(), StandardCharsets.UTF_8)
+                .putString(toJson(node), StandardCharsets.UTF_8)
+                .putString(String.valueOf(usedFields == null ? null : new TreeSet<>(usedFields)), StandardCharsets.UTF_8)
+                .putString(String.valueOf(pushdownPlan.getScanPushdown(nodeId)), StandardCharsets.UTF_8)
+                .putString(String.valueOf(lookupCaches.get(nodeId)), StandardCharsets.UTF_8)
+                .putString(String.valueOf(serverIdPlan.getServerId(nodeId)), StandardCharsets.UTF_8);
+        if (node instanceof CdcExtractNode) {
+            // a CDC source is read as a bounded table in the BATCH mode
+            hasher.putString(String.valueOf(runtimeMode), StandardCharsets.UTF_8);
+        }
+        NodeRelation relation = relationMap.get(nodeId);
+        if (relation != null) {
+            hasher.putString(toJson(relation), StandardCharsets.UTF_8);
+            for (String input : relation.getInputs()) {
+                hasher.putString(fingerprint(input), StandardCharsets.UTF_8);
+            }
+        }
+        visiting.remove(nodeId);
+        fingerprint = hasher.hash().toString();
+        fingerprints.put(nodeId, fingerprint);
+        return fingerprint;
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
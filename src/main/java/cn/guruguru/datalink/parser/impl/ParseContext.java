@@ -0,0 +1,178 @@
+package cn.guruguru.datalink.parser.impl;
+
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.parser.result.NodeSqlFragment;
+import cn.guruguru.datalink.protocol.Pipeline;
+import cn.guruguru.datalink.protocol.node.Node;
+import cn.guruguru.datalink.protocol.node.transform.LookupCache;
+import cn.guruguru.datalink.protocol.node.transform.LookupJoinNode;
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Mutable state of a single {@link AbstractSqlParser#parse(Pipeline)} call
+ *
+ * <p>A context is created for each pipeline and is confined to the calling thread, so a parser itself holds no
+ * per-pipeline state and a single instance can be shared between threads.
+ *
+ * <p>The context also holds the {@link PushdownPlan} of the pipeline, the caches of its lookup nodes and the
+ * {@link ServerIdPlan} of its MySQL CDC nodes, which are computed once and also fingerprint the nodes.
+ *
+ * <p>For an incremental parsing, the context also holds the fingerprints of the nodes and the fragments of the
+ * previous result, a fragment is reused as long as the fingerprint of its node is unchanged.
+ */
+@Getter
+public class ParseContext {
+
+    private final Pipeline pipeline;
+    private final Set<String> hasParsedSet = new HashSet<>();
+    private final List<String> extractTableSqls = new ArrayList<>();
+    private final List<String> transformTableSqls = new ArrayList<>();
+    private final List<String> loadTableSqls = new ArrayList<>();
+    private final List<String> insertSqls = new ArrayList<>();
+    private final List<String> insertNodeIds = new ArrayList<>(); // load node ids of the INSERT statements
+    private final Map<String, String> highWatermarkSqls = new LinkedHashMap<>();
+
+    private final PushdownPlan pushdownPlan;
+    private final Map<String, LookupCache> lookupCaches; // lookup node id -> cache
+    private final ServerIdPlan serverIdPlan;
+    private final Map<String, String> fingerprints;
+    private final Map<String, NodeSqlFragment> previousFragments;
+    private final Map<String, NodeSqlFragment> fragments = new LinkedHashMap<>();
+    private final Set<String> reparsedNodeIds = new LinkedHashSet<>();
+    private final Set<String> reusedNodeIds = new LinkedHashSet<>();
+
+    public ParseContext(Pipeline pipeline) {
+        this(pipeline, null, Collections.emptyMap());
+    }
+
+    /**
+     * Create a context for an incremental parsing, the nodes are fingerprinted with the plans of the context
+     *
+     * @param pipeline a pipeline
+     * @param engineType the engine type of the generated SQL, or null to reuse no fragment
+     * @param previousFragments fragments of the previous result
+     * @see NodeFingerprinter
+     */
+    public ParseContext(Pipeline pipeline,
+                        @Nullable EngineType engineType,
+                        Map<String, NodeSqlFragment> previousFragments) {
+        this.pipeline = Preconditions.checkNotNull(pipeline, "the pipeline is null");
+        this.pushdownPlan = PushdownPlan.plan(pipeline);
+        this.lookupCaches = getLookupCaches(pipeline);
+        this.serverIdPlan = ServerIdPlan.plan(pipeline);
+        this.fingerprints = engineType == null
+                ? Collections.emptyMap()
+                : NodeFingerprinter.fingerprint(engineType, pipeline, pushdownPlan, lookupCaches, serverIdPlan);
+        this.previousFragments = Preconditions.checkNotNull(previousFragments, "previous fragments is null");
+    }
+
+    /**
+     * Get the caches of the lookup nodes of the lookup joins of a pipeline
+     *
+     * @param pipeline a pipeline
+     * @return a map of lookup node id to cache
+     */
+    static Map<String, LookupCache> getLookupCaches(Pipeline pipeline) {
+        Map<String, LookupCache> lookupCaches = new HashMap<>();
+        for (Node node : pipeline.getNodes()) {
+            if (node instanceof LookupJoinNode && ((LookupJoinNode) node).getLookupCache() != null) {
+                LookupJoinNode joinNode = (LookupJoinNode) node;
+                LookupCache previous = lookupCaches.put(joinNode.getLookupNodeId(), joinNode.getLookupCache());
+                Preconditions.checkState(previous == null || previous.equals(joinNode.getLookupCache()),
+                        "lookup node %s has different caches", joinNode.getLookupNodeId());
+            }
+        }
+        return lookupCaches;
+    }
+
+    /**
+     * Get all CREATE statements in the order of extract, transform and load
+     *
+     * @return a new list of CREATE statements
+     */
+    public List<String> getCreateTableSqls() {
+        List<String> createTableSqls = new ArrayList<>(extractTableSqls);
+        createTableSqls.addAll(transformTableSqls);
+        createTableSqls.addAll(loadTableSqls);
+        return createTableSqls;
+    }
+
+    /**
+     * Get the CREATE statement of a node, reused from the previous result if the node is unchanged
+     *
+     * @param node a node
+     * @param generator generates the statement
+     * @return the CREATE statement
+     */
+    public String getOrGenerateCreateSql(Node node, Supplier<String> generator) {
+        NodeSqlFragment previous = getUnchangedFragment(node);
+        String sql = previous != null && previous.getCreateSql() != null
+                ? previous.getCreateSql()
+                : generateFragment(node, generator);
+        NodeSqlFragment fragment = getFragment(node);
+        if (fragment != null) {
+            fragment.setCreateSql(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Get the INSERT statement of a load node, reused from the previous result if the node is unchanged
+     *
+     * @param node a load node
+     * @param generator generates the statement
+     * @return the INSERT statement
+     */
+    public String getOrGenerateInsertSql(Node node, Supplier<String> generator) {
+        NodeSqlFragment previous = getUnchangedFragment(node);
+        String sql = previous != null && previous.getInsertSql() != null
+                ? previous.getInsertSql()
+                : generateFragment(node, generator);
+        NodeSqlFragment fragment = getFragment(node);
+        if (fragment != null) {
+            fragment.setInsertSql(sql);
+        }
+        return sql;
+    }
+
+    private NodeSqlFragment getUnchangedFragment(Node node) {
+        String fingerprint = fingerprints.get(node.getId());
+        NodeSqlFragment previous = previousFragments.get(node.getId());
+        if (fingerprint == null || previous == null || !fingerprint.equals(previous.getFingerprint())) {
+            return null;
+        }
+        if (!reparsedNodeIds.contains(node.getId())) {
+            reusedNodeIds.add(node.getId());
+        }
+        return previous;
+    }
+
+    private String generateFragment(Node node, Supplier<String> generator) {
+        if (!fingerprints.isEmpty()) {
+            reusedNodeIds.remove(node.getId());
+            reparsedNodeIds.add(node.getId());
+        }
+        return generator.get();
+    }
+
+    private NodeSqlFragment getFragment(Node node) {
+        String fingerprint = fingerprints.get(node.getId());
+        if (fingerprint == null) {
+            return null;
+        }
+        return fragments.computeIfAbsent(node.getId(), id -> new NodeSqlFragment(id, fingerprint));
+    }
+}
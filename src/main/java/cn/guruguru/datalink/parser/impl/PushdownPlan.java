@@ -0,0 +1,575 @@
+package cn.guruguru.datalink.parser.impl;
+
+import cn.guruguru.datalink.protocol.Pipeline;
+import cn.guruguru.datalink.protocol.field.ConstantField;
+import cn.guruguru.datalink.protocol.field.DataField;
+import cn.guruguru.datalink.protocol.field.Field;
+import cn.guruguru.datalink.protocol.node.LoadNode;
+import cn.guruguru.datalink.protocol.node.Node;
+import cn.guruguru.datalink.protocol.node.extract.ScanExtractNode;
+import cn.guruguru.datalink.protocol.node.extract.scan.ScanPushdown;
+import cn.guruguru.datalink.protocol.node.transform.JoinTransform;
+import cn.guruguru.datalink.protocol.node.transform.TransformNode;
+import cn.guruguru.datalink.protocol.node.transform.UnionNode;
+import cn.guruguru.datalink.protocol.relation.FieldRelation;
+import com.google.common.base.Preconditions;
+import net.sf.jsqlparser.expression.DateTimeLiteralExpression;
+import net.sf.jsqlparser.expression.DoubleValue;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.SignedExpression;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.Between;
+import net.sf.jsqlparser.expression.operators.relational.ComparisonOperator;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.InExpression;
+import net.sf.jsqlparser.expression.operators.relational.IsNullExpression;
+import net.sf.jsqlparser.expression.operators.relational.LikeExpression;
+import net.sf.jsqlparser.expression.operators.relational.SupportsOldOracleJoinSyntax;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.parser.ParseException;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SubSelect;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Projection and filter pushdown of a pipeline
+ *
+ * <p>The fields used by every node are computed backward from the load nodes, following the field relations of the
+ * consumers and the columns of their filter clauses. A field of a transform node which is not used downstream is not
+ * computed, and a scan node only reads its used columns and the predicates of its only consumer which the data source
+ * can evaluate, see {@link ScanPushdown}.
+ *
+ * <p>The pushdown is conservative:
+ * <ul>
+ *     <li>all fields of a node are used if a consumer has a field relation from an expression, a filter clause which
+ *     can not be analyzed, or if the node has no consumer</li>
+ *     <li>a predicate is only pushed down if the data source returns a superset of the rows kept by the engine, e.g.
+ *     a string is only compared for equality since the collation of the data source may ignore case. The filter
+ *     clause is still evaluated by the engine</li>
+ *     <li>a literal is only compared with a column of the same kind of type, e.g. a number with a numeric column,
+ *     since the data source and the engine may convert the values of other comparisons differently</li>
+ *     <li>no predicate is pushed down through a consumer with more than one input, e.g. a join</li>
+ * </ul>
+ */
+public final class PushdownPlan {
+
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("[\\w$]+");
+    private static final Filter UNKNOWN_FILTER = new Filter(null, null);
+
+    private final Map<String, Node> nodeMap = new HashMap<>();
+    private final Map<String, List<Node>> consumerMap = new HashMap<>();
+    private final Map<String, Set<String>> inputMap = new HashMap<>();
+    private final Map<String, Filter> filters = new HashMap<>();
+    private final Map<String, Set<String>> usedFields = new HashMap<>(); // lower case names, null for all fields
+    private final Set<String> visiting = new HashSet<>();
+    private final Map<String, ScanPushdown> scanPushdowns = new HashMap<>();
+
+    private PushdownPlan(Pipeline pipeline) {
+        pipeline.getNodes().forEach(node -> nodeMap.put(node.getId(), node));
+        pipeline.getRelation().getNodeRelations().forEach(relation -> {
+            for (String input : relation.getInputs()) {
+                for (String output : relation.getOutputs()) {
+                    inputMap.computeIfAbsent(output, id -> new HashSet<>()).add(input);
+                    Node consumer = nodeMap.get(output);
+                    List<Node> consumers = consumerMap.computeIfAbsent(input, id -> new ArrayList<>());
+                    if (consumer != null && !consumers.contains(consumer)) {
+                        consumers.add(consumer);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Plan the pushdown of a pipeline
+     *
+     * @param pipeline a pipeline
+     * @return a pushdown plan
+     */
+    public static PushdownPlan plan(Pipeline pipeline) {
+        Preconditions.checkNotNull(pipeline, "the pipeline is null");
+        PushdownPlan plan = new PushdownPlan(pipeline);
+        for (Node node : pipeline.getNodes()) {
+            if (node instanceof ScanExtractNode) {
+                plan.planScan((ScanExtractNode) node);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Get the projection and predicates pushed down into a scan node
+     *
+     * @param nodeId the id of a scan node
+     * @return a pushdown, or null if nothing is pushed down
+     */
+    @Nullable
+    public ScanPushdown getScanPushdown(String nodeId) {
+        return scanPushdowns.get(nodeId);
+    }
+
+    /**
+     * Get the fields of a node used by its consumers
+     *
+     * @param nodeId the id of a node
+     * @return names of the used fields in lower case, or null if all fields are used
+     */
+    @Nullable
+    public Set<String> getUsedFields(String nodeId) {
+        Node node = nodeMap.get(nodeId);
+        return node == null ? null : usedFields(node);
+    }
+
+    /**
+     * Remove the field relations of a transform node whose output fields are not used downstream, these fields are
+     * generated as NULL
+     *
+     * @param node a transform node
+     * @return the field relations to compute
+     */
+    public List<FieldRelation> pruneFieldRelations(TransformNode node) {
+        return pruneFieldRelations(node, node.getFieldRelations());
+    }
+
+    /**
+     * Remove the field relations whose output fields are not used downstream
+     *
+     * @param node a transform node
+     * @param fieldRelations field relations of the node, e.g. the relations of an input of a union
+     * @return the field relations to compute
+     */
+    public List<FieldRelation> pruneFieldRelations(TransformNode node, List<FieldRelation> fieldRelations) {
+        Set<String> used = outputUsedFields(node);
+        if (used == null) {
+            return fieldRelations;
+        }
+        return fieldRelations.stream()
+                .filter(r -> r.getOutputField() == null || used.contains(lowerCase(r.getOutputField().getName())))
+                .collect(Collectors.toList());
+    }
+
+    // ~ projection -----------------------------------------------
+
+    private Set<String> usedFields(Node node) {
+        if (usedFields.containsKey(node.getId())) {
+            return usedFields.get(node.getId());
+        }
+        List<Node> consumers = consumerMap.getOrDefault(node.getId(), Collections.emptyList());
+        if (consumers.isEmpty() || !visiting.add(node.getId())) {
+            return null; // a node without consumer or a cycle
+        }
+        Set<String> used = new HashSet<>();
+        for (Node consumer : consumers) {
+            if (!addUsedFields(node, consumer, used)) {
+                used = null;
+                break;
+            }
+        }
+        visiting.remove(node.getId());
+        usedFields.put(node.getId(), used);
+        return used;
+    }
+
+    /**
+     * Add the fields of a node used by a consumer, the input fields of a consumer with more than one input are told
+     * apart by their node ids
+     *
+     * @return false if the used fields can not be determined
+     */
+    private boolean addUsedFields(Node node, Node consumer, Set<String> used) {
+        List<FieldRelation> relations;
+        Set<String> consumerUsed;
+        if (consumer instanceof UnionNode) {
+            relations = ((UnionNode) consumer).getInputFieldRelations(node);
+            consumerUsed = outputUsedFields((UnionNode) consumer);
+        } else if (consumer instanceof TransformNode) {
+            relations = ((TransformNode) consumer).getFieldRelations();
+            consumerUsed = usedFields(consumer);
+        } else if (consumer instanceof LoadNode) {
+            relations = ((LoadNode) consumer).getFieldRelations();
+            consumerUsed = null;
+        } else {
+            return false;
+        }
+        Filter filter = getFilter(consumer);
+        if (relations == null || filter == UNKNOWN_FILTER) {
+            return false;
+        }
+        boolean multiInput = isMultiInput(consumer);
+        for (FieldRelation relation : relations) {
+            if (consumerUsed != null && relation.getOutputField() != null
+                    && !consumerUsed.contains(lowerCase(relation.getOutputField().getName()))) {
+                continue;
+            }
+            Field inputField = relation.getInputField();
+            if (inputField instanceof ConstantField) {
+                continue;
+            }
+            if (multiInput && inputField instanceof DataField && ((DataField) inputField).getNodeId() != null
+                    && !node.getId().equals(((DataField) inputField).getNodeId())) {
+                continue; // a field of another input
+            }
+            if (!(inputField instanceof DataField)) {
+                return false;
+            }
+            String name = unquote(((DataField) inputField).getName());
+            if (!IDENTIFIER_PATTERN.matcher(name).matches()) {
+                return false; // an expression
+            }
+            used.add(lowerCase(name));
+        }
+        if (consumer instanceof JoinTransform) {
+            ((JoinTransform) consumer).getKeyFields(node.getId()).forEach(name -> used.add(lowerCase(unquote(name))));
+        }
+        if (!(consumer instanceof UnionNode)) {
+            used.addAll(filter.columns);
+        }
+        return true;
+    }
+
+    /**
+     * The output fields of a transform node which are used, the filter of a union refers to its output fields
+     */
+    private Set<String> outputUsedFields(TransformNode node) {
+        Set<String> used = usedFields(node);
+        if (used == null || !(node instanceof UnionNode)) {
+            return used;
+        }
+        Filter filter = getFilter(node);
+        if (filter == UNKNOWN_FILTER) {
+            return null;
+        }
+        Set<String> outputUsed = new HashSet<>(used);
+        outputUsed.addAll(filter.columns);
+        return outputUsed;
+    }
+
+    private boolean isMultiInput(Node node) {
+        return inputMap.getOrDefault(node.getId(), Collections.emptySet()).size() > 1;
+    }
+
+    // ~ predicates -----------------------------------------------
+
+    private void planScan(ScanExtractNode node) {
+        if (node.getFields() == null || node.getFields().isEmpty()) {
+            return;
+        }
+        Map<String, DataField> fields = new LinkedHashMap<>();
+        node.getFields().forEach(field -> fields.putIfAbsent(lowerCase(field.getName()), field));
+        List<String> columns = null;
+        Set<String> used = usedFields(node);
+        if (used != null) {
+            columns = fields.entrySet().stream()
+                    .filter(e -> used.contains(e.getKey()))
+                    .map(e -> e.getValue().getName())
+                    .collect(Collectors.toList());
+            if (columns.isEmpty() || columns.size() == fields.size()) {
+                columns = null;
+            }
+        }
+        List<Expression> predicates = new ArrayList<>();
+        List<Node> consumers = consumerMap.getOrDefault(node.getId(), Collections.emptyList());
+        // the rows are also read by other consumers, or the filter may refer to another input or to the output of a
+        // union otherwise
+        if (consumers.size() == 1 && !isMultiInput(consumers.get(0)) && !(consumers.get(0) instanceof UnionNode)) {
+            Filter filter = getFilter(consumers.get(0));
+            if (filter.condition != null) {
+                for (Expression conjunct : splitConjuncts(filter.condition)) {
+                    if (isPushable(conjunct, fields)) {
+                        predicates.add(conjunct);
+                    }
+                }
+            }
+        }
+        if (columns != null || !predicates.isEmpty()) {
+            scanPushdowns.put(node.getId(), new ScanPushdown(columns, predicates));
+        }
+    }
+
+    private static List<Expression> splitConjuncts(Expression expression) {
+        if (expression instanceof AndExpression) {
+            List<Expression> conjuncts = new ArrayList<>(
+                    splitConjuncts(((AndExpression) expression).getLeftExpression()));
+            conjuncts.addAll(splitConjuncts(((AndExpression) expression).getRightExpression()));
+            return conjuncts;
+        }
+        if (expression instanceof Parenthesis) {
+            return splitConjuncts(((Parenthesis) expression).getExpression());
+        }
+        return Collections.singletonList(expression);
+    }
+
+    /**
+     * Whether the data source returns a superset of the rows kept by the engine for a predicate, the columns of a
+     * pushable predicate are renamed to the names of the fields
+     */
+    private static boolean isPushable(Expression expression, Map<String, DataField> fields) {
+        if (expression instanceof Parenthesis) {
+            return isPushable(((Parenthesis) expression).getExpression(), fields);
+        } else if (expression instanceof AndExpression) {
+            return isPushable(((AndExpression) expression).getLeftExpression(), fields)
+                    && isPushable(((AndExpression) expression).getRightExpression(), fields);
+        } else if (expression instanceof OrExpression) {
+            return isPushable(((OrExpression) expression).getLeftExpression(), fields)
+                    && isPushable(((OrExpression) expression).getRightExpression(), fields);
+        } else if (expression instanceof IsNullExpression) {
+            return resolveColumn(((IsNullExpression) expression).getLeftExpression(), fields) != null;
+        } else if (expression instanceof ComparisonOperator) {
+            ComparisonOperator comparison = (ComparisonOperator) expression;
+            if (comparison.getOldOracleJoinSyntax() != SupportsOldOracleJoinSyntax.NO_ORACLE_JOIN) {
+                return false;
+            }
+            Expression left = comparison.getLeftExpression();
+            Expression right = comparison.getRightExpression();
+            TypeKind kind = getTypeKind(resolveColumn(left instanceof Column ? left : right, fields));
+            return kind != null && kind == getLiteralKind(left instanceof Column ? right : left)
+                    && (kind != TypeKind.STRING || comparison instanceof EqualsTo);
+        } else if (expression instanceof Between) {
+            Between between = (Between) expression;
+            TypeKind kind = getTypeKind(resolveColumn(between.getLeftExpression(), fields));
+            return kind != null && kind != TypeKind.STRING
+                    && kind == getLiteralKind(between.getBetweenExpressionStart())
+                    && kind == getLiteralKind(between.getBetweenExpressionEnd());
+        } else if (expression instanceof InExpression) {
+            InExpression in = (InExpression) expression;
+            if (!(in.getRightItemsList() instanceof ExpressionList)) {
+                return false;
+            }
+            TypeKind kind = getTypeKind(resolveColumn(in.getLeftExpression(), fields));
+            if (kind == null || kind == TypeKind.STRING && in.isNot()) {
+                return false;
+            }
+            List<Expression> items = ((ExpressionList) in.getRightItemsList()).getExpressions();
+            return items != null && !items.isEmpty() && items.stream().allMatch(item -> kind == getLiteralKind(item));
+        } else if (expression instanceof LikeExpression) {
+            LikeExpression like = (LikeExpression) expression;
+            return !like.isNot() && !like.isCaseInsensitive() && like.getEscape() == null
+                    && getTypeKind(resolveColumn(like.getLeftExpression(), fields)) == TypeKind.STRING
+                    && getLiteralKind(like.getRightExpression()) == TypeKind.STRING;
+        }
+        return false;
+    }
+
+    /**
+     * Rename a column to the name of its field
+     *
+     * @return the field of the column, or null if the expression is not a column of the node
+     */
+    @Nullable
+    private static DataField resolveColumn(Expression expression, Map<String, DataField> fields) {
+        if (!(expression instanceof Column)) {
+            return null;
+        }
+        Column column = (Column) expression;
+        DataField field = fields.get(lowerCase(unquote(column.getColumnName())));
+        if (field == null) {
+            return null;
+        }
+        column.setTable(null);
+        column.setColumnName(field.getName());
+        return field;
+    }
+
+    /**
+     * The kind of the declared type of a field, e.g. {@code INT UNSIGNED}, {@code NUMBER(10, 2)} or
+     * {@code TIMESTAMP(6) WITH TIME ZONE}
+     *
+     * @return the kind, or null if the type is unknown or not compared with literals
+     */
+    @Nullable
+    private static TypeKind getTypeKind(@Nullable DataField field) {
+        if (field == null || field.getDataType() == null || StringUtils.isBlank(field.getDataType().getType())) {
+            return null;
+        }
+        String type = field.getDataType().getType().trim().toUpperCase(Locale.ROOT).split("[\\s(]", 2)[0];
+        switch (type) {
+            case "TINYINT":
+            case "SMALLINT":
+            case "MEDIUMINT":
+            case "INT":
+            case "INTEGER":
+            case "BIGINT":
+            case "DECIMAL":
+            case "DEC":
+            case "NUMERIC":
+            case "NUMBER":
+            case "FLOAT":
+            case "REAL":
+            case "DOUBLE":
+            case "BINARY_FLOAT":
+            case "BINARY_DOUBLE":
+                return TypeKind.NUMERIC;
+            case "DATE":
+            case "DATETIME":
+            case "TIMESTAMP":
+            case "TIMESTAMP_LTZ":
+                return TypeKind.DATE_TIME;
+            case "CHAR":
+            case "CHARACTER":
+            case "NCHAR":
+            case "VARCHAR":
+            case "VARCHAR2":
+            case "NVARCHAR":
+            case "NVARCHAR2":
+            case "STRING":
+            case "TINYTEXT":
+            case "TEXT":
+            case "MEDIUMTEXT":
+            case "LONGTEXT":
+                return TypeKind.STRING;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * The kind of a literal, a string is only a literal if it is compared the same way by all data sources
+     *
+     * @return the kind, or null if the expression is not a literal
+     */
+    @Nullable
+    private static TypeKind getLiteralKind(Expression expression) {
+        if (expression instanceof SignedExpression) {
+            expression = ((SignedExpression) expression).getExpression();
+            return expression instanceof LongValue || expression instanceof DoubleValue ? TypeKind.NUMERIC : null;
+        }
+        if (expression instanceof LongValue || expression instanceof DoubleValue) {
+            return TypeKind.NUMERIC;
+        }
+        if (expression instanceof DateTimeLiteralExpression) {
+            DateTimeLiteralExpression.DateTime type = ((DateTimeLiteralExpression) expression).getType();
+            return type == DateTimeLiteralExpression.DateTime.DATE
+                    || type == DateTimeLiteralExpression.DateTime.TIMESTAMP ? TypeKind.DATE_TIME : null;
+        }
+        return isStringLiteral(expression) ? TypeKind.STRING : null;
+    }
+
+    private static boolean isStringLiteral(Expression expression) {
+        if (!(expression instanceof StringValue)) {
+            return false;
+        }
+        StringValue value = (StringValue) expression;
+        // Oracle treats '' as NULL, and databases disagree on escapes with backslashes
+        return StringUtils.isEmpty(value.getPrefix()) && !value.getValue().isEmpty()
+                && value.getValue().indexOf('\\') < 0;
+    }
+
+    // ~ filter clauses -------------------------------------------
+
+    private Filter getFilter(Node consumer) {
+        return filters.computeIfAbsent(consumer.getId(), id -> parseFilter(getFilterClause(consumer)));
+    }
+
+    @Nullable
+    private static String getFilterClause(Node node) {
+        if (node instanceof TransformNode) {
+            return ((TransformNode) node).getFilterClause();
+        } else if (node instanceof LoadNode) {
+            return ((LoadNode) node).getFilterClause();
+        }
+        return null;
+    }
+
+    /**
+     * Parse a filter clause like {@code WHERE age > 0 LIMIT 10}, only the clauses WHERE, LIMIT, OFFSET and FETCH can
+     * be analyzed
+     */
+    private static Filter parseFilter(@Nullable String filterClause) {
+        if (StringUtils.isBlank(filterClause)) {
+            return new Filter(null, Collections.emptySet());
+        }
+        Statement statement;
+        try {
+            statement = CCJSqlParserUtil.newParser("SELECT * FROM t " + filterClause)
+                    .withAllowComplexParsing(true)
+                    .Statement();
+        } catch (ParseException | RuntimeException e) {
+            return UNKNOWN_FILTER;
+        }
+        if (!(statement instanceof Select) || !(((Select) statement).getSelectBody() instanceof PlainSelect)) {
+            return UNKNOWN_FILTER;
+        }
+        PlainSelect select = (PlainSelect) ((Select) statement).getSelectBody();
+        if (!(select.getFromItem() instanceof Table) || select.getJoins() != null || select.getGroupBy() != null
+                || select.getHaving() != null || select.getOrderByElements() != null || select.getDistinct() != null) {
+            return UNKNOWN_FILTER;
+        }
+        Expression condition = select.getWhere();
+        if (condition == null) {
+            return new Filter(null, Collections.emptySet());
+        }
+        Set<String> columns = new HashSet<>();
+        boolean[] subquery = new boolean[1];
+        condition.accept(new ExpressionVisitorAdapter() {
+            @Override
+            public void visit(Column column) {
+                columns.add(lowerCase(unquote(column.getColumnName())));
+            }
+
+            @Override
+            public void visit(SubSelect subSelect) {
+                subquery[0] = true;
+            }
+        });
+        return subquery[0] ? UNKNOWN_FILTER : new Filter(condition, columns);
+    }
+
+    private static String unquote(String identifier) {
+        String name = identifier.trim();
+        if (name.length() > 1 && (name.startsWith("`") && name.endsWith("`")
+                || name.startsWith("\"") && name.endsWith("\""))) {
+            return name.substring(1, name.length() - 1);
+        }
+        return name;
+    }
+
+    private static String lowerCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Kinds of types whose values are compared with literals
+     */
+    private enum TypeKind {
+        NUMERIC,
+        DATE_TIME,
+        STRING
+    }
+
+    /**
+     * An analyzed filter clause
+     */
+    private static class Filter {
+        @Nullable
+        private final Expression condition;
+        private final Set<String> columns;
+
+        private Filter(@Nullable Expression condition, Set<String> columns) {
+            this.condition = condition;
+            this.columns = columns;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package cn.guruguru.datalink.parser.impl;
+
+import cn.guruguru.datalink.protocol.Pipeline;
+import cn.guruguru.datalink.protocol.node.extract.cdc.MysqlCdcNode;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Server ids of the MySQL CDC nodes of a pipeline
+ *
+ * <p>Every reader of a node needs its own server id. Flink 1.15 SQL runs every source with the parallelism of the job,
+ * so the job runs with the largest snapshot parallelism of the tuned nodes, and every node is allocated a range of
+ * that size. A node with a server id keeps it as the first id of its range, the other nodes are allocated the lowest
+ * free ranges from {@value #DEFAULT_SERVER_ID_BASE}. Server ids are only allocated if any node reads its snapshot in
+ * parallel, otherwise the nodes keep their legacy server ids.
+ */
+public final class ServerIdPlan {
+
+    public static final long DEFAULT_SERVER_ID_BASE = 5400;
+
+    @Nullable
+    private final Integer snapshotParallelism;
+    private final Map<String, String> serverIds = new HashMap<>(); // MySQL CDC node id -> server id or range
+
+    private ServerIdPlan(Pipeline pipeline) {
+        this.snapshotParallelism = pipeline.getNodes().stream()
+                .filter(node -> node instanceof MysqlCdcNode && ((MysqlCdcNode) node).getSnapshotTuning() != null)
+                .map(node -> ((MysqlCdcNode) node).getServerIdCount())
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    /**
+     * Plan the server ids of a pipeline
+     *
+     * @param pipeline a pipeline
+     * @return a server id plan
+     */
+    public static ServerIdPlan plan(Pipeline pipeline) {
+        Preconditions.checkNotNull(pipeline, "the pipeline is null");
+        ServerIdPlan plan = new ServerIdPlan(pipeline);
+        if (plan.snapshotParallelism != null) {
+            plan.allocate(pipeline.getNodes().stream()
+                    .filter(node -> node instanceof MysqlCdcNode)
+                    .map(node -> (MysqlCdcNode) node)
+                    .collect(Collectors.toList()));
+        }
+        return plan;
+    }
+
+    /**
+     * Get the parallelism of the snapshot phase of the MySQL CDC nodes
+     *
+     * @return the largest parallelism of the tuned MySQL CDC nodes, or null if no node is tuned
+     */
+    @Nullable
+    public Integer getSnapshotParallelism() {
+        return snapshotParallelism;
+    }
+
+    /**
+     * Get the server id of a MySQL CDC node
+     *
+     * @param nodeId the id of a MySQL CDC node
+     * @return a server id or server id range, e.g. {@code 5400-5403}, or null if the node keeps its legacy server id
+     */
+    @Nullable
+    public String getServerId(String nodeId) {
+        return serverIds.get(nodeId);
+    }
+
+    private void allocate(List<MysqlCdcNode> cdcNodes) {
+        int parallelism = snapshotParallelism;
+        Map<String, long[]> ranges = new LinkedHashMap<>();
+        for (MysqlCdcNode node : cdcNodes) {
+            if (node.getServerId() != null) {
+                long[] range = {node.getServerId(), node.getServerId() + parallelism - 1L};
+                ranges.forEach((id, other) -> Preconditions.checkState(range[1] < other[0] || other[1] < range[0],
+                        "server ids of MySQL CDC nodes %s and %s overlap", id, node.getId()));
+                ranges.put(node.getId(), range);
+            }
+        }
+        for (MysqlCdcNode node : cdcNodes) {
+            if (node.getServerId() == null) {
+                long first = DEFAULT_SERVER_ID_BASE;
+                long last = first + parallelism - 1;
+                for (long[] other : ranges.values().stream()
+                        .sorted(Comparator.comparingLong(range -> range[0]))
+                        .collect(Collectors.toList())) {
+                    if (last >= other[0] && other[1] >= first) {
+                        first = Math.max(first, other[1] + 1);
+                        last = first + parallelism - 1;
+                    }
+                }
+                ranges.put(node.getId(), new long[] {first, last});
+            }
+        }
+        ranges.forEach((id, range) ->
+                serverIds.put(id, range[0] == range[1] ? String.valueOf(range[0]) : range[0] + "-" + range[1]));
+    }
+}
@@ -3,22 +3,22 @@ package cn.guruguru.datalink.parser.impl;
 import cn.guruguru.datalink.parser.EngineType;
 import cn.guruguru.datalink.parser.result.ParseResult;
 import cn.guruguru.datalink.parser.result.SparkSqlParseResult;
-import cn.guruguru.datalink.protocol.Pipeline;
 import cn.guruguru.datalink.protocol.field.DataField;
 import cn.guruguru.datalink.protocol.field.DataType;
 import cn.guruguru.datalink.protocol.field.Field;
 import cn.guruguru.datalink.protocol.node.ExtractNode;
 import cn.guruguru.datalink.protocol.node.Node;
 import cn.guruguru.datalink.protocol.node.NodePropDescriptor;
+import cn.guruguru.datalink.protocol.node.transform.JoinNode;
+import cn.guruguru.datalink.protocol.node.transform.LookupJoinNode;
 import cn.guruguru.datalink.protocol.node.transform.TransformNode;
 import cn.guruguru.datalink.protocol.relation.FieldRelation;
 import cn.guruguru.datalink.type.converter.DataTypeConverter;
-import cn.guruguru.datalink.type.converter.SparkDataTypeConverter;
+import cn.guruguru.datalink.type.converter.factory.SimpleTypeConverterFactory;
 import com.google.common.base.Strings;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +29,9 @@ import java.util.Map;
 @Slf4j
 public class SparkSqlParser extends AbstractSqlParser {
 
+    private static final DataTypeConverter TYPE_CONVERTER =
+            SimpleTypeConverterFactory.getCachedInstance(EngineType.SPARK_SQL);
+
     @Override
     public EngineType getEngineType() {
         return EngineType.SPARK_SQL;
@@ -36,17 +39,18 @@ public class SparkSqlParser extends AbstractSqlParser {
 
     @Override
     public DataTypeConverter getTypeConverter() {
-        return new SparkDataTypeConverter();
+        return TYPE_CONVERTER;
     }
 
     @Override
-    protected ParseResult getParseResult(Pipeline pipeline) {
+    protected ParseResult getParseResult(ParseContext context) {
         // Parse the configuration of the computing engine
-        List<String> setSqls = parseConfiguration(pipeline);
-        List<String> createTableSqls = new ArrayList<>(extractTableSqls);
-        createTableSqls.addAll(transformTableSqls);
-        createTableSqls.addAll(loadTableSqls);
-        return new SparkSqlParseResult(setSqls, Collections.emptyList(), createTableSqls, insertSqls);
+        List<String> setSqls = parseConfiguration(context.getPipeline());
+        // views read by more than one INSERT statement are computed once
+        List<String> insertSqls = ViewCachePlan.cacheSharedViews(
+                context.getPipeline(), context.getInsertNodeIds(), context.getInsertSqls());
+        return new SparkSqlParseResult(setSqls, Collections.emptyList(),
+                context.getCreateTableSqls(), insertSqls, context.getHighWatermarkSqls());
     }
 
     /**
@@ -126,31 +130,60 @@ public class SparkSqlParser extends AbstractSqlParser {
     /**
      * Generate create sql
      *
+     * @param context the context of the current parsing
      * @param node The abstract of extract, transform, load
      * @return The creation sql pf table
      */
     @Override
-    protected String genCreateSql(Node node) {
+    protected String genCreateSql(ParseContext context, Node node) {
         if (node instanceof ExtractNode) {
-            return genCreateExtractSql(node);
+            return genCreateExtractSql(context, node);
         }
         if (node instanceof TransformNode) {
             return genCreateTransformSql(node);
         }
-        return genGenericCreateSql(node);
+        return genGenericCreateSql(context, node);
+    }
+
+    /**
+     * Generate create transform sql, a Spark view referencing temporary views must be temporary as well
+     *
+     * @param node The transform node
+     * @return The creation sql of transform node
+     */
+    @Override
+    protected String genCreateTransformSql(Node node) {
+        return String.format("CREATE OR REPLACE TEMPORARY VIEW %s (%s)",
+                node.genTableName(), parseTransformNodeFields(node.getFields()));
+    }
+
+    /**
+     * The lookup node is read once and broadcast, so no lookup cache is needed
+     */
+    @Override
+    protected String genLookupJoinHint(LookupJoinNode joinNode, Node lookupNode) {
+        return "/*+ BROADCAST(" + lookupNode.genTableName() + ") */ ";
+    }
+
+    /**
+     * The small side of a join is broadcast or built into the hash table of a shuffled hash join
+     */
+    @Override
+    protected String genJoinHint(JoinNode joinNode, Node smallNode) {
+        return "/*+ " + joinNode.getJoinStrategy().name() + "(" + smallNode.genTableName() + ") */ ";
     }
 
     /**
      * Generate create extract sql
      *
+     * @param context the context of the current parsing
      * @param node The extract node
      * @return The creation sql of extract node
      */
-    private String genCreateExtractSql(Node node) {
+    private String genCreateExtractSql(ParseContext context, Node node) {
         // Spark view does not support schema
         return "CREATE OR REPLACE TEMPORARY VIEW " + node.genTableName() + "\n"
-               + parseOptions(node.getPropDescriptor(getEngineType()),
-                node.tableOptions(getEngineType()));
+               + parseOptions(node.getPropDescriptor(getEngineType()), genTableOptions(context, node));
     }
 
     /**
@@ -172,7 +205,9 @@ public class SparkSqlParser extends AbstractSqlParser {
                 sb.append(" ").append(propDescriptor.name()).append(" (");
                 for (Map.Entry<String, String> kv : options.entrySet()) {
                     sb.append("\n    ").append(kv.getKey())
-                            .append(" '").append(kv.getValue()).append("'")
+                            // Spark SQL escapes quotes of string literals with backslashes
+                            .append(" '").append(kv.getValue().replace("\\", "\\\\").replace("'", "\\'"))
+                            .append("'")
                             .append(",");
                 }
                 if (sb.length() > 0) {
@@ -0,0 +1,137 @@
+package cn.guruguru.datalink.parser.impl;
+
+import cn.guruguru.datalink.protocol.Pipeline;
+import cn.guruguru.datalink.protocol.field.DataField;
+import cn.guruguru.datalink.protocol.field.Field;
+import cn.guruguru.datalink.protocol.node.LoadNode;
+import cn.guruguru.datalink.protocol.node.Node;
+import cn.guruguru.datalink.protocol.node.extract.CdcExtractNode;
+import cn.guruguru.datalink.protocol.node.load.AmoroLoadNode;
+import cn.guruguru.datalink.protocol.node.transform.TransformNode;
+import cn.guruguru.datalink.protocol.relation.FieldRelation;
+import cn.guruguru.datalink.protocol.relation.NodeRelation;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Alignment of the primary keys of the CDC sources and the Amoro sinks of a pipeline
+ *
+ * <p>Flink materializes the changelog of a sink in the state of {@code SinkUpsertMaterializer} when it can not prove
+ * that the upsert key of the changelog is the primary key of the sink. If the primary key of every Amoro load node
+ * is the primary key of its CDC extract node, traced back through the field relations of the nodes in between, the
+ * changes of a key arrive in order and the materializer is not needed.
+ */
+public final class UpsertKeyPlan {
+
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("`?[\\w$]+`?");
+
+    private final Map<String, Node> nodeMap = new HashMap<>();
+    private final Map<String, Set<String>> inputMap = new HashMap<>();
+
+    private UpsertKeyPlan(Pipeline pipeline) {
+        pipeline.getNodes().forEach(node -> nodeMap.put(node.getId(), node));
+        for (NodeRelation relation : pipeline.getRelation().getNodeRelations()) {
+            for (String output : relation.getOutputs()) {
+                inputMap.computeIfAbsent(output, id -> new LinkedHashSet<>()).addAll(relation.getInputs());
+            }
+        }
+    }
+
+    /**
+     * Whether the primary key of every load node of a pipeline is the primary key of its CDC extract node
+     *
+     * @param pipeline a pipeline
+     * @return true if the pipeline has at least one load node and all of them are aligned Amoro load nodes
+     */
+    public static boolean isUpsertKeyAligned(Pipeline pipeline) {
+        UpsertKeyPlan plan = new UpsertKeyPlan(pipeline);
+        List<Node> loadNodes = pipeline.getNodes().stream()
+                .filter(node -> node instanceof LoadNode)
+                .collect(Collectors.toList());
+        return !loadNodes.isEmpty() && loadNodes.stream().allMatch(plan::isAligned);
+    }
+
+    private boolean isAligned(Node loadNode) {
+        if (!(loadNode instanceof AmoroLoadNode)) {
+            return false;
+        }
+        Set<String> keys = splitKey(loadNode.getPrimaryKey());
+        Node node = loadNode;
+        List<FieldRelation> fieldRelations = ((AmoroLoadNode) loadNode).getFieldRelations();
+        Set<String> visited = new HashSet<>();
+        while (keys != null && visited.add(node.getId())) {
+            Set<String> inputs = inputMap.get(node.getId());
+            if (inputs == null || inputs.size() != 1) {
+                return false; // the rows of a key may come from more than one input
+            }
+            keys = mapToInputFields(keys, fieldRelations);
+            Node input = nodeMap.get(inputs.iterator().next());
+            if (input instanceof CdcExtractNode) {
+                return keys != null && keys.equals(splitKey(input.getPrimaryKey()));
+            }
+            // a plain projection and filter keeps the upsert key, joins and unions are different classes
+            if (input == null || input.getClass() != TransformNode.class) {
+                return false;
+            }
+            node = input;
+            fieldRelations = ((TransformNode) input).getFieldRelations();
+        }
+        return false;
+    }
+
+    /**
+     * Map the key fields of a node to the fields of its input
+     *
+     * @return the names of the input fields, or null if any key field is not copied from an input field
+     */
+    @Nullable
+    private static Set<String> mapToInputFields(Set<String> keys, @Nullable List<FieldRelation> fieldRelations) {
+        if (fieldRelations == null) {
+            return null;
+        }
+        Map<String, String> inputNames = new HashMap<>();
+        for (FieldRelation relation : fieldRelations) {
+            Field inputField = relation.getInputField();
+            if (relation.getOutputField() == null || inputField == null || inputField.getClass() != DataField.class
+                    || !IDENTIFIER_PATTERN.matcher(((DataField) inputField).getName().trim()).matches()) {
+                continue;
+            }
+            inputNames.put(normalize(relation.getOutputField().getName()),
+                    normalize(((DataField) inputField).getName()));
+        }
+        Set<String> inputKeys = new HashSet<>();
+        for (String key : keys) {
+            String inputKey = inputNames.get(key);
+            if (inputKey == null) {
+                return null;
+            }
+            inputKeys.add(inputKey);
+        }
+        return inputKeys;
+    }
+
+    @Nullable
+    private static Set<String> splitKey(@Nullable String primaryKey) {
+        if (StringUtils.isBlank(primaryKey)) {
+            return null;
+        }
+        return Arrays.stream(primaryKey.split(","))
+                .map(UpsertKeyPlan::normalize)
+                .collect(Collectors.toSet());
+    }
+
+    private static String normalize(String name) {
+        return StringUtils.strip(name.trim(), "`\"").toLowerCase(Locale.ROOT);
+    }
+}
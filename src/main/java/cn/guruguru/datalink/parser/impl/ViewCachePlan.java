@@ -0,0 +1,136 @@
+package cn.guruguru.datalink.parser.impl;
+
+import cn.guruguru.datalink.protocol.Pipeline;
+import cn.guruguru.datalink.protocol.ViewCache;
+import cn.guruguru.datalink.protocol.enums.StorageLevel;
+import cn.guruguru.datalink.protocol.node.ExtractNode;
+import cn.guruguru.datalink.protocol.node.Node;
+import cn.guruguru.datalink.protocol.node.transform.TransformNode;
+import cn.guruguru.datalink.protocol.relation.NodeRelation;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caching of the Spark views of a pipeline which are read by more than one downstream node
+ *
+ * <p>Every INSERT statement reading a temporary view executes the view again, e.g. a JDBC view feeding three load
+ * nodes reads the source table three times. An extract or transform view with more than one consumer is cached
+ * lazily before the first INSERT statement reading it, so that it is materialized by that statement, and uncached
+ * after the last one. Caching is opt-in, the views are only cached if the pipeline has a {@link ViewCache}.
+ *
+ * @see ViewCache
+ */
+public final class ViewCachePlan {
+
+    private final Map<String, Node> nodeMap = new HashMap<>();
+    private final Map<String, Set<String>> inputMap = new HashMap<>();
+    private final Map<String, Set<String>> consumerMap = new HashMap<>();
+
+    private ViewCachePlan(Pipeline pipeline) {
+        pipeline.getNodes().forEach(node -> nodeMap.put(node.getId(), node));
+        for (NodeRelation relation : pipeline.getRelation().getNodeRelations()) {
+            for (String output : relation.getOutputs()) {
+                inputMap.computeIfAbsent(output, id -> new LinkedHashSet<>()).addAll(relation.getInputs());
+                for (String input : relation.getInputs()) {
+                    consumerMap.computeIfAbsent(input, id -> new HashSet<>()).add(output);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the CACHE TABLE and UNCACHE TABLE statements of the shared views around the INSERT statements
+     *
+     * @param pipeline a pipeline
+     * @param loadNodeIds ids of the load nodes of the INSERT statements
+     * @param insertSqls INSERT statements in the order of execution
+     * @return the INSERT statements with the caching statements
+     */
+    public static List<String> cacheSharedViews(Pipeline pipeline, List<String> loadNodeIds, List<String> insertSqls) {
+        Preconditions.checkArgument(loadNodeIds.size() == insertSqls.size(),
+                "the number of load nodes does not match the number of INSERT statements");
+        ViewCache viewCache = pipeline.getViewCache();
+        if (viewCache == null || !viewCache.isEnabled()) {
+            return insertSqls;
+        }
+        ViewCachePlan plan = new ViewCachePlan(pipeline);
+        // the first and the last INSERT statement reading a shared view
+        Map<String, Integer> firstUses = new LinkedHashMap<>();
+        Map<String, Integer> lastUses = new LinkedHashMap<>();
+        for (int i = 0; i < loadNodeIds.size(); i++) {
+            for (String viewId : plan.sharedUpstreamViews(loadNodeIds.get(i))) {
+                firstUses.putIfAbsent(viewId, i);
+                lastUses.put(viewId, i);
+            }
+        }
+        if (firstUses.isEmpty()) {
+            return insertSqls;
+        }
+        List<String> sqls = new ArrayList<>();
+        Set<String> memoryViews = new HashSet<>();
+        for (int i = 0; i < insertSqls.size(); i++) {
+            for (Map.Entry<String, Integer> firstUse : firstUses.entrySet()) {
+                if (firstUse.getValue() == i) {
+                    String viewId = firstUse.getKey();
+                    StorageLevel storageLevel = viewCache.getStorageLevel();
+                    if (storageLevel.useMemory()) {
+                        if (viewCache.getMaxMemoryViews() != null
+                                && memoryViews.size() >= viewCache.getMaxMemoryViews()) {
+                            storageLevel = ViewCache.FALLBACK_STORAGE_LEVEL; // out of the memory budget
+                        } else {
+                            memoryViews.add(viewId);
+                        }
+                    }
+                    sqls.add(String.format("CACHE LAZY TABLE %s OPTIONS ('storageLevel' '%s')",
+                            plan.nodeMap.get(viewId).genTableName(), storageLevel.name()));
+                }
+            }
+            sqls.add(insertSqls.get(i));
+            for (Map.Entry<String, Integer> lastUse : lastUses.entrySet()) {
+                if (lastUse.getValue() == i) {
+                    sqls.add("UNCACHE TABLE IF EXISTS " + plan.nodeMap.get(lastUse.getKey()).genTableName());
+                    memoryViews.remove(lastUse.getKey());
+                }
+            }
+        }
+        return sqls;
+    }
+
+    /**
+     * Get the shared views which a node reads directly or indirectly, from the farthest to the nearest
+     */
+    private List<String> sharedUpstreamViews(String nodeId) {
+        List<String> views = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>(inputMap.getOrDefault(nodeId, Collections.emptySet()));
+        while (!queue.isEmpty()) {
+            String id = queue.poll();
+            if (!visited.add(id)) {
+                continue;
+            }
+            if (isSharedView(id)) {
+                views.add(id);
+            }
+            queue.addAll(inputMap.getOrDefault(id, Collections.emptySet()));
+        }
+        Collections.reverse(views);
+        return views;
+    }
+
+    private boolean isSharedView(String nodeId) {
+        Node node = nodeMap.get(nodeId);
+        return (node instanceof ExtractNode || node instanceof TransformNode)
+                && consumerMap.getOrDefault(nodeId, Collections.emptySet()).size() > 1;
+    }
+}
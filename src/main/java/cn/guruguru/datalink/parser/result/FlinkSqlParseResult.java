@@ -5,7 +5,11 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Parser result for flink sql
@@ -20,6 +24,10 @@ public class FlinkSqlParseResult implements ParseResult {
     private final List<String> setSqls;
     private final List<String> createTableSqls;
     private final List<String> insertSqls;
+    private final Map<String, String> highWatermarkSqls;
+    private final boolean statementSet; // submit insert statements as one statement set
+    private final List<String> backfillSetSqls; // settings of the batch job of the backfills
+    private final Map<String, String> backfillTableSqls; // from table name to the bounded table shadowing it
     // private final List<String> addJarSqls;
     // In Flink 1.15, the CREATE FUNCTION syntax does not support the USING JAR clause
     // private final List<String> createFunctionSqls;
@@ -27,18 +35,93 @@ public class FlinkSqlParseResult implements ParseResult {
     public FlinkSqlParseResult(List<String> setSqls,
                                List<String> createTableSqls,
                                List<String> insertSqls) {
+        this(setSqls, createTableSqls, insertSqls, Collections.emptyMap());
+    }
+
+    public FlinkSqlParseResult(List<String> setSqls,
+                               List<String> createTableSqls,
+                               List<String> insertSqls,
+                               Map<String, String> highWatermarkSqls) {
+        this(setSqls, createTableSqls, insertSqls, highWatermarkSqls, false);
+    }
+
+    public FlinkSqlParseResult(List<String> setSqls,
+                               List<String> createTableSqls,
+                               List<String> insertSqls,
+                               Map<String, String> highWatermarkSqls,
+                               boolean statementSet) {
+        this(setSqls, createTableSqls, insertSqls, highWatermarkSqls, statementSet,
+                Collections.emptyList(), Collections.emptyMap());
+    }
+
+    public FlinkSqlParseResult(List<String> setSqls,
+                               List<String> createTableSqls,
+                               List<String> insertSqls,
+                               Map<String, String> highWatermarkSqls,
+                               boolean statementSet,
+                               List<String> backfillSetSqls,
+                               Map<String, String> backfillTableSqls) {
         this.setSqls = setSqls;
         this.createTableSqls = Preconditions.checkNotNull(createTableSqls, "createTableSqls is null");
         Preconditions.checkState(!createTableSqls.isEmpty(), "createTableSqls is empty");
         this.insertSqls = Preconditions.checkNotNull(insertSqls, "insertSqls is null");
         Preconditions.checkState(!insertSqls.isEmpty(), "insertSqls is empty");
+        this.highWatermarkSqls = Preconditions.checkNotNull(highWatermarkSqls, "highWatermarkSqls is null");
+        this.statementSet = statementSet;
+        this.backfillSetSqls = Preconditions.checkNotNull(backfillSetSqls, "backfillSetSqls is null");
+        this.backfillTableSqls = Preconditions.checkNotNull(backfillTableSqls, "backfillTableSqls is null");
+    }
+
+    /**
+     * Whether the insert statements are wrapped in a statement set, which is only needed for more than one insert
+     */
+    public boolean isStatementSetApplied() {
+        return statementSet && insertSqls.size() > 1;
     }
 
+    /**
+     * Get the statements of the job, with backfills the inserts are run twice
+     *
+     * <p>The inserts first read the bounded tables shadowing the CDC tables in a batch job with the backfill settings,
+     * and wait for it. Then the settings of the batch job which the streaming job does not set are reset, and the
+     * same inserts read the CDC tables from the offsets recorded before the batch job.
+     */
     @Override
     public List<String> getSqlStatements() {
-        List<String> sqls = new ArrayList<>(setSqls); // deep copy a list
+        if (backfillTableSqls.isEmpty()) {
+            List<String> sqls = new ArrayList<>(setSqls); // deep copy a list
+            sqls.addAll(createTableSqls);
+            addInsertSqls(sqls);
+            return sqls;
+        }
+        List<String> sqls = new ArrayList<>(backfillSetSqls);
         sqls.addAll(createTableSqls);
-        sqls.addAll(insertSqls);
+        sqls.addAll(backfillTableSqls.values());
+        addInsertSqls(sqls);
+        backfillTableSqls.keySet().forEach(table -> sqls.add("DROP TEMPORARY TABLE " + table));
+        Set<String> keys = setSqls.stream().map(FlinkSqlParseResult::getKey).collect(Collectors.toSet());
+        backfillSetSqls.stream()
+                .map(FlinkSqlParseResult::getKey)
+                .filter(key -> !keys.contains(key))
+                .forEach(key -> sqls.add("RESET " + key));
+        sqls.addAll(setSqls);
+        addInsertSqls(sqls);
         return sqls;
     }
+
+    /**
+     * Get the key of a statement like {@code SET key=value}
+     */
+    private static String getKey(String setSql) {
+        return setSql.substring("SET ".length(), setSql.indexOf('=')).trim();
+    }
+
+    private void addInsertSqls(List<String> sqls) {
+        if (isStatementSetApplied()) {
+            // all inserts are optimized together and submitted as one job
+            sqls.add("EXECUTE STATEMENT SET\nBEGIN\n" + String.join(";\n", insertSqls) + ";\nEND");
+        } else {
+            sqls.addAll(insertSqls);
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package cn.guruguru.datalink.parser.result;
+
+import com.google.common.base.Preconditions;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parse result holding the SQL fragments of every node, so that the next parsing of the same pipeline only
+ * regenerates the changed nodes
+ *
+ * @see cn.guruguru.datalink.parser.impl.AbstractSqlParser#parse(cn.guruguru.datalink.protocol.Pipeline, ParseResult)
+ */
+@Data
+public class IncrementalParseResult implements ParseResult {
+    private static final long serialVersionUID = 4712381067291045628L;
+
+    private final ParseResult result;
+    private final Map<String, NodeSqlFragment> fragments;
+    private final ParseDiff diff;
+
+    public IncrementalParseResult(ParseResult result, Map<String, NodeSqlFragment> fragments, ParseDiff diff) {
+        this.result = Preconditions.checkNotNull(result, "result is null");
+        this.fragments = Preconditions.checkNotNull(fragments, "fragments is null");
+        this.diff = Preconditions.checkNotNull(diff, "diff is null");
+    }
+
+    @Override
+    public List<String> getSqlStatements() {
+        return result.getSqlStatements();
+    }
+
+    @Override
+    public Map<String, String> getHighWatermarkSqls() {
+        return result.getHighWatermarkSqls();
+    }
+}
@@ -0,0 +1,27 @@
+package cn.guruguru.datalink.parser.result;
+
+import lombok.Data;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * SQL generated for a single node, identified by the fingerprint of the node
+ */
+@Data
+public class NodeSqlFragment implements Serializable {
+    private static final long serialVersionUID = -3468196744563052286L;
+
+    private final String nodeId;
+    private final String fingerprint;
+    /**
+     * CREATE statement of the node
+     */
+    @Nullable
+    private String createSql;
+    /**
+     * INSERT statement of a load node
+     */
+    @Nullable
+    private String insertSql;
+}
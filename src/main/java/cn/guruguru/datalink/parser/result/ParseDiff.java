@@ -0,0 +1,40 @@
+package cn.guruguru.datalink.parser.result;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Difference between two results of the same pipeline
+ */
+@Data
+public class ParseDiff implements Serializable {
+    private static final long serialVersionUID = 3307734766931180297L;
+
+    /**
+     * Nodes whose statements were generated again because they or their upstream nodes changed
+     */
+    private final Set<String> reparsedNodeIds;
+    /**
+     * Nodes whose statements were reused from the previous result
+     */
+    private final Set<String> reusedNodeIds;
+    /**
+     * Nodes of the previous result which no longer exist
+     */
+    private final Set<String> removedNodeIds;
+    /**
+     * Statements which are not in the previous result
+     */
+    private final List<String> addedStatements;
+    /**
+     * Statements of the previous result which are not in the new result
+     */
+    private final List<String> removedStatements;
+
+    public boolean isEmpty() {
+        return addedStatements.isEmpty() && removedStatements.isEmpty();
+    }
+}
@@ -0,0 +1,29 @@
+package cn.guruguru.datalink.parser.result;
+
+import lombok.Data;
+
+import javax.annotation.Nullable;
+
+/**
+ * Outcome of parsing one pipeline in a batch, either a {@link ParseResult} or the error that stopped it
+ */
+@Data
+public class ParseOutcome {
+    private final String pipelineId;
+    @Nullable
+    private final ParseResult result;
+    @Nullable
+    private final Throwable error;
+
+    public static ParseOutcome success(String pipelineId, ParseResult result) {
+        return new ParseOutcome(pipelineId, result, null);
+    }
+
+    public static ParseOutcome failure(String pipelineId, Throwable error) {
+        return new ParseOutcome(pipelineId, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -1,7 +1,9 @@
 package cn.guruguru.datalink.parser.result;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Parser result
@@ -17,6 +19,27 @@ public interface ParseResult extends Serializable {
      */
     List<String> getSqlStatements();
 
+    /**
+     * Gets the queries of the high watermarks of the incremental scan nodes, each query is executed on the data source
+     *
+     * <p>A run of an incremental pipeline is:
+     * <ol>
+     *     <li>execute the query of every node before the job is submitted</li>
+     *     <li>set the value as the {@code upperValue} of the node and parse the pipeline again, so that the scan reads
+     *     {@code (lastValue, upperValue]} and ignores the rows committed after the query</li>
+     *     <li>submit the job of the second parsing</li>
+     *     <li>after the job succeeds, store the {@code upperValue} as the {@code lastValue} of the next run</li>
+     * </ol>
+     * A query returns {@code lastValue} if there is no new row, and NULL only if the table is empty and the scan has no
+     * {@code lastValue}, in which case {@code upperValue} is left absent.
+     *
+     * @return a map from node id to query
+     * @see cn.guruguru.datalink.protocol.node.extract.ScanExtractNode#genHighWatermarkSql()
+     */
+    default Map<String, String> getHighWatermarkSqls() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Formats a set of SQL statements to a SQL script
      *
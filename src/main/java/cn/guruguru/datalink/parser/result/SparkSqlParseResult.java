@@ -5,7 +5,9 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Parser result for spark sql
@@ -18,18 +20,28 @@ public class SparkSqlParseResult implements ParseResult {
     private final List<String> setSqls;
     private final List<String> createFunctionSqls;
     private final List<String> createTableSqls;
-    private final List<String> insertSqls;
+    private final List<String> insertSqls; // including the CACHE TABLE and UNCACHE TABLE statements of shared views
+    private final Map<String, String> highWatermarkSqls;
 
     public SparkSqlParseResult(List<String> setSqls,
                                List<String> createFunctionSqls,
                                List<String> createTableSqls,
                                List<String> insertSqls) {
+        this(setSqls, createFunctionSqls, createTableSqls, insertSqls, Collections.emptyMap());
+    }
+
+    public SparkSqlParseResult(List<String> setSqls,
+                               List<String> createFunctionSqls,
+                               List<String> createTableSqls,
+                               List<String> insertSqls,
+                               Map<String, String> highWatermarkSqls) {
         this.setSqls = setSqls;
         this.createFunctionSqls = createFunctionSqls;
         this.createTableSqls = Preconditions.checkNotNull(createTableSqls, "createTableSqls is null");
         Preconditions.checkState(!createTableSqls.isEmpty(), "createTableSqls is empty");
         this.insertSqls = Preconditions.checkNotNull(insertSqls, "insertSqls is null");
         Preconditions.checkState(!insertSqls.isEmpty(), "insertSqls is empty");
+        this.highWatermarkSqls = Preconditions.checkNotNull(highWatermarkSqls, "highWatermarkSqls is null");
     }
 
     @Override
@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
@@ -57,6 +58,36 @@ public class Pipeline implements Serializable {
     @JsonProperty("properties")
     private Map<String, String> properties;
 
+    /**
+     * Whether to submit all INSERT statements as one statement set, so that the pipeline runs as one job which reads
+     * each source once. Null to enable it in the streaming mode only
+     */
+    @Nullable
+    @JsonProperty("statementSet")
+    private Boolean statementSet;
+
+    /**
+     * Caching of the views read by more than one downstream node, only for Spark. Null for no caching
+     */
+    @Nullable
+    @JsonProperty("viewCache")
+    private ViewCache viewCache;
+
+    /**
+     * Typed tuning of the computing engine, the properties take precedence over it. Null for the engine defaults
+     */
+    @Nullable
+    @JsonProperty("tuningProfile")
+    private TuningProfile tuningProfile;
+
+    /**
+     * Time to keep idle state of the streaming job, e.g. {@code 1 d}. Null to derive it from the state TTLs of the
+     * join nodes
+     */
+    @Nullable
+    @JsonProperty("stateTtl")
+    private String stateTtl;
+
     /**
      * Constructor for the {@link Pipeline}
      *
@@ -83,6 +114,19 @@ public class Pipeline implements Serializable {
         this.properties = properties;
     }
 
+    /**
+     * Whether INSERT statements are submitted as one statement set
+     *
+     * @return the value of {@code statementSet}, or true if it is not set and the runtime mode is streaming
+     */
+    @JsonIgnore
+    public boolean isStatementSetEnabled() {
+        if (statementSet != null) {
+            return statementSet;
+        }
+        return runtimeMode == RuntimeMode.STREAMING;
+    }
+
     // ~ utilities --------------------------------------------------
 
     /**
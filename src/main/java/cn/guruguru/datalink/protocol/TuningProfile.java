@@ -0,0 +1,249 @@
+package cn.guruguru.datalink.protocol;
+
+import cn.guruguru.datalink.exception.UnsupportedEngineException;
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.protocol.enums.CheckpointMode;
+import cn.guruguru.datalink.protocol.enums.TuningPreset;
+import cn.guruguru.datalink.utils.DurationUtil;
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Typed tuning of the computing engine of a pipeline
+ *
+ * <p>A profile starts from a {@link TuningPreset} and every value which is set overrides the value of the preset.
+ * Values which are neither set nor preset are left to the defaults of the engine. Unknown keys are rejected when a
+ * profile is deserialized, and the values are validated when a profile is created, so that only valid SET
+ * statements are rendered. Options of {@link Pipeline#getProperties()} take precedence over the profile.
+ *
+ * <p>Checkpointing, the state backend, mini-batch and local-global aggregation are rendered for Flink, adaptive query
+ * execution and shuffle partitions are rendered for Spark.
+ *
+ * @see <a href="https://nightlies.apache.org/flink/flink-docs-release-1.15/docs/dev/table/tuning/">Performance Tuning of Flink</a>
+ * @see <a href="https://spark.apache.org/docs/3.1.1/sql-performance-tuning.html">Performance Tuning of Spark</a>
+ */
+@Data
+@NoArgsConstructor(force = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = false)
+public class TuningProfile implements Serializable {
+    private static final long serialVersionUID = -3817290472604331178L;
+
+    // Flink
+    public static final String CHECKPOINT_INTERVAL_KEY = "execution.checkpointing.interval";
+    public static final String CHECKPOINT_MODE_KEY = "execution.checkpointing.mode";
+    public static final String UNALIGNED_CHECKPOINTS_KEY = "execution.checkpointing.unaligned";
+    public static final String STATE_BACKEND_KEY = "state.backend";
+    public static final String INCREMENTAL_CHECKPOINTS_KEY = "state.backend.incremental";
+    public static final String MINI_BATCH_ENABLED_KEY = "table.exec.mini-batch.enabled";
+    public static final String MINI_BATCH_LATENCY_KEY = "table.exec.mini-batch.allow-latency";
+    public static final String MINI_BATCH_SIZE_KEY = "table.exec.mini-batch.size";
+    public static final String AGG_PHASE_STRATEGY_KEY = "table.optimizer.agg-phase-strategy";
+    // Spark
+    public static final String ADAPTIVE_EXECUTION_KEY = "spark.sql.adaptive.enabled";
+    public static final String COALESCE_PARTITIONS_KEY = "spark.sql.adaptive.coalescePartitions.enabled";
+    public static final String SHUFFLE_PARTITIONS_KEY = "spark.sql.shuffle.partitions";
+
+    @Nullable
+    @JsonProperty("preset")
+    private final TuningPreset preset;
+    /**
+     * Interval of Flink checkpoints, e.g. {@code 30 s}
+     */
+    @Nullable
+    @JsonProperty("checkpointInterval")
+    private final String checkpointInterval;
+    @Nullable
+    @JsonProperty("checkpointMode")
+    private final CheckpointMode checkpointMode;
+    /**
+     * Whether checkpoint barriers overtake buffered records, so that checkpoints are not blocked by backpressure
+     */
+    @Nullable
+    @JsonProperty("unalignedCheckpoints")
+    private final Boolean unalignedCheckpoints;
+    /**
+     * Whether to keep the state in RocksDB and only upload the changed files of a checkpoint
+     */
+    @Nullable
+    @JsonProperty("incrementalCheckpoints")
+    private final Boolean incrementalCheckpoints;
+    @Nullable
+    @JsonProperty("miniBatch")
+    private final Boolean miniBatch;
+    /**
+     * Maximum latency of buffering a mini-batch, e.g. {@code 5 s}
+     */
+    @Nullable
+    @JsonProperty("miniBatchLatency")
+    private final String miniBatchLatency;
+    /**
+     * Maximum number of records of a mini-batch
+     */
+    @Nullable
+    @JsonProperty("miniBatchSize")
+    private final Long miniBatchSize;
+    /**
+     * Whether aggregations are split into a local and a global phase to reduce the data skew, needs mini-batch
+     */
+    @Nullable
+    @JsonProperty("localGlobalAggregation")
+    private final Boolean localGlobalAggregation;
+    /**
+     * Whether Spark re-optimizes a query at runtime and coalesces small shuffle partitions
+     */
+    @Nullable
+    @JsonProperty("adaptiveExecution")
+    private final Boolean adaptiveExecution;
+    @Nullable
+    @JsonProperty("shufflePartitions")
+    private final Integer shufflePartitions;
+
+    @JsonCreator
+    public TuningProfile(@Nullable @JsonProperty("preset") TuningPreset preset,
+                         @Nullable @JsonProperty("checkpointInterval") String checkpointInterval,
+                         @Nullable @JsonProperty("checkpointMode") CheckpointMode checkpointMode,
+                         @Nullable @JsonProperty("unalignedCheckpoints") Boolean unalignedCheckpoints,
+                         @Nullable @JsonProperty("incrementalCheckpoints") Boolean incrementalCheckpoints,
+                         @Nullable @JsonProperty("miniBatch") Boolean miniBatch,
+                         @Nullable @JsonProperty("miniBatchLatency") String miniBatchLatency,
+                         @Nullable @JsonProperty("miniBatchSize") Long miniBatchSize,
+                         @Nullable @JsonProperty("localGlobalAggregation") Boolean localGlobalAggregation,
+                         @Nullable @JsonProperty("adaptiveExecution") Boolean adaptiveExecution,
+                         @Nullable @JsonProperty("shufflePartitions") Integer shufflePartitions) {
+        TuningProfile base = preset == null ? new TuningProfile() : of(preset);
+        this.preset = preset;
+        this.checkpointInterval = checkpointInterval != null
+                ? StringUtils.trimToNull(checkpointInterval) : base.checkpointInterval;
+        this.checkpointMode = checkpointMode != null ? checkpointMode : base.checkpointMode;
+        this.unalignedCheckpoints = unalignedCheckpoints != null ? unalignedCheckpoints : base.unalignedCheckpoints;
+        this.incrementalCheckpoints = incrementalCheckpoints != null
+                ? incrementalCheckpoints : base.incrementalCheckpoints;
+        this.miniBatch = miniBatch != null ? miniBatch : base.miniBatch;
+        this.miniBatchLatency = miniBatchLatency != null
+                ? StringUtils.trimToNull(miniBatchLatency) : base.miniBatchLatency;
+        this.miniBatchSize = miniBatchSize != null ? miniBatchSize : base.miniBatchSize;
+        this.localGlobalAggregation = localGlobalAggregation != null
+                ? localGlobalAggregation : base.localGlobalAggregation;
+        this.adaptiveExecution = adaptiveExecution != null ? adaptiveExecution : base.adaptiveExecution;
+        this.shufflePartitions = shufflePartitions != null ? shufflePartitions : base.shufflePartitions;
+        validate();
+    }
+
+    private TuningProfile(String checkpointInterval, CheckpointMode checkpointMode, boolean unalignedCheckpoints,
+                          boolean incrementalCheckpoints, boolean miniBatch, @Nullable String miniBatchLatency,
+                          @Nullable Long miniBatchSize, boolean localGlobalAggregation, boolean adaptiveExecution,
+                          @Nullable Integer shufflePartitions) {
+        this.preset = null;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointMode = checkpointMode;
+        this.unalignedCheckpoints = unalignedCheckpoints;
+        this.incrementalCheckpoints = incrementalCheckpoints;
+        this.miniBatch = miniBatch;
+        this.miniBatchLatency = miniBatchLatency;
+        this.miniBatchSize = miniBatchSize;
+        this.localGlobalAggregation = localGlobalAggregation;
+        this.adaptiveExecution = adaptiveExecution;
+        this.shufflePartitions = shufflePartitions;
+    }
+
+    /**
+     * Get the values of a preset
+     *
+     * @param preset a preset
+     * @return a profile without a preset whose values are the values of the preset
+     */
+    public static TuningProfile of(TuningPreset preset) {
+        Preconditions.checkNotNull(preset, "preset is null");
+        switch (preset) {
+            case LOW_LATENCY:
+                return new TuningProfile("10 s", CheckpointMode.EXACTLY_ONCE, true, false,
+                        false, null, null, false, true, null);
+            case HIGH_THROUGHPUT:
+                return new TuningProfile("3 min", CheckpointMode.EXACTLY_ONCE, false, false,
+                        true, "5 s", 5000L, true, true, 400);
+            case LARGE_STATE:
+                return new TuningProfile("5 min", CheckpointMode.EXACTLY_ONCE, true, true,
+                        true, "2 s", 1000L, true, true, 1000);
+            default:
+                throw new IllegalArgumentException("Unsupported tuning preset: " + preset);
+        }
+    }
+
+    private void validate() {
+        Preconditions.checkArgument(checkpointInterval == null || DurationUtil.isDuration(checkpointInterval),
+                "checkpointInterval is not a duration: %s", checkpointInterval);
+        Preconditions.checkArgument(checkpointInterval == null || DurationUtil.toMillis(checkpointInterval) > 0,
+                "checkpointInterval must be positive");
+        Preconditions.checkArgument(!Boolean.TRUE.equals(unalignedCheckpoints)
+                || checkpointMode != CheckpointMode.AT_LEAST_ONCE,
+                "unaligned checkpoints need the EXACTLY_ONCE checkpoint mode");
+        Preconditions.checkArgument(miniBatchLatency == null || DurationUtil.isDuration(miniBatchLatency),
+                "miniBatchLatency is not a duration: %s", miniBatchLatency);
+        Preconditions.checkArgument(miniBatchSize == null || miniBatchSize > 0, "miniBatchSize must be positive");
+        if (Boolean.TRUE.equals(miniBatch)) {
+            // Flink rejects a mini-batch without a latency and a size
+            Preconditions.checkArgument(miniBatchLatency != null && DurationUtil.toMillis(miniBatchLatency) > 0,
+                    "miniBatchLatency must be positive if miniBatch is enabled");
+            Preconditions.checkArgument(miniBatchSize != null, "miniBatchSize is null but miniBatch is enabled");
+        }
+        Preconditions.checkArgument(!Boolean.TRUE.equals(localGlobalAggregation) || Boolean.TRUE.equals(miniBatch),
+                "localGlobalAggregation needs miniBatch");
+        Preconditions.checkArgument(shufflePartitions == null || shufflePartitions > 0,
+                "shufflePartitions must be positive");
+    }
+
+    /**
+     * Render the configuration of an engine
+     *
+     * @param engineType the computing engine
+     * @return the configuration in the order of the SET statements
+     */
+    public Map<String, String> toConfiguration(EngineType engineType) {
+        Map<String, String> configuration = new LinkedHashMap<>();
+        switch (engineType) {
+            case FLINK_SQL:
+                putIfNotNull(configuration, CHECKPOINT_INTERVAL_KEY, checkpointInterval);
+                putIfNotNull(configuration, CHECKPOINT_MODE_KEY, checkpointMode);
+                putIfNotNull(configuration, UNALIGNED_CHECKPOINTS_KEY, unalignedCheckpoints);
+                if (Boolean.TRUE.equals(incrementalCheckpoints)) {
+                    configuration.put(STATE_BACKEND_KEY, "rocksdb");
+                }
+                putIfNotNull(configuration, INCREMENTAL_CHECKPOINTS_KEY, incrementalCheckpoints);
+                putIfNotNull(configuration, MINI_BATCH_ENABLED_KEY, miniBatch);
+                if (Boolean.TRUE.equals(miniBatch)) {
+                    configuration.put(MINI_BATCH_LATENCY_KEY, miniBatchLatency);
+                    configuration.put(MINI_BATCH_SIZE_KEY, String.valueOf(miniBatchSize));
+                }
+                if (localGlobalAggregation != null) {
+                    configuration.put(AGG_PHASE_STRATEGY_KEY, localGlobalAggregation ? "TWO_PHASE" : "ONE_PHASE");
+                }
+                break;
+            case SPARK_SQL:
+                putIfNotNull(configuration, ADAPTIVE_EXECUTION_KEY, adaptiveExecution);
+                putIfNotNull(configuration, COALESCE_PARTITIONS_KEY, adaptiveExecution);
+                putIfNotNull(configuration, SHUFFLE_PARTITIONS_KEY, shufflePartitions);
+                break;
+            default:
+                throw new UnsupportedEngineException("Unsupported computing engine");
+        }
+        return configuration;
+    }
+
+    private static void putIfNotNull(Map<String, String> configuration, String key, @Nullable Object value) {
+        if (value != null) {
+            configuration.put(key, String.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package cn.guruguru.datalink.protocol;
+
+import cn.guruguru.datalink.protocol.enums.StorageLevel;
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * Caching of the Spark views which are read by more than one downstream node
+ *
+ * <p>A shared view is cached before the first INSERT statement reading it and uncached after the last one. The memory
+ * budget is the number of views cached in memory at the same time, the other views are cached on disk. Caching is
+ * opt-in, a pipeline without a view cache caches no views, and a view cache without {@code enabled} is enabled.
+ *
+ * @see cn.guruguru.datalink.parser.impl.ViewCachePlan
+ */
+@Data
+@NoArgsConstructor(force = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ViewCache implements Serializable {
+    private static final long serialVersionUID = 2931571464092178315L;
+
+    public static final StorageLevel DEFAULT_STORAGE_LEVEL = StorageLevel.MEMORY_AND_DISK;
+    public static final StorageLevel FALLBACK_STORAGE_LEVEL = StorageLevel.DISK_ONLY;
+
+    @JsonProperty("enabled")
+    private final boolean enabled;
+    @JsonProperty("storageLevel")
+    private final StorageLevel storageLevel;
+    /**
+     * Maximum number of views cached in memory at the same time, null for no limit
+     */
+    @Nullable
+    @JsonProperty("maxMemoryViews")
+    private final Integer maxMemoryViews;
+
+    @JsonCreator
+    public ViewCache(@Nullable @JsonProperty("enabled") Boolean enabled,
+                     @Nullable @JsonProperty("storageLevel") StorageLevel storageLevel,
+                     @Nullable @JsonProperty("maxMemoryViews") Integer maxMemoryViews) {
+        Preconditions.checkArgument(maxMemoryViews == null || maxMemoryViews >= 0,
+                "maxMemoryViews must not be negative");
+        this.enabled = enabled == null || enabled;
+        this.storageLevel = storageLevel == null ? DEFAULT_STORAGE_LEVEL : storageLevel;
+        this.maxMemoryViews = maxMemoryViews;
+    }
+
+    /**
+     * The default caching, shared views are cached in memory and on disk without a memory budget
+     */
+    public static ViewCache defaults() {
+        return new ViewCache(null, null, null);
+    }
+}
@@ -0,0 +1,18 @@
+package cn.guruguru.datalink.protocol.enums;
+
+/**
+ * Checkpointing mode of Flink
+ *
+ * @see <a href="https://nightlies.apache.org/flink/flink-docs-release-1.15/docs/deployment/config/#execution-checkpointing-mode">execution.checkpointing.mode</a>
+ */
+public enum CheckpointMode {
+    /**
+     * every record affects the state exactly once, the barriers of the inputs are aligned
+     */
+    EXACTLY_ONCE,
+
+    /**
+     * records may affect the state more than once after a failure, the barriers are not aligned
+     */
+    AT_LEAST_ONCE,
+}
@@ -0,0 +1,18 @@
+package cn.guruguru.datalink.protocol.enums;
+
+/**
+ * Join strategy hinted for the small side of a join
+ *
+ * @see <a href="https://spark.apache.org/docs/3.1.1/sql-ref-syntax-qry-select-hints.html#join-hints">Join Hints</a>
+ */
+public enum JoinStrategy {
+    /**
+     * the small side is sent to every task
+     */
+    BROADCAST,
+
+    /**
+     * both sides are shuffled and a hash table is built from the small side
+     */
+    SHUFFLE_HASH,
+}
@@ -0,0 +1,22 @@
+package cn.guruguru.datalink.protocol.enums;
+
+/**
+ * Join type
+ */
+public enum JoinType {
+    INNER("JOIN"),
+    LEFT("LEFT JOIN");
+
+    private final String keyword;
+
+    JoinType(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * The keyword of the join in SQL
+     */
+    public String keyword() {
+        return keyword;
+    }
+}
@@ -0,0 +1,18 @@
+package cn.guruguru.datalink.protocol.enums;
+
+/**
+ * Preset of the LogMiner tuning of an Oracle CDC node
+ *
+ * @see cn.guruguru.datalink.protocol.node.extract.cdc.LogMinerTuning
+ */
+public enum LogMinerPreset {
+    /**
+     * small mining batches and short sleeps, so that changes are read soon after they are committed
+     */
+    LOW_LATENCY,
+
+    /**
+     * large mining batches which keep up with a high redo volume at the cost of latency
+     */
+    HIGH_VOLUME,
+}
@@ -0,0 +1,31 @@
+package cn.guruguru.datalink.protocol.enums;
+
+/**
+ * Mining strategy of Debezium LogMiner, which controls how the data dictionary is read
+ *
+ * @see <a href="https://debezium.io/documentation/reference/1.9/connectors/oracle.html#oracle-property-log-mining-strategy">log.mining.strategy</a>
+ */
+public enum LogMiningStrategy {
+    /**
+     * the online data dictionary is used, which is the fastest but does not follow DDL of the captured tables
+     */
+    ONLINE_CATALOG("online_catalog"),
+
+    /**
+     * the data dictionary is written to the redo logs, which follows DDL but produces more redo
+     */
+    REDO_LOG_CATALOG("redo_log_catalog");
+
+    private final String value;
+
+    LogMiningStrategy(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Get the value of the Debezium option
+     */
+    public String value() {
+        return value;
+    }
+}
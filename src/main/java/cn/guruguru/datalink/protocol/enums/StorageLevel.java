@@ -0,0 +1,33 @@
+package cn.guruguru.datalink.protocol.enums;
+
+/**
+ * Storage level of a cached Spark table
+ *
+ * @see <a href="https://spark.apache.org/docs/3.1.1/sql-ref-syntax-aux-cache-cache-table.html">CACHE TABLE</a>
+ */
+public enum StorageLevel {
+    DISK_ONLY(false),
+    DISK_ONLY_2(false),
+    MEMORY_ONLY(true),
+    MEMORY_ONLY_2(true),
+    MEMORY_ONLY_SER(true),
+    MEMORY_ONLY_SER_2(true),
+    MEMORY_AND_DISK(true),
+    MEMORY_AND_DISK_2(true),
+    MEMORY_AND_DISK_SER(true),
+    MEMORY_AND_DISK_SER_2(true),
+    OFF_HEAP(true);
+
+    private final boolean useMemory;
+
+    StorageLevel(boolean useMemory) {
+        this.useMemory = useMemory;
+    }
+
+    /**
+     * Whether the cached blocks are held in the memory of executors
+     */
+    public boolean useMemory() {
+        return useMemory;
+    }
+}
@@ -0,0 +1,23 @@
+package cn.guruguru.datalink.protocol.enums;
+
+/**
+ * Preset of the engine tuning of a pipeline
+ *
+ * @see cn.guruguru.datalink.protocol.TuningProfile
+ */
+public enum TuningPreset {
+    /**
+     * frequent checkpoints which are not blocked by backpressure, records are not buffered
+     */
+    LOW_LATENCY,
+
+    /**
+     * infrequent checkpoints, records are buffered into mini-batches and aggregated locally first
+     */
+    HIGH_THROUGHPUT,
+
+    /**
+     * incremental checkpoints of RocksDB, so that a checkpoint only uploads the changed state
+     */
+    LARGE_STATE,
+}
@@ -13,7 +13,10 @@ import cn.guruguru.datalink.protocol.node.extract.scan.MySqlScanNode;
 import cn.guruguru.datalink.protocol.node.extract.scan.OracleScanNode;
 import cn.guruguru.datalink.protocol.node.extract.scan.PostgresqlScanNode;
 import cn.guruguru.datalink.protocol.node.load.AmoroLoadNode;
+import cn.guruguru.datalink.protocol.node.transform.JoinNode;
+import cn.guruguru.datalink.protocol.node.transform.LookupJoinNode;
 import cn.guruguru.datalink.protocol.node.transform.TransformNode;
+import cn.guruguru.datalink.protocol.node.transform.UnionNode;
 
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
@@ -49,6 +52,9 @@ import java.util.TreeMap;
         @JsonSubTypes.Type(value = GreenplumScanNode.class, name = GreenplumScanNode.TYPE),
         // transform
         @JsonSubTypes.Type(value = TransformNode.class, name = TransformNode.TYPE),
+        @JsonSubTypes.Type(value = LookupJoinNode.class, name = LookupJoinNode.TYPE),
+        @JsonSubTypes.Type(value = JoinNode.class, name = JoinNode.TYPE),
+        @JsonSubTypes.Type(value = UnionNode.class, name = UnionNode.TYPE),
         // load
         @JsonSubTypes.Type(value = AmoroLoadNode.class, name = AmoroLoadNode.TYPE),
 
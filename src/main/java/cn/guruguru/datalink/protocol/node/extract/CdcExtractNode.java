@@ -55,4 +55,15 @@ public abstract class CdcExtractNode extends ExtractNode {
         super(id, name, fields, properties);
         this.watermarkField = watermarkField;
     }
+
+    /**
+     * Generate the options of a bounded read of the current rows of the source, which replaces the changelog of the
+     * source in the BATCH mode
+     *
+     * @return options of a bounded table, or null if the source can not be read as a bounded table
+     */
+    @Nullable
+    public Map<String, String> snapshotTableOptions() {
+        return null;
+    }
 }
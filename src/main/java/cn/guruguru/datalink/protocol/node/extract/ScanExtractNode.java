@@ -1,19 +1,29 @@
 package cn.guruguru.datalink.protocol.node.extract;
 
+import cn.guruguru.datalink.parser.EngineType;
 import cn.guruguru.datalink.protocol.field.DataField;
 import cn.guruguru.datalink.protocol.node.ExtractNode;
 import cn.guruguru.datalink.protocol.node.extract.scan.*;
+import cn.guruguru.datalink.type.converter.factory.SimpleTypeConverterFactory;
+import cn.guruguru.datalink.type.definition.FlinkDataTypes;
+import com.google.common.base.Preconditions;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonSubTypes;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.utils.LogicalTypeParser;
 
 import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Batch Extract Node
@@ -35,6 +45,15 @@ import java.util.Map;
 public abstract class ScanExtractNode extends ExtractNode {
     private static final long serialVersionUID = 7031980177247931394L;
 
+    private static final Pattern DATE_PATTERN = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+    private static final Pattern TIME_PATTERN = Pattern.compile("\\d{2}:\\d{2}:\\d{2}(\\.\\d{1,9})?");
+    private static final Pattern TIMESTAMP_PATTERN =
+            Pattern.compile("\\d{4}-\\d{2}-\\d{2}[ T]\\d{2}:\\d{2}:\\d{2}(\\.\\d{1,9})?");
+
+    @Nullable
+    @JsonProperty("incremental")
+    private IncrementalScan incremental;
+
     @JsonCreator
     public ScanExtractNode(@JsonProperty("id") String id,
                            @JsonProperty("name") String name,
@@ -42,4 +61,137 @@ public abstract class ScanExtractNode extends ExtractNode {
                            @Nullable @JsonProperty("properties") Map<String, String> properties) {
         super(id, name, fields, properties);
     }
+
+    /**
+     * Get the options of the table with a projection and predicates pushed down into the query of the data source
+     *
+     * <p>The pushdown is ignored by default, the engine still evaluates the filters.
+     *
+     * @param engineType computing engine
+     * @param pushdown the projection and predicates planned for the node
+     * @return table options
+     */
+    public Map<String, String> tableOptions(EngineType engineType, @Nullable ScanPushdown pushdown) {
+        return tableOptions(engineType);
+    }
+
+    // ~ incremental scan -----------------------------------------
+
+    /**
+     * Generate the query of the high watermark in the dialect of the data source, the query returns the maximum value
+     * of the incremental column after {@code lastValue}, or {@code lastValue} itself if there is no new row
+     *
+     * <p>The query is executed before the scan and its value is the {@code upperValue} of the run, so that rows
+     * committed while the scan runs are left to the next run instead of being skipped or read twice. The query does
+     * not depend on {@code upperValue}.
+     *
+     * @return a query, or null if the scan is not incremental
+     * @see cn.guruguru.datalink.parser.result.ParseResult#getHighWatermarkSqls()
+     */
+    public abstract String genHighWatermarkSql();
+
+    /**
+     * Whether the incremental predicate is pushed into the query sent to the data source by the engine
+     *
+     * <p>If not, the parser filters the rows read from the node instead.
+     *
+     * @param engineType computing engine
+     * @return true or false
+     */
+    public boolean isIncrementalPushedDown(EngineType engineType) {
+        return false;
+    }
+
+    /**
+     * Generate the predicate of the incremental scan, values are formatted as ANSI literals which are accepted by
+     * the engines and the supported databases
+     *
+     * @param quotedColumn the incremental column quoted in the target dialect
+     * @return a predicate like {@code id > 100 AND id <= 200}, or null if the scan is not incremental or unbounded
+     */
+    public String genIncrementalPredicate(String quotedColumn) {
+        if (incremental == null || !incremental.isBounded()) {
+            return null;
+        }
+        LogicalType type = getIncrementalColumnType();
+        List<String> predicates = new ArrayList<>(2);
+        if (incremental.getLastValue() != null) {
+            predicates.add(quotedColumn + " > " + formatIncrementalValue(type, incremental.getLastValue()));
+        }
+        if (incremental.getUpperValue() != null) {
+            predicates.add(quotedColumn + " <= " + formatIncrementalValue(type, incremental.getUpperValue()));
+        }
+        return String.join(" AND ", predicates);
+    }
+
+    /**
+     * Format the {@code lastValue} of the incremental scan as an ANSI literal
+     *
+     * @return a literal, or null if the scan is not incremental or has no {@code lastValue}
+     */
+    protected String formatLastValue() {
+        if (incremental == null || incremental.getLastValue() == null) {
+            return null;
+        }
+        return formatIncrementalValue(getIncrementalColumnType(), incremental.getLastValue());
+    }
+
+    /**
+     * Get the Flink type of the incremental column, which classifies the column for all engines
+     *
+     * @return a numeric or date and time type
+     */
+    protected LogicalType getIncrementalColumnType() {
+        DataField field = getIncrementalField();
+        LogicalType type = LogicalTypeParser.parse(SimpleTypeConverterFactory.getCachedInstance(EngineType.FLINK_SQL)
+                .toEngineType(getNodeType(), field.getDataType()));
+        FlinkDataTypes dataTypes = new FlinkDataTypes();
+        Preconditions.checkArgument(dataTypes.isNumericType(type) || dataTypes.isDatetimeType(type),
+                "incremental column %s must be numeric or date and time, but it is %s",
+                field.getName(), field.getDataType());
+        return type;
+    }
+
+    /**
+     * Get the field of the incremental column
+     *
+     * @return a field
+     */
+    @JsonIgnore
+    public DataField getIncrementalField() {
+        Preconditions.checkNotNull(incremental, "incremental is null");
+        Preconditions.checkNotNull(getFields(), "fields is null");
+        String column = incremental.getColumn();
+        return getFields().stream()
+                .filter(f -> column.equalsIgnoreCase(f.getName()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("incremental column is not a field: " + column));
+    }
+
+    /**
+     * Format a value of the incremental column as a literal, the value is validated to avoid SQL injection
+     */
+    private static String formatIncrementalValue(LogicalType type, String value) {
+        if (new FlinkDataTypes().isNumericType(type)) {
+            try {
+                return new BigDecimal(value).toPlainString();
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("illegal value of a numeric incremental column: " + value, e);
+            }
+        }
+        switch (type.getTypeRoot()) {
+            case DATE:
+                Preconditions.checkArgument(DATE_PATTERN.matcher(value).matches(),
+                        "illegal value of a date incremental column: %s", value);
+                return "DATE '" + value + "'";
+            case TIME_WITHOUT_TIME_ZONE:
+                Preconditions.checkArgument(TIME_PATTERN.matcher(value).matches(),
+                        "illegal value of a time incremental column: %s", value);
+                return "TIME '" + value + "'";
+            default:
+                Preconditions.checkArgument(TIMESTAMP_PATTERN.matcher(value).matches(),
+                        "illegal value of a timestamp incremental column: %s", value);
+                return "TIMESTAMP '" + value.replace('T', ' ') + "'";
+        }
+    }
 }
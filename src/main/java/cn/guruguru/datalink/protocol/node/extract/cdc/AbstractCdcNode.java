@@ -77,4 +77,11 @@ public abstract class AbstractCdcNode extends CdcExtractNode implements Serializ
     public List<DataField> getPartitionFields() {
         return super.getPartitionFields();
     }
+
+    /**
+     * Whether a database, schema or table name is an identifier rather than a regular expression
+     */
+    protected static boolean isIdentifier(String name) {
+        return name.matches("[\\w$]+");
+    }
 }
@@ -0,0 +1,214 @@
+package cn.guruguru.datalink.protocol.node.extract.cdc;
+
+import cn.guruguru.datalink.protocol.enums.LogMinerPreset;
+import cn.guruguru.datalink.protocol.enums.LogMiningStrategy;
+import cn.guruguru.datalink.protocol.field.DataField;
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * LogMiner tuning of an Oracle CDC node
+ *
+ * <p>A tuning starts from a {@link LogMinerPreset} and every value which is set overrides the value of the preset,
+ * values which are neither set nor preset are left to the defaults of Debezium. LOB columns are only emitted by
+ * Debezium if LOB handling is enabled, so it is enabled if the node has CLOB or BLOB fields, and disabling it for
+ * such a node is refused.
+ *
+ * @see OracleCdcNode
+ * @see <a href="https://debezium.io/documentation/reference/1.9/connectors/oracle.html#oracle-connector-properties">Oracle Connector Properties</a>
+ */
+@Data
+@NoArgsConstructor(force = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LogMinerTuning implements Serializable {
+    private static final long serialVersionUID = 3076420587186327614L;
+
+    public static final String DEBEZIUM_PREFIX = "debezium.";
+
+    @Nullable
+    @JsonProperty("preset")
+    private final LogMinerPreset preset;
+    @Nullable
+    @JsonProperty("miningStrategy")
+    private final LogMiningStrategy miningStrategy;
+    /**
+     * Whether LogMiner adds the archived logs automatically, not supported since Oracle 19c
+     */
+    @Nullable
+    @JsonProperty("continuousMining")
+    private final Boolean continuousMining;
+    /**
+     * Minimum, initial and maximum number of SCNs mined by a LogMiner session
+     */
+    @Nullable
+    @JsonProperty("batchSizeMin")
+    private final Integer batchSizeMin;
+    @Nullable
+    @JsonProperty("batchSizeDefault")
+    private final Integer batchSizeDefault;
+    @Nullable
+    @JsonProperty("batchSizeMax")
+    private final Integer batchSizeMax;
+    /**
+     * Minimum, initial and maximum milliseconds to sleep between two LogMiner sessions, and the step of adjusting it
+     */
+    @Nullable
+    @JsonProperty("sleepTimeMinMs")
+    private final Long sleepTimeMinMs;
+    @Nullable
+    @JsonProperty("sleepTimeDefaultMs")
+    private final Long sleepTimeDefaultMs;
+    @Nullable
+    @JsonProperty("sleepTimeMaxMs")
+    private final Long sleepTimeMaxMs;
+    @Nullable
+    @JsonProperty("sleepTimeIncrementMs")
+    private final Long sleepTimeIncrementMs;
+    /**
+     * Whether to emit the values of LOB columns, null to enable it if the node has LOB fields
+     */
+    @Nullable
+    @JsonProperty("lobEnabled")
+    private final Boolean lobEnabled;
+
+    @JsonCreator
+    public LogMinerTuning(@Nullable @JsonProperty("preset") LogMinerPreset preset,
+                          @Nullable @JsonProperty("miningStrategy") LogMiningStrategy miningStrategy,
+                          @Nullable @JsonProperty("continuousMining") Boolean continuousMining,
+                          @Nullable @JsonProperty("batchSizeMin") Integer batchSizeMin,
+                          @Nullable @JsonProperty("batchSizeDefault") Integer batchSizeDefault,
+                          @Nullable @JsonProperty("batchSizeMax") Integer batchSizeMax,
+                          @Nullable @JsonProperty("sleepTimeMinMs") Long sleepTimeMinMs,
+                          @Nullable @JsonProperty("sleepTimeDefaultMs") Long sleepTimeDefaultMs,
+                          @Nullable @JsonProperty("sleepTimeMaxMs") Long sleepTimeMaxMs,
+                          @Nullable @JsonProperty("sleepTimeIncrementMs") Long sleepTimeIncrementMs,
+                          @Nullable @JsonProperty("lobEnabled") Boolean lobEnabled) {
+        LogMinerTuning base = preset == null ? new LogMinerTuning() : of(preset);
+        this.preset = preset;
+        this.miningStrategy = miningStrategy != null ? miningStrategy : base.miningStrategy;
+        this.continuousMining = continuousMining != null ? continuousMining : base.continuousMining;
+        this.batchSizeMin = batchSizeMin != null ? batchSizeMin : base.batchSizeMin;
+        this.batchSizeDefault = batchSizeDefault != null ? batchSizeDefault : base.batchSizeDefault;
+        this.batchSizeMax = batchSizeMax != null ? batchSizeMax : base.batchSizeMax;
+        this.sleepTimeMinMs = sleepTimeMinMs != null ? sleepTimeMinMs : base.sleepTimeMinMs;
+        this.sleepTimeDefaultMs = sleepTimeDefaultMs != null ? sleepTimeDefaultMs : base.sleepTimeDefaultMs;
+        this.sleepTimeMaxMs = sleepTimeMaxMs != null ? sleepTimeMaxMs : base.sleepTimeMaxMs;
+        this.sleepTimeIncrementMs = sleepTimeIncrementMs != null ? sleepTimeIncrementMs : base.sleepTimeIncrementMs;
+        this.lobEnabled = lobEnabled;
+        checkOrdered("batchSize", this.batchSizeMin, this.batchSizeDefault, this.batchSizeMax);
+        checkOrdered("sleepTime", this.sleepTimeMinMs, this.sleepTimeDefaultMs, this.sleepTimeMaxMs);
+        Preconditions.checkArgument(this.batchSizeMin == null || this.batchSizeMin > 0,
+                "batchSizeMin must be positive");
+        Preconditions.checkArgument(this.sleepTimeMinMs == null || this.sleepTimeMinMs >= 0,
+                "sleepTimeMinMs must not be negative");
+        Preconditions.checkArgument(this.sleepTimeIncrementMs == null || this.sleepTimeIncrementMs > 0,
+                "sleepTimeIncrementMs must be positive");
+    }
+
+    private LogMinerTuning(LogMiningStrategy miningStrategy, int batchSizeMin, int batchSizeDefault,
+                           int batchSizeMax, long sleepTimeMinMs, long sleepTimeDefaultMs, long sleepTimeMaxMs,
+                           long sleepTimeIncrementMs) {
+        this.preset = null;
+        this.miningStrategy = miningStrategy;
+        this.continuousMining = null;
+        this.batchSizeMin = batchSizeMin;
+        this.batchSizeDefault = batchSizeDefault;
+        this.batchSizeMax = batchSizeMax;
+        this.sleepTimeMinMs = sleepTimeMinMs;
+        this.sleepTimeDefaultMs = sleepTimeDefaultMs;
+        this.sleepTimeMaxMs = sleepTimeMaxMs;
+        this.sleepTimeIncrementMs = sleepTimeIncrementMs;
+        this.lobEnabled = null;
+    }
+
+    /**
+     * Get the values of a preset
+     *
+     * @param preset a preset
+     * @return a tuning without a preset whose values are the values of the preset
+     */
+    public static LogMinerTuning of(LogMinerPreset preset) {
+        Preconditions.checkNotNull(preset, "preset is null");
+        switch (preset) {
+            case LOW_LATENCY:
+                return new LogMinerTuning(LogMiningStrategy.ONLINE_CATALOG,
+                        1_000, 10_000, 50_000, 0, 200, 1_000, 200);
+            case HIGH_VOLUME:
+                return new LogMinerTuning(LogMiningStrategy.ONLINE_CATALOG,
+                        10_000, 100_000, 500_000, 0, 1_000, 3_000, 200);
+            default:
+                throw new IllegalArgumentException("Unsupported LogMiner preset: " + preset);
+        }
+    }
+
+    private static <T extends Comparable<T>> void checkOrdered(String name, T min, T value, T max) {
+        Preconditions.checkArgument(min == null || value == null || min.compareTo(value) <= 0,
+                "%sMin is greater than %sDefault", name, name);
+        Preconditions.checkArgument(value == null || max == null || value.compareTo(max) <= 0,
+                "%sDefault is greater than %sMax", name, name);
+        Preconditions.checkArgument(min == null || max == null || min.compareTo(max) <= 0,
+                "%sMin is greater than %sMax", name, name);
+    }
+
+    /**
+     * Check the tuning against the fields of a node
+     *
+     * @param fields the fields of an Oracle CDC node
+     */
+    public void validate(List<DataField> fields) {
+        List<String> lobFields = getLobFields(fields);
+        Preconditions.checkArgument(!Boolean.FALSE.equals(lobEnabled) || lobFields.isEmpty(),
+                "LOB handling can not be disabled for the LOB fields %s", lobFields);
+    }
+
+    /**
+     * Render the Debezium options of the Flink connector
+     *
+     * @param fields the fields of an Oracle CDC node
+     * @return options prefixed by {@value #DEBEZIUM_PREFIX}
+     */
+    public Map<String, String> tableOptions(List<DataField> fields) {
+        validate(fields);
+        Map<String, String> options = new LinkedHashMap<>();
+        if (miningStrategy != null) {
+            options.put(DEBEZIUM_PREFIX + "log.mining.strategy", miningStrategy.value());
+        }
+        putIfNotNull(options, "log.mining.continuous.mine", continuousMining);
+        putIfNotNull(options, "log.mining.batch.size.min", batchSizeMin);
+        putIfNotNull(options, "log.mining.batch.size.default", batchSizeDefault);
+        putIfNotNull(options, "log.mining.batch.size.max", batchSizeMax);
+        putIfNotNull(options, "log.mining.sleep.time.min.ms", sleepTimeMinMs);
+        putIfNotNull(options, "log.mining.sleep.time.default.ms", sleepTimeDefaultMs);
+        putIfNotNull(options, "log.mining.sleep.time.max.ms", sleepTimeMaxMs);
+        putIfNotNull(options, "log.mining.sleep.time.increment.ms", sleepTimeIncrementMs);
+        if (lobEnabled != null || !getLobFields(fields).isEmpty()) {
+            putIfNotNull(options, "lob.enabled", lobEnabled == null || lobEnabled);
+        }
+        return options;
+    }
+
+    private static void putIfNotNull(Map<String, String> options, String key, @Nullable Object value) {
+        if (value != null) {
+            options.put(DEBEZIUM_PREFIX + key, String.valueOf(value));
+        }
+    }
+
+    private static List<String> getLobFields(List<DataField> fields) {
+        return fields.stream()
+                .filter(field -> field.getDataType() != null && field.getDataType().getType() != null)
+                .filter(field -> field.getDataType().getType().toUpperCase().contains("LOB")) // CLOB, NCLOB, BLOB
+                .map(DataField::getName)
+                .collect(Collectors.toList());
+    }
+}
@@ -2,6 +2,8 @@ package cn.guruguru.datalink.protocol.node.extract.cdc;
 
 import cn.guruguru.datalink.datasource.NodeDataSource;
 import cn.guruguru.datalink.datasource.DataSourceType;
+import cn.guruguru.datalink.exception.UnsupportedEngineException;
+import cn.guruguru.datalink.parser.EngineType;
 import cn.guruguru.datalink.protocol.field.DataType;
 import cn.guruguru.datalink.protocol.field.DataField;
 import cn.guruguru.datalink.protocol.field.WatermarkField;
@@ -25,6 +27,7 @@ import java.util.Map;
  * Mongodb extract node
  *
  * @see org.apache.inlong.sort.protocol.node.extract.MongoExtractNode
+ * @see <a href="https://ververica.github.io/flink-cdc-connectors/release-2.3/content/connectors/mongodb-cdc.html">MongoDB CDC Connector</a>
  */
 @EqualsAndHashCode(callSuper = true)
 @JsonTypeName(MongoCdcNode.TYPE)
@@ -54,6 +57,23 @@ public class MongoCdcNode extends CdcExtractNode implements Serializable {
     private String database;
     @JsonProperty("collection")
     private String collection;
+    @Nullable
+    @JsonProperty("tuning")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MongoCdcTuning tuning;
+
+    public MongoCdcNode(String id,
+                        String name,
+                        List<DataField> fields,
+                        Map<String, String> properties,
+                        @Nullable WatermarkField waterMarkField,
+                        @Nonnull String collection,
+                        String hostname,
+                        String username,
+                        String password,
+                        String database) {
+        this(id, name, fields, properties, waterMarkField, collection, hostname, username, password, database, null);
+    }
 
     @JsonCreator
     public MongoCdcNode(@JsonProperty("id") String id,
@@ -65,11 +85,12 @@ public class MongoCdcNode extends CdcExtractNode implements Serializable {
                         @JsonProperty("hostname") String hostname,
                         @JsonProperty("username") String username,
                         @JsonProperty("password") String password,
-                        @JsonProperty("database") String database) {
+                        @JsonProperty("database") String database,
+                        @Nullable @JsonProperty("tuning") MongoCdcTuning tuning) {
         super(id, name, fields, properties, waterMarkField);
         if (fields.stream().noneMatch(m -> m.getName().equals(ID))) {
             List<DataField> allFields = new ArrayList<>(fields);
-            allFields.add(new DataField(ID, new DataType())); // StringFormatInfo
+            allFields.add(new DataField(ID, new DataType("STRING"))); // StringFormatInfo
             this.setFields(allFields);
         }
         this.collection = Preconditions.checkNotNull(collection, "collection is null");
@@ -78,10 +99,34 @@ public class MongoCdcNode extends CdcExtractNode implements Serializable {
         this.password = Preconditions.checkNotNull(password, "password is null");
         this.database = Preconditions.checkNotNull(database, "database is null");
         this.primaryKey = ID;
+        this.tuning = tuning;
     }
 
     @Override
     public String genTableName() {
-        return null;
+        return quoteIdentifier(collection);
+    }
+
+    @Override
+    public String getPrimaryKey() {
+        return primaryKey;
+    }
+
+    @Override
+    public Map<String, String> tableOptions(EngineType engineType) {
+        if (engineType != EngineType.FLINK_SQL) {
+            throw new UnsupportedEngineException("Unsupported computing engine");
+        }
+        Map<String, String> options = super.tableOptions(engineType);
+        options.put("connector", "mongodb-cdc");
+        options.put("hosts", hosts);
+        options.put("username", username);
+        options.put("password", password);
+        options.put("database", database);
+        options.put("collection", collection);
+        if (tuning != null) {
+            options.putAll(tuning.tableOptions());
+        }
+        return options;
     }
 }
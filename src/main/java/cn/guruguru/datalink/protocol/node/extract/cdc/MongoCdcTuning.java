@@ -0,0 +1,116 @@
+package cn.guruguru.datalink.protocol.node.extract.cdc;
+
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Throughput tuning of a MongoDB CDC node
+ *
+ * <p>The existing documents are copied by a single cursor unless the incremental snapshot is enabled, which splits
+ * the collection into chunks read in parallel and then switches to the change stream without a lock. Values which
+ * are not set are left to the defaults of the connector.
+ *
+ * @see MongoCdcNode
+ * @see <a href="https://ververica.github.io/flink-cdc-connectors/release-2.3/content/connectors/mongodb-cdc.html#connector-options">MongoDB CDC Connector Options</a>
+ */
+@Data
+@NoArgsConstructor(force = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MongoCdcTuning implements Serializable {
+    private static final long serialVersionUID = -5410369127738256013L;
+
+    /**
+     * Documents fetched by a cursor batch
+     */
+    @Nullable
+    @JsonProperty("batchSize")
+    private final Integer batchSize;
+    /**
+     * Maximum change stream documents of a poll
+     */
+    @Nullable
+    @JsonProperty("pollMaxBatchSize")
+    private final Integer pollMaxBatchSize;
+    /**
+     * Milliseconds to wait before checking the change stream for new documents
+     */
+    @Nullable
+    @JsonProperty("pollAwaitTimeMs")
+    private final Integer pollAwaitTimeMs;
+    /**
+     * Maximum documents buffered while the existing documents are copied
+     */
+    @Nullable
+    @JsonProperty("copyExistingQueueSize")
+    private final Integer copyExistingQueueSize;
+    /**
+     * Whether the existing documents are copied in parallel chunks
+     */
+    @Nullable
+    @JsonProperty("incrementalSnapshot")
+    private final Boolean incrementalSnapshot;
+    /**
+     * Megabytes of a snapshot chunk
+     */
+    @Nullable
+    @JsonProperty("chunkSizeMb")
+    private final Integer chunkSizeMb;
+
+    @JsonCreator
+    public MongoCdcTuning(@Nullable @JsonProperty("batchSize") Integer batchSize,
+                          @Nullable @JsonProperty("pollMaxBatchSize") Integer pollMaxBatchSize,
+                          @Nullable @JsonProperty("pollAwaitTimeMs") Integer pollAwaitTimeMs,
+                          @Nullable @JsonProperty("copyExistingQueueSize") Integer copyExistingQueueSize,
+                          @Nullable @JsonProperty("incrementalSnapshot") Boolean incrementalSnapshot,
+                          @Nullable @JsonProperty("chunkSizeMb") Integer chunkSizeMb) {
+        Preconditions.checkArgument(batchSize == null || batchSize > 0, "batchSize must be positive");
+        Preconditions.checkArgument(pollMaxBatchSize == null || pollMaxBatchSize > 0,
+                "pollMaxBatchSize must be positive");
+        Preconditions.checkArgument(pollAwaitTimeMs == null || pollAwaitTimeMs > 0,
+                "pollAwaitTimeMs must be positive");
+        Preconditions.checkArgument(copyExistingQueueSize == null || copyExistingQueueSize > 0,
+                "copyExistingQueueSize must be positive");
+        Preconditions.checkArgument(copyExistingQueueSize == null || batchSize == null
+                || copyExistingQueueSize >= batchSize, "copyExistingQueueSize is less than batchSize");
+        Preconditions.checkArgument(chunkSizeMb == null || chunkSizeMb > 0, "chunkSizeMb must be positive");
+        Preconditions.checkArgument(chunkSizeMb == null || Boolean.TRUE.equals(incrementalSnapshot),
+                "chunkSizeMb needs incrementalSnapshot");
+        this.batchSize = batchSize;
+        this.pollMaxBatchSize = pollMaxBatchSize;
+        this.pollAwaitTimeMs = pollAwaitTimeMs;
+        this.copyExistingQueueSize = copyExistingQueueSize;
+        this.incrementalSnapshot = incrementalSnapshot;
+        this.chunkSizeMb = chunkSizeMb;
+    }
+
+    /**
+     * Render the options of the Flink connector
+     *
+     * @return options of the connector
+     */
+    public Map<String, String> tableOptions() {
+        Map<String, String> options = new LinkedHashMap<>();
+        putIfNotNull(options, "batch.size", batchSize);
+        putIfNotNull(options, "poll.max.batch.size", pollMaxBatchSize);
+        putIfNotNull(options, "poll.await.time.ms", pollAwaitTimeMs);
+        putIfNotNull(options, "copy.existing.queue.size", copyExistingQueueSize);
+        putIfNotNull(options, "scan.incremental.snapshot.enabled", incrementalSnapshot);
+        putIfNotNull(options, "scan.incremental.snapshot.chunk.size.mb", chunkSizeMb);
+        return options;
+    }
+
+    private static void putIfNotNull(Map<String, String> options, String key, @Nullable Object value) {
+        if (value != null) {
+            options.put(key, String.valueOf(value));
+        }
+    }
+}
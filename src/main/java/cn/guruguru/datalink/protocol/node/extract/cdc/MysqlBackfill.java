@@ -0,0 +1,100 @@
+package cn.guruguru.datalink.protocol.node.extract.cdc;
+
+import cn.guruguru.datalink.protocol.node.extract.scan.JdbcFetchTuning;
+import cn.guruguru.datalink.protocol.node.extract.scan.JdbcScanPartition;
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Backfill of a MySQL CDC node, the existing rows are read by a partitioned JDBC scan and then the binlog is read from
+ * the offset recorded when the scan started
+ *
+ * <p>The offset is the {@code File}, {@code Position} and {@code Executed_Gtid_Set} returned by
+ * {@value #OFFSET_SQL} right before the job is submitted. Changes made while the table is scanned are read again from
+ * the binlog, which is idempotent for a sink with the same primary key, so the switch has no gap. The offset may be
+ * absent while the pipeline is edited, but not when it is parsed. In the BATCH mode, the existing rows are read by the
+ * same scan and the offset is not used.
+ *
+ * @see MysqlCdcNode
+ * @see <a href="https://ververica.github.io/flink-cdc-connectors/release-2.3/content/connectors/mysql-cdc.html#startup-reading-position">Startup Reading Position</a>
+ */
+@Data
+@NoArgsConstructor(force = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MysqlBackfill implements Serializable {
+    private static final long serialVersionUID = 6052316884917450726L;
+
+    public static final String OFFSET_SQL = "SHOW MASTER STATUS";
+
+    @JsonProperty("partition")
+    private final JdbcScanPartition partition;
+    @Nullable
+    @JsonProperty("fetchTuning")
+    private final JdbcFetchTuning fetchTuning;
+    @Nullable
+    @JsonProperty("binlogFile")
+    private final String binlogFile;
+    @Nullable
+    @JsonProperty("binlogPosition")
+    private final Long binlogPosition;
+    /**
+     * Takes precedence over the binlog file and position if the server enables GTIDs
+     */
+    @Nullable
+    @JsonProperty("gtidSet")
+    private final String gtidSet;
+
+    @JsonCreator
+    public MysqlBackfill(@JsonProperty("partition") JdbcScanPartition partition,
+                         @Nullable @JsonProperty("fetchTuning") JdbcFetchTuning fetchTuning,
+                         @Nullable @JsonProperty("binlogFile") String binlogFile,
+                         @Nullable @JsonProperty("binlogPosition") Long binlogPosition,
+                         @Nullable @JsonProperty("gtidSet") String gtidSet) {
+        this.partition = Preconditions.checkNotNull(partition, "partition is null");
+        this.fetchTuning = fetchTuning;
+        this.binlogFile = StringUtils.trimToNull(binlogFile);
+        this.binlogPosition = binlogPosition;
+        this.gtidSet = StringUtils.trimToNull(gtidSet);
+        Preconditions.checkArgument((this.binlogFile == null) == (binlogPosition == null),
+                "binlogFile and binlogPosition must be both set or both absent");
+        Preconditions.checkArgument(binlogPosition == null || binlogPosition >= 0,
+                "binlogPosition must not be negative");
+    }
+
+    /**
+     * Whether the offset of the binlog is recorded
+     */
+    @JsonIgnore
+    public boolean isOffsetRecorded() {
+        return binlogFile != null || gtidSet != null;
+    }
+
+    /**
+     * Render the startup options of the MySQL CDC connector
+     *
+     * @return options starting the binlog reading from the recorded offset
+     */
+    public Map<String, String> startupOptions() {
+        Preconditions.checkState(isOffsetRecorded(), "the binlog offset of the backfill is not recorded");
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("scan.startup.mode", "specific-offset");
+        if (gtidSet != null) {
+            options.put("scan.startup.specific-offset.gtid-set", gtidSet);
+        } else {
+            options.put("scan.startup.specific-offset.file", binlogFile);
+            options.put("scan.startup.specific-offset.pos", String.valueOf(binlogPosition));
+        }
+        return options;
+    }
+}
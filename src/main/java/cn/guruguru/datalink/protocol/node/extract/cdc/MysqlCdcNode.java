@@ -7,12 +7,18 @@ import cn.guruguru.datalink.parser.EngineType;
 import cn.guruguru.datalink.protocol.Metadata;
 import cn.guruguru.datalink.protocol.enums.MetaKey;
 import cn.guruguru.datalink.protocol.field.DataField;
+import cn.guruguru.datalink.protocol.field.DataType;
 import cn.guruguru.datalink.protocol.field.WatermarkField;
+import cn.guruguru.datalink.protocol.node.extract.scan.JdbcFetchTuning;
+import cn.guruguru.datalink.protocol.node.extract.scan.MySqlScanNode;
 import com.google.common.base.Preconditions;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonTypeName;
 
@@ -38,13 +44,64 @@ import java.util.Set;
 public class MysqlCdcNode extends AbstractCdcNode implements Metadata, Serializable {
     private static final long serialVersionUID = -3913588463775567102L;
     public static final String TYPE = "MysqlCdc";
+    public static final int DEFAULT_PORT = 3306;
 
+    /**
+     * The server id of the node, or the first server id of its range if the snapshot is read in parallel
+     */
     @JsonProperty("serverId")
     private Integer serverId;
     @JsonProperty("serverTimeZone")
     private String serverTimeZone;
     @JsonProperty("incSnapshotChunkKeyColumn")
     private String incSnapshotChunkKeyColumn;
+    @Nullable
+    @JsonProperty("snapshotTuning")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MysqlSnapshotTuning snapshotTuning;
+    @Nullable
+    @JsonProperty("backfill")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MysqlBackfill backfill;
+
+    public MysqlCdcNode(String id,
+                        String name,
+                        List<DataField> fields,
+                        @Nullable Map<String, String> properties,
+                        @Nullable WatermarkField watermarkField,
+                        @Nonnull String hostname,
+                        @Nullable Integer port,
+                        @Nonnull String username,
+                        @Nonnull String password,
+                        @Nonnull String databaseName,
+                        @Nonnull String tableName,
+                        @Nullable String primaryKey,
+                        @Nullable Integer serverId,
+                        @Nullable String serverTimeZone,
+                        @Nullable String incSnapshotChunkKeyColumn) {
+        this(id, name, fields, properties, watermarkField, hostname, port, username, password, databaseName, tableName,
+                primaryKey, serverId, serverTimeZone, incSnapshotChunkKeyColumn, null, null);
+    }
+
+    public MysqlCdcNode(String id,
+                        String name,
+                        List<DataField> fields,
+                        @Nullable Map<String, String> properties,
+                        @Nullable WatermarkField watermarkField,
+                        @Nonnull String hostname,
+                        @Nullable Integer port,
+                        @Nonnull String username,
+                        @Nonnull String password,
+                        @Nonnull String databaseName,
+                        @Nonnull String tableName,
+                        @Nullable String primaryKey,
+                        @Nullable Integer serverId,
+                        @Nullable String serverTimeZone,
+                        @Nullable String incSnapshotChunkKeyColumn,
+                        @Nullable MysqlSnapshotTuning snapshotTuning) {
+        this(id, name, fields, properties, watermarkField, hostname, port, username, password, databaseName, tableName,
+                primaryKey, serverId, serverTimeZone, incSnapshotChunkKeyColumn, snapshotTuning, null);
+    }
 
     @JsonCreator
     public MysqlCdcNode(@JsonProperty("id") String id,
@@ -61,12 +118,28 @@ public class MysqlCdcNode extends AbstractCdcNode implements Metadata, Serializa
                         @Nullable @JsonProperty("primaryKey") String primaryKey,
                         @Nullable @JsonProperty("serverId") Integer serverId,
                         @Nullable @JsonProperty("serverTimeZone") String serverTimeZone,
-                        @Nullable @JsonProperty("incSnapshotChunkKeyColumn") String incSnapshotChunkKeyColumn) {
+                        @Nullable @JsonProperty("incSnapshotChunkKeyColumn") String incSnapshotChunkKeyColumn,
+                        @Nullable @JsonProperty("snapshotTuning") MysqlSnapshotTuning snapshotTuning,
+                        @Nullable @JsonProperty("backfill") MysqlBackfill backfill) {
         super(id, name, fields, properties, watermarkField,
                 hostname, port, username, password, databaseName, tableName, primaryKey);
         this.serverId = serverId;
         this.serverTimeZone = serverTimeZone;
         this.incSnapshotChunkKeyColumn = incSnapshotChunkKeyColumn;
+        this.snapshotTuning = snapshotTuning;
+        Preconditions.checkArgument(backfill == null || isIdentifier(databaseName) && isIdentifier(tableName),
+                "a backfill can not read the tables matched by a regular expression");
+        this.backfill = backfill;
+    }
+
+    /**
+     * Get the number of server ids of the node
+     *
+     * @return the parallelism of the snapshot phase, or 1 if the node is not tuned
+     */
+    @JsonIgnore
+    public int getServerIdCount() {
+        return snapshotTuning == null ? 1 : snapshotTuning.getParallelism();
     }
 
     @Override
@@ -127,6 +200,51 @@ public class MysqlCdcNode extends AbstractCdcNode implements Metadata, Serializa
                     "Primary key and snapshot chunk key column cannot both be empty");
             options.put("scan.incremental.snapshot.chunk.key-column", incSnapshotChunkKeyColumn);
         }
+        if (snapshotTuning != null && getPrimaryKey() != null) {
+            int chunkSize = snapshotTuning.computeChunkSize(getNodeType(), getChunkKeyType());
+            options.put("scan.incremental.snapshot.chunk.size", String.valueOf(chunkSize));
+            options.put("chunk-meta.group.size", String.valueOf(snapshotTuning.computeChunkMetaGroupSize(chunkSize)));
+        }
+        if (backfill != null) {
+            // the existing rows are read by the backfill
+            options.putAll(backfill.startupOptions());
+        }
         return options;
     }
+
+    /**
+     * Read the table by a MySQL scan, unless the database or the table name is a regular expression. The scan is
+     * partitioned and tuned by the backfill if the node has one, and it fetches rows by a cursor otherwise
+     */
+    @Nullable
+    @Override
+    public Map<String, String> snapshotTableOptions() {
+        if (!isIdentifier(getDatabaseName()) || !isIdentifier(getTableName())) {
+            return null;
+        }
+        String url = String.format("jdbc:mysql://%s:%d/%s",
+                getHostname(), getPort() == null ? DEFAULT_PORT : getPort(), getDatabaseName());
+        MySqlScanNode scanNode = new MySqlScanNode(getId(), getName(), getFields(), null,
+                url, getUsername(), getPassword(), getTableName(), getPrimaryKey(),
+                backfill == null ? null : backfill.getPartition());
+        JdbcFetchTuning fetchTuning = backfill == null ? null : backfill.getFetchTuning();
+        scanNode.setFetchTuning(fetchTuning != null ? fetchTuning : new JdbcFetchTuning(null, null, null, null));
+        return scanNode.tableOptions(EngineType.FLINK_SQL);
+    }
+
+    /**
+     * Get the data type of the key splitting the snapshot chunks, the chunk key column or the first primary key column
+     */
+    @Nullable
+    private DataType getChunkKeyType() {
+        String chunkKey = incSnapshotChunkKeyColumn != null
+                ? incSnapshotChunkKeyColumn
+                : getPrimaryKey().split(",")[0];
+        String name = StringUtils.strip(chunkKey.trim(), "`");
+        return getFields().stream()
+                .filter(field -> name.equalsIgnoreCase(field.getName()))
+                .map(DataField::getDataType)
+                .findFirst()
+                .orElse(null);
+    }
 }
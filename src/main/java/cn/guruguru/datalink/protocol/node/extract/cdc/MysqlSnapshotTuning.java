@@ -0,0 +1,129 @@
+package cn.guruguru.datalink.protocol.node.extract.cdc;
+
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.protocol.field.DataType;
+import cn.guruguru.datalink.type.converter.factory.SimpleTypeConverterFactory;
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeFamily;
+import org.apache.flink.table.types.logical.utils.LogicalTypeParser;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * Parallel incremental snapshot tuning of a MySQL CDC node
+ *
+ * <p>Every reader of the snapshot phase connects to MySQL as a replica, so a node reading with a parallelism of N
+ * needs a range of N server ids. The ranges of the MySQL CDC nodes of a pipeline are allocated so that they do not
+ * overlap. Snapshot chunks are chosen from the type of the chunk key and the estimated row count: a numeric key is
+ * split evenly by its minimum and maximum values, while any other key is split by one query per chunk, so its chunks
+ * are kept smaller to bound the memory of buffering a chunk.
+ *
+ * @see MysqlCdcNode
+ * @see <a href="https://ververica.github.io/flink-cdc-connectors/release-2.3/content/connectors/mysql-cdc.html#incremental-snapshot-reading">Incremental Snapshot Reading</a>
+ */
+@Data
+@NoArgsConstructor(force = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MysqlSnapshotTuning implements Serializable {
+    private static final long serialVersionUID = -2276108355364183920L;
+
+    public static final int DEFAULT_CHUNK_SIZE = 8096;
+    public static final int DEFAULT_CHUNK_META_GROUP_SIZE = 1000;
+    public static final int MAX_NUMERIC_CHUNK_SIZE = 65_536;
+    public static final int MAX_CHUNK_SIZE = 16_384;
+    public static final int MAX_CHUNK_META_GROUP_SIZE = 10_000;
+
+    // chunks per reader, so that the readers are kept busy until the end of the snapshot
+    private static final int CHUNKS_PER_READER = 1000;
+
+    /**
+     * Number of readers of the snapshot phase, which is also the size of the server id range of the node
+     */
+    @JsonProperty("parallelism")
+    private final int parallelism;
+    @Nullable
+    @JsonProperty("estimatedRowCount")
+    private final Long estimatedRowCount;
+    /**
+     * Rows of a chunk, null to choose it from the chunk key type and the estimated row count
+     */
+    @Nullable
+    @JsonProperty("chunkSize")
+    private final Integer chunkSize;
+    /**
+     * Chunks of a meta group sent to the readers, null to choose it from the number of chunks
+     */
+    @Nullable
+    @JsonProperty("chunkMetaGroupSize")
+    private final Integer chunkMetaGroupSize;
+
+    @JsonCreator
+    public MysqlSnapshotTuning(@Nullable @JsonProperty("parallelism") Integer parallelism,
+                               @Nullable @JsonProperty("estimatedRowCount") Long estimatedRowCount,
+                               @Nullable @JsonProperty("chunkSize") Integer chunkSize,
+                               @Nullable @JsonProperty("chunkMetaGroupSize") Integer chunkMetaGroupSize) {
+        this.parallelism = parallelism == null ? 1 : parallelism;
+        Preconditions.checkArgument(this.parallelism > 0, "parallelism must be positive");
+        Preconditions.checkArgument(estimatedRowCount == null || estimatedRowCount >= 0,
+                "estimatedRowCount must not be negative");
+        Preconditions.checkArgument(chunkSize == null || chunkSize > 0, "chunkSize must be positive");
+        Preconditions.checkArgument(chunkMetaGroupSize == null || chunkMetaGroupSize > 0,
+                "chunkMetaGroupSize must be positive");
+        this.estimatedRowCount = estimatedRowCount;
+        this.chunkSize = chunkSize;
+        this.chunkMetaGroupSize = chunkMetaGroupSize;
+    }
+
+    /**
+     * Compute the rows of a snapshot chunk
+     *
+     * @param nodeType the node type of the CDC node
+     * @param chunkKeyType the data type of the chunk key, null if it is unknown
+     * @return the value of {@code scan.incremental.snapshot.chunk.size}
+     */
+    public int computeChunkSize(String nodeType, @Nullable DataType chunkKeyType) {
+        if (chunkSize != null) {
+            return chunkSize;
+        }
+        if (estimatedRowCount == null) {
+            return DEFAULT_CHUNK_SIZE;
+        }
+        int maxChunkSize = chunkKeyType != null && isNumeric(nodeType, chunkKeyType)
+                ? MAX_NUMERIC_CHUNK_SIZE
+                : MAX_CHUNK_SIZE;
+        long rows = estimatedRowCount / ((long) parallelism * CHUNKS_PER_READER);
+        return (int) Math.max(DEFAULT_CHUNK_SIZE, Math.min(maxChunkSize, rows));
+    }
+
+    /**
+     * Compute the chunks of a meta group
+     *
+     * @param chunkSize the rows of a snapshot chunk
+     * @return the value of {@code chunk-meta.group.size}
+     */
+    public int computeChunkMetaGroupSize(int chunkSize) {
+        if (chunkMetaGroupSize != null) {
+            return chunkMetaGroupSize;
+        }
+        if (estimatedRowCount == null) {
+            return DEFAULT_CHUNK_META_GROUP_SIZE;
+        }
+        // every reader receives its chunks in one group
+        long chunks = (estimatedRowCount + chunkSize - 1) / chunkSize;
+        long chunksPerReader = (chunks + parallelism - 1) / parallelism;
+        return (int) Math.max(DEFAULT_CHUNK_META_GROUP_SIZE, Math.min(MAX_CHUNK_META_GROUP_SIZE, chunksPerReader));
+    }
+
+    private static boolean isNumeric(String nodeType, DataType dataType) {
+        LogicalType type = LogicalTypeParser.parse(SimpleTypeConverterFactory.getCachedInstance(EngineType.FLINK_SQL)
+                .toEngineType(nodeType, dataType));
+        return type.is(LogicalTypeFamily.EXACT_NUMERIC);
+    }
+}
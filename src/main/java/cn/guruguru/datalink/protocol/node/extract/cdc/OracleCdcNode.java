@@ -8,11 +8,14 @@ import cn.guruguru.datalink.protocol.Metadata;
 import cn.guruguru.datalink.protocol.enums.MetaKey;
 import cn.guruguru.datalink.protocol.field.DataField;
 import cn.guruguru.datalink.protocol.field.WatermarkField;
+import cn.guruguru.datalink.protocol.node.extract.scan.JdbcFetchTuning;
+import cn.guruguru.datalink.protocol.node.extract.scan.OracleScanNode;
 import com.google.common.base.Preconditions;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonTypeName;
 
@@ -38,11 +41,34 @@ import java.util.Set;
 public class OracleCdcNode extends AbstractCdcNode implements Metadata, Serializable {
     private static final long serialVersionUID = -7716500438430607615L;
     public static final String TYPE = "OracleCdc";
+    public static final int DEFAULT_PORT = 1521;
 
     @JsonProperty("schemaName")
     private String schemaName;
     @JsonProperty("url")
     private String url; // `jdbc:oracle:thin:@{hostname}:{port}:{database-name}` for default
+    @Nullable
+    @JsonProperty("logMinerTuning")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LogMinerTuning logMinerTuning;
+
+    public OracleCdcNode(String id,
+                         String name,
+                         List<DataField> fields,
+                         @Nullable Map<String, String> properties,
+                         @Nullable WatermarkField watermarkField,
+                         @Nonnull String hostname,
+                         @Nullable Integer port,
+                         @Nonnull String username,
+                         @Nonnull String password,
+                         @Nonnull String databaseName,
+                         @Nonnull String schemaName,
+                         @Nonnull String tableName,
+                         @Nullable String primaryKey,
+                         @Nullable String url) {
+        this(id, name, fields, properties, watermarkField, hostname, port, username, password, databaseName,
+                schemaName, tableName, primaryKey, url, null);
+    }
 
     @JsonCreator
     public OracleCdcNode(@JsonProperty("id") String id,
@@ -58,11 +84,16 @@ public class OracleCdcNode extends AbstractCdcNode implements Metadata, Serializ
                          @Nonnull @JsonProperty("schemaName") String schemaName,
                          @Nonnull @JsonProperty("tableName") String tableName,
                          @Nullable @JsonProperty("primaryKey") String primaryKey,
-                         @Nullable @JsonProperty("url") String url) {
+                         @Nullable @JsonProperty("url") String url,
+                         @Nullable @JsonProperty("logMinerTuning") LogMinerTuning logMinerTuning) {
         super(id, name, fields, properties, watermarkField,
                 hostname, port, username, password, databaseName, tableName, primaryKey);
         this.schemaName = Preconditions.checkNotNull(schemaName, "schemaName is null");
         this.url = url;
+        if (logMinerTuning != null && fields != null) {
+            logMinerTuning.validate(fields);
+        }
+        this.logMinerTuning = logMinerTuning;
     }
 
     @Override
@@ -94,9 +125,30 @@ public class OracleCdcNode extends AbstractCdcNode implements Metadata, Serializ
         options.put("database-name", String.format("%s", getDatabaseName()));
         options.put("schema-name", String.format("%s", getSchemaName()));
         options.put("table-name", String.format("%s", getTableName()));
+        if (logMinerTuning != null) {
+            options.putAll(logMinerTuning.tableOptions(getFields()));
+        }
         return options;
     }
 
+    /**
+     * Read the table by an Oracle scan with a tuned fetch size, unless the schema or the table name is a regular
+     * expression
+     */
+    @Nullable
+    @Override
+    public Map<String, String> snapshotTableOptions() {
+        if (!isIdentifier(getSchemaName()) || !isIdentifier(getTableName())) {
+            return null;
+        }
+        OracleScanNode scanNode = new OracleScanNode(getId(), getName(), getFields(), null,
+                url != null ? url : String.format("jdbc:oracle:thin:@%s:%d:%s",
+                        getHostname(), getPort() == null ? DEFAULT_PORT : getPort(), getDatabaseName()),
+                getUsername(), getPassword(), getSchemaName() + "." + getTableName(), getPrimaryKey());
+        scanNode.setFetchTuning(new JdbcFetchTuning(null, null, null, null));
+        return scanNode.tableOptions(EngineType.FLINK_SQL);
+    }
+
     @Override
     public String genTableName() {
         return super.genTableName();
@@ -32,6 +32,18 @@ public class DmScanNode extends JdbcScanNode {
 
     // private CompatibleMode compatibleMode;
 
+    public DmScanNode(String id,
+                      String name,
+                      List<DataField> fields,
+                      @Nullable Map<String, String> properties,
+                      @Nonnull String url,
+                      String username,
+                      String password,
+                      @Nonnull String tableName,
+                      @Nullable String primaryKey) {
+        this(id, name, fields, properties, url, username, password, tableName, primaryKey, null);
+    }
+
     @JsonCreator
     public DmScanNode(@JsonProperty("id") String id,
                       @JsonProperty("name") String name,
@@ -41,8 +53,9 @@ public class DmScanNode extends JdbcScanNode {
                       @JsonProperty("username") String username,
                       @JsonProperty("password") String password,
                       @Nonnull @JsonProperty("tableName") String tableName,
-                      @Nullable @JsonProperty("primaryKey") String primaryKey) {
+                      @Nullable @JsonProperty("primaryKey") String primaryKey,
+                      @Nullable @JsonProperty("partition") JdbcScanPartition partition) {
         // TODO: process the url with compatibleMode property
-        super(id, name, fields, properties, url, username, password, tableName, primaryKey);
+        super(id, name, fields, properties, url, username, password, tableName, primaryKey, partition);
     }
 }
@@ -28,6 +28,18 @@ public class GreenplumScanNode extends JdbcScanNode {
     private static final long serialVersionUID = -7338939879338406887L;
     public static final String TYPE = "GreenplumScan";
 
+    public GreenplumScanNode(String id,
+                             String name,
+                             List<DataField> fields,
+                             @Nullable Map<String, String> properties,
+                             @Nonnull String url,
+                             String username,
+                             String password,
+                             @Nonnull String tableName,
+                             @Nullable String primaryKey) {
+        this(id, name, fields, properties, url, username, password, tableName, primaryKey, null);
+    }
+
     @JsonCreator
     public GreenplumScanNode(@JsonProperty("id") String id,
                               @JsonProperty("name") String name,
@@ -37,7 +49,8 @@ public class GreenplumScanNode extends JdbcScanNode {
                               @JsonProperty("username") String username,
                               @JsonProperty("password") String password,
                               @Nonnull @JsonProperty("tableName") String tableName,
-                              @Nullable @JsonProperty("primaryKey") String primaryKey) {
-        super(id, name, fields, properties, url, username, password, tableName, primaryKey);
+                              @Nullable @JsonProperty("primaryKey") String primaryKey,
+                             @Nullable @JsonProperty("partition") JdbcScanPartition partition) {
+        super(id, name, fields, properties, url, username, password, tableName, primaryKey, partition);
     }
 }
@@ -0,0 +1,60 @@
+package cn.guruguru.datalink.protocol.node.extract.scan;
+
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * Incremental (high-watermark) scan, only the rows whose incremental column is in {@code (lastValue, upperValue]}
+ * are read
+ *
+ * <p>The incremental column must be a numeric or a date and time column which only grows, e.g. an auto-increment
+ * id or an update time. Both values are optional: the first run has no {@code lastValue} and reads the whole
+ * table, and without an {@code upperValue} the rows are read up to the latest one. The {@code upperValue} of a
+ * run is returned by the high-watermark query of the parse result, which is executed before the scan, and becomes
+ * the {@code lastValue} of the next run.
+ *
+ * @see cn.guruguru.datalink.parser.result.ParseResult#getHighWatermarkSqls()
+ */
+@Data
+@NoArgsConstructor(force = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IncrementalScan implements Serializable {
+    private static final long serialVersionUID = 5402218634981542743L;
+
+    @JsonProperty("column")
+    private final String column;
+    @Nullable
+    @JsonProperty("lastValue")
+    private final String lastValue; // exclusive
+    @Nullable
+    @JsonProperty("upperValue")
+    private final String upperValue; // inclusive
+
+    @JsonCreator
+    public IncrementalScan(@JsonProperty("column") String column,
+                           @Nullable @JsonProperty("lastValue") String lastValue,
+                           @Nullable @JsonProperty("upperValue") String upperValue) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(column), "column is blank");
+        Preconditions.checkArgument(column.trim().matches("\\w+"), "column is not an identifier: %s", column);
+        this.column = column.trim();
+        this.lastValue = StringUtils.trimToNull(lastValue);
+        this.upperValue = StringUtils.trimToNull(upperValue);
+    }
+
+    /**
+     * Whether the scan is bounded by any value
+     */
+    @JsonIgnore
+    public boolean isBounded() {
+        return lastValue != null || upperValue != null;
+    }
+}
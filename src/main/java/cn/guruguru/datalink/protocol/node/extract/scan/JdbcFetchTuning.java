@@ -0,0 +1,144 @@
+package cn.guruguru.datalink.protocol.node.extract.scan;
+
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.protocol.field.DataField;
+import cn.guruguru.datalink.protocol.field.DataType;
+import cn.guruguru.datalink.type.converter.factory.SimpleTypeConverterFactory;
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.utils.LogicalTypeParser;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Fetch size tuning of a JDBC scan
+ *
+ * <p>The width of a row is estimated from the types of the fields, and the fetch size is the number of rows fitting
+ * into the memory budget, bounded by {@code [minFetchSize, maxFetchSize]}. Without it, drivers fall back to their
+ * defaults, e.g. 10 rows per round trip for Oracle or the whole result set for MySQL.
+ *
+ * @see JdbcScanNode#tuneFetchOptions(EngineType, java.util.Map, int)
+ */
+@Data
+@NoArgsConstructor(force = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JdbcFetchTuning implements Serializable {
+    private static final long serialVersionUID = 4153618797201865472L;
+
+    public static final long DEFAULT_MEMORY_BUDGET = 8L * 1024 * 1024;
+    public static final int DEFAULT_MIN_FETCH_SIZE = 100;
+    public static final int DEFAULT_MAX_FETCH_SIZE = 10_000;
+
+    // bytes per field for the object header and the reference of a row
+    private static final int FIELD_OVERHEAD = 16;
+    // bytes of a character or binary column without a declared length
+    private static final int DEFAULT_VARIABLE_WIDTH = 256;
+    // bytes of a LOB column, which is usually fetched by a locator and read lazily
+    private static final int LOB_WIDTH = 4096;
+
+    /**
+     * Memory of a fetched batch in bytes
+     */
+    @JsonProperty("memoryBudget")
+    private final long memoryBudget;
+    @JsonProperty("minFetchSize")
+    private final int minFetchSize;
+    @JsonProperty("maxFetchSize")
+    private final int maxFetchSize;
+    /**
+     * Statement executed after a session is opened, only for Spark, e.g. {@code ALTER SESSION SET ...}
+     */
+    @Nullable
+    @JsonProperty("sessionInitStatement")
+    private final String sessionInitStatement;
+
+    @JsonCreator
+    public JdbcFetchTuning(@Nullable @JsonProperty("memoryBudget") Long memoryBudget,
+                           @Nullable @JsonProperty("minFetchSize") Integer minFetchSize,
+                           @Nullable @JsonProperty("maxFetchSize") Integer maxFetchSize,
+                           @Nullable @JsonProperty("sessionInitStatement") String sessionInitStatement) {
+        this.memoryBudget = memoryBudget == null ? DEFAULT_MEMORY_BUDGET : memoryBudget;
+        this.minFetchSize = minFetchSize == null ? DEFAULT_MIN_FETCH_SIZE : minFetchSize;
+        this.maxFetchSize = maxFetchSize == null ? DEFAULT_MAX_FETCH_SIZE : maxFetchSize;
+        Preconditions.checkArgument(this.memoryBudget > 0, "memoryBudget must be positive");
+        Preconditions.checkArgument(this.minFetchSize > 0, "minFetchSize must be positive");
+        Preconditions.checkArgument(this.minFetchSize <= this.maxFetchSize,
+                "minFetchSize is greater than maxFetchSize");
+        this.sessionInitStatement = sessionInitStatement;
+    }
+
+    /**
+     * Compute the fetch size of a scan
+     *
+     * @param nodeType the node type of the scan
+     * @param fields the fields of the scan
+     * @return the number of rows per round trip
+     */
+    public int computeFetchSize(String nodeType, List<DataField> fields) {
+        long rows = memoryBudget / estimateRowWidth(nodeType, fields);
+        return (int) Math.max(minFetchSize, Math.min(maxFetchSize, rows));
+    }
+
+    /**
+     * Estimate the width of a row in bytes
+     *
+     * @param nodeType the node type of the scan
+     * @param fields the fields of the scan
+     * @return the estimated bytes of a row
+     */
+    public static long estimateRowWidth(String nodeType, List<DataField> fields) {
+        Preconditions.checkNotNull(fields, "fields is null");
+        long width = 0;
+        for (DataField field : fields) {
+            width += FIELD_OVERHEAD + estimateFieldWidth(nodeType, field.getDataType());
+        }
+        return Math.max(width, 1);
+    }
+
+    private static int estimateFieldWidth(String nodeType, DataType dataType) {
+        String sourceType = dataType.getType().toUpperCase();
+        if (sourceType.contains("LOB") || sourceType.contains("TEXT")) { // CLOB, BLOB, LONGTEXT, ...
+            return LOB_WIDTH;
+        }
+        LogicalType type = LogicalTypeParser.parse(SimpleTypeConverterFactory.getCachedInstance(EngineType.FLINK_SQL)
+                .toEngineType(nodeType, dataType));
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+                return 1;
+            case SMALLINT:
+                return 2;
+            case INTEGER:
+            case FLOAT:
+            case DATE:
+                return 4;
+            case BIGINT:
+            case DOUBLE:
+            case TIME_WITHOUT_TIME_ZONE:
+                return 8;
+            case DECIMAL:
+                return 8 + ((DecimalType) type).getPrecision() / 2;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return 16;
+            case CHAR:
+            case VARCHAR:
+                // the declared length of the data source, the Flink type is usually STRING
+                return dataType.getPrecision() != null ? 2 * dataType.getPrecision() : DEFAULT_VARIABLE_WIDTH;
+            case BINARY:
+            case VARBINARY:
+                return dataType.getPrecision() != null ? dataType.getPrecision() : DEFAULT_VARIABLE_WIDTH;
+            default:
+                return DEFAULT_VARIABLE_WIDTH;
+        }
+    }
+}
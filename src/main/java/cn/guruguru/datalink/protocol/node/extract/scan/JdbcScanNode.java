@@ -3,17 +3,32 @@ package cn.guruguru.datalink.protocol.node.extract.scan;
 import cn.guruguru.datalink.exception.UnsupportedEngineException;
 import cn.guruguru.datalink.parser.EngineType;
 import cn.guruguru.datalink.protocol.field.DataField;
+import cn.guruguru.datalink.protocol.field.DataType;
 import cn.guruguru.datalink.protocol.node.extract.ScanExtractNode;
+import cn.guruguru.datalink.type.converter.factory.SimpleTypeConverterFactory;
+import cn.guruguru.datalink.type.definition.FlinkDataTypes;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.lang3.StringUtils;
 
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.SmallIntType;
+import org.apache.flink.table.types.logical.TinyIntType;
+import org.apache.flink.table.types.logical.utils.LogicalTypeParser;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +44,12 @@ public abstract class JdbcScanNode extends ScanExtractNode implements Serializab
     private static final long serialVersionUID = 9052821948375342865L;
     public static final String TYPE = "jdbc";
 
+    private static final Map<String, Long> UNSIGNED_UPPER_BOUNDS = ImmutableMap.of(
+            "TINYINT UNSIGNED", 255L,
+            "SMALLINT UNSIGNED", 65535L,
+            "MEDIUMINT UNSIGNED", 16777215L,
+            "INT UNSIGNED", 4294967295L);
+
     @JsonProperty("url")
     @Nonnull
     private String url; // The jdbc URL can obtain dialect
@@ -41,9 +62,27 @@ public abstract class JdbcScanNode extends ScanExtractNode implements Serializab
     private String tableName;
     @JsonProperty("primaryKey")
     private String primaryKey; // if there are multiple, separate them with commas
+    @Nullable
+    @JsonProperty("partition")
+    private JdbcScanPartition partition;
+    @Nullable
+    @JsonProperty("fetchTuning")
+    private JdbcFetchTuning fetchTuning;
     // @JsonProperty("filterClause")
     // private String filterClause;
 
+    public JdbcScanNode(String id,
+                        String name,
+                        List<DataField> fields,
+                        @Nullable Map<String, String> properties,
+                        @Nonnull String url,
+                        String username,
+                        String password,
+                        @Nonnull String tableName,
+                        @Nullable String primaryKey) {
+        this(id, name, fields, properties, url, username, password, tableName, primaryKey, null);
+    }
+
     @JsonCreator
     public JdbcScanNode(@JsonProperty("id") String id,
                          @JsonProperty("name") String name,
@@ -53,28 +92,43 @@ public abstract class JdbcScanNode extends ScanExtractNode implements Serializab
                          @JsonProperty("username") String username,
                          @JsonProperty("password") String password,
                          @Nonnull @JsonProperty("tableName") String tableName,
-                         @Nullable @JsonProperty("primaryKey") String primaryKey) {
+                         @Nullable @JsonProperty("primaryKey") String primaryKey,
+                         @Nullable @JsonProperty("partition") JdbcScanPartition partition) {
         super(id, name, fields, properties);
         this.url = url;
         this.username = username;
         this.password = password;
         this.tableName = tableName;
         this.primaryKey = primaryKey;
+        this.partition = partition == null ? null : resolvePartition(partition, fields, primaryKey);
     }
 
     @Override
     public Map<String, String> tableOptions(EngineType engineType) {
+        return tableOptions(engineType, null);
+    }
+
+    /**
+     * Spark reads the projection and predicates by a query in {@code dbtable}. The Flink connector quotes
+     * {@code table-name}, so it can not be a query, and the Flink planner already prunes the columns of the scan
+     */
+    @Override
+    public Map<String, String> tableOptions(EngineType engineType, @Nullable ScanPushdown pushdown) {
         Map<String, String> options;
         switch (engineType) {
             case SPARK_SQL:
-                options = super.tableOptions(engineType);
-                return sparkTableOptions(options);
+                options = sparkTableOptions(super.tableOptions(engineType), pushdown);
+                break;
             case FLINK_SQL:
-                options = super.tableOptions(engineType);
-                return flinkTableOptions(options);
+                options = flinkTableOptions(super.tableOptions(engineType));
+                break;
             default:
                 throw new UnsupportedEngineException("Unsupported computing engine");
         }
+        if (fetchTuning != null) {
+            tuneFetchOptions(engineType, options, fetchTuning.computeFetchSize(getNodeType(), getFields()));
+        }
+        return options;
     }
 
     private Map<String, String> flinkTableOptions(Map<String, String> options) {
@@ -83,18 +137,268 @@ public abstract class JdbcScanNode extends ScanExtractNode implements Serializab
         options.put("username", username);
         options.put("password", password);
         options.put("table-name", fmtTableName());
+        JdbcScanPartition incrementalPartition = getIncrementalPartition();
+        JdbcScanPartition scanPartition = incrementalPartition != null ? incrementalPartition : partition;
+        if (scanPartition != null) {
+            options.put("scan.partition.column", scanPartition.getPartitionColumn());
+            options.put("scan.partition.num", String.valueOf(scanPartition.getNumPartitions()));
+            options.put("scan.partition.lower-bound", String.valueOf(scanPartition.getLowerBound()));
+            options.put("scan.partition.upper-bound", String.valueOf(scanPartition.getUpperBound()));
+        }
         return options;
     }
 
-    private Map<String, String> sparkTableOptions(Map<String, String> options) {
+    private Map<String, String> sparkTableOptions(Map<String, String> options, @Nullable ScanPushdown pushdown) {
         options.put("USING", "org.apache.spark.sql.jdbc");
         options.put("url", url);
         options.put("user", username);
         options.put("password", password);
-        options.put("dbtable", fmtTableName());
+        options.put("dbtable", genSparkTable(pushdown));
+        if (partition != null) {
+            options.put("partitionColumn", partition.getPartitionColumn());
+            options.put("numPartitions", String.valueOf(partition.getNumPartitions()));
+            options.put("lowerBound", String.valueOf(partition.getLowerBound()));
+            options.put("upperBound", String.valueOf(partition.getUpperBound()));
+        }
         return options;
     }
 
+    /**
+     * Generate the table or the query read by Spark
+     *
+     * @param pushdown the projection and predicates planned for the node
+     * @return a table name, or a subquery with the projection and the predicates
+     */
+    private String genSparkTable(@Nullable ScanPushdown pushdown) {
+        List<String> predicates = new ArrayList<>(2);
+        String incrementalPredicate = genIncrementalPredicate(quoteSourceIdentifier(getIncrementalColumn()));
+        if (incrementalPredicate != null) {
+            predicates.add(incrementalPredicate);
+        }
+        String projection = null;
+        if (pushdown != null) {
+            String pushedPredicate = pushdown.genPredicate(this::quoteSourceIdentifier);
+            if (pushedPredicate != null) {
+                predicates.add(pushedPredicate);
+            }
+            projection = pushdown.genProjection(this::quoteSourceIdentifier,
+                    partition == null ? null : partition.getPartitionColumn());
+        }
+        if (predicates.isEmpty() && projection == null) {
+            return fmtTableName();
+        }
+        return String.format("(SELECT %s FROM %s%s) t",
+                projection == null ? "*" : projection,
+                fmtTableName(),
+                predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates));
+    }
+
+    // ~ fetch size -----------------------------------------------
+
+    /**
+     * Set the fetch size options, the options already set by the properties are kept
+     *
+     * <p>Subclasses can add the options required by their drivers.
+     *
+     * @param engineType computing engine
+     * @param options table options
+     * @param fetchSize the fetch size computed by {@link JdbcFetchTuning}
+     */
+    protected void tuneFetchOptions(EngineType engineType, Map<String, String> options, int fetchSize) {
+        switch (engineType) {
+            case FLINK_SQL:
+                options.putIfAbsent("scan.fetch-size", String.valueOf(fetchSize));
+                break;
+            case SPARK_SQL:
+                options.putIfAbsent("fetchsize", String.valueOf(fetchSize));
+                if (fetchTuning != null && fetchTuning.getSessionInitStatement() != null) {
+                    options.putIfAbsent("sessionInitStatement", fetchTuning.getSessionInitStatement());
+                }
+                break;
+            default:
+                throw new UnsupportedEngineException("Unsupported computing engine");
+        }
+    }
+
+    // ~ incremental scan -----------------------------------------
+
+    /**
+     * Spark reads a subquery with the predicate, Flink 1.15 can only push the predicate of an integral column into
+     * the bounds of a partitioned scan
+     */
+    @Override
+    public boolean isIncrementalPushedDown(EngineType engineType) {
+        switch (engineType) {
+            case SPARK_SQL:
+                return true;
+            case FLINK_SQL:
+                return getIncremental() == null || !getIncremental().isBounded() || getIncrementalPartition() != null;
+            default:
+                throw new UnsupportedEngineException("Unsupported computing engine");
+        }
+    }
+
+    @Override
+    public String genHighWatermarkSql() {
+        if (getIncremental() == null) {
+            return null;
+        }
+        String column = quoteSourceIdentifier(getIncrementalColumn());
+        String lastValue = formatLastValue();
+        if (lastValue == null) {
+            return String.format("SELECT MAX(%s) FROM %s", column, fmtTableName());
+        }
+        // without new rows the watermark stays, a NULL would make the next run read the whole table
+        return String.format("SELECT COALESCE(MAX(%s), %s) FROM %s WHERE %s > %s",
+                column, lastValue, fmtTableName(), column, lastValue);
+    }
+
+    /**
+     * Quote an identifier in the dialect of the data source
+     *
+     * @param identifier an identifier
+     * @return a quoted identifier
+     */
+    protected String quoteSourceIdentifier(String identifier) {
+        return identifier;
+    }
+
+    private String getIncrementalColumn() {
+        return getIncremental() == null ? null : getIncremental().getColumn();
+    }
+
+    /**
+     * Express the range of an incremental scan on an integral column by the bounds of a partitioned scan, the range is
+     * intersected with the declared partitioning on the same column
+     *
+     * <p>Without an {@code upperValue}, the range is closed by the upper bound of the partitioning or of the column
+     * type, so a BIGINT column needs an {@code upperValue} to be pushed down.
+     *
+     * @return a partitioning only reading the incremental range, or null if the range can not be expressed by bounds
+     */
+    private JdbcScanPartition getIncrementalPartition() {
+        IncrementalScan incremental = getIncremental();
+        if (incremental == null || incremental.getLastValue() == null) {
+            return null;
+        }
+        LogicalType type = getIncrementalColumnType();
+        if (!isIntegral(type)) {
+            return null;
+        }
+        if (partition != null && !incremental.getColumn().equalsIgnoreCase(partition.getPartitionColumn())) {
+            return null;
+        }
+        Long lastValue = parseLong(incremental.getLastValue());
+        Long upperValue = incremental.getUpperValue() == null ? null : parseLong(incremental.getUpperValue());
+        if (lastValue == null || lastValue == Long.MAX_VALUE
+                || incremental.getUpperValue() != null && upperValue == null) {
+            return null;
+        }
+        long lowerBound = lastValue + 1;
+        long upperBound;
+        if (upperValue != null) {
+            upperBound = upperValue;
+        } else if (partition != null) {
+            upperBound = partition.getUpperBound();
+        } else {
+            long[] range = deriveBounds(getIncrementalField().getDataType(), type);
+            if (range == null) {
+                return null;
+            }
+            upperBound = range[1];
+        }
+        if (partition != null) {
+            lowerBound = Math.max(lowerBound, partition.getLowerBound());
+            upperBound = Math.min(upperBound, partition.getUpperBound());
+        }
+        // the connector splits the range with double arithmetic, which is only exact up to 2^53
+        if (lowerBound > upperBound || BigDecimal.valueOf(upperBound).subtract(BigDecimal.valueOf(lowerBound))
+                .compareTo(BigDecimal.valueOf(1L << 53)) >= 0) {
+            return null;
+        }
+        return new JdbcScanPartition(incremental.getColumn(),
+                partition != null ? partition.getNumPartitions() : 1, lowerBound, upperBound);
+    }
+
+    private static boolean isIntegral(LogicalType type) {
+        return type instanceof TinyIntType
+                || type instanceof SmallIntType
+                || type instanceof IntType
+                || type instanceof BigIntType
+                || type instanceof DecimalType && ((DecimalType) type).getScale() == 0
+                && ((DecimalType) type).getPrecision() <= 18;
+    }
+
+    private static Long parseLong(String value) {
+        try {
+            return new BigDecimal(value).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    // ~ partitioned scan -----------------------------------------
+
+    /**
+     * Fill in the partition column of a partitioned scan
+     *
+     * <p>The partition column defaults to the primary key and must be numeric.
+     *
+     * @param partition partitioning declared in the node
+     * @param fields fields of the node
+     * @param primaryKey primary key of the node
+     * @return a partitioning with a column
+     */
+    private JdbcScanPartition resolvePartition(JdbcScanPartition partition,
+                                               List<DataField> fields,
+                                               @Nullable String primaryKey) {
+        String column = partition.getPartitionColumn();
+        if (StringUtils.isBlank(column)) {
+            Preconditions.checkArgument(StringUtils.isNotBlank(primaryKey) && !primaryKey.contains(","),
+                    "partitionColumn is required if the primary key is absent or composite");
+            column = primaryKey.trim();
+        }
+        Preconditions.checkNotNull(fields, "fields is null");
+        String columnName = column;
+        DataField field = fields.stream()
+                .filter(f -> columnName.equalsIgnoreCase(f.getName()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("partition column is not a field: " + columnName));
+        LogicalType type = LogicalTypeParser.parse(SimpleTypeConverterFactory.getCachedInstance(EngineType.FLINK_SQL)
+                .toEngineType(getNodeType(), field.getDataType()));
+        Preconditions.checkArgument(new FlinkDataTypes().isNumericType(type),
+                "partition column %s must be numeric, but it is %s", column, field.getDataType());
+        return new JdbcScanPartition(column, partition.getNumPartitions(),
+                partition.getLowerBound(), partition.getUpperBound());
+    }
+
+    /**
+     * Derive the bounds from the value range of a column type, which only closes the range of an incremental scan
+     * read by a single stride
+     *
+     * @param sourceType the data type of the data source
+     * @param type the Flink type of the column
+     * @return the lower and upper bound, or null if the range is too wide
+     */
+    private static long[] deriveBounds(DataType sourceType, LogicalType type) {
+        Long unsignedUpperBound = UNSIGNED_UPPER_BOUNDS.get(sourceType.getType().toUpperCase());
+        if (unsignedUpperBound != null) {
+            return new long[] {0, unsignedUpperBound};
+        }
+        if (type instanceof TinyIntType) {
+            return new long[] {Byte.MIN_VALUE, Byte.MAX_VALUE};
+        } else if (type instanceof SmallIntType) {
+            return new long[] {Short.MIN_VALUE, Short.MAX_VALUE};
+        } else if (type instanceof IntType) {
+            return new long[] {Integer.MIN_VALUE, Integer.MAX_VALUE};
+        } else if (type instanceof DecimalType && ((DecimalType) type).getScale() == 0
+                && ((DecimalType) type).getPrecision() <= 9) { // e.g. Oracle NUMBER(9)
+            long max = (long) Math.pow(10, ((DecimalType) type).getPrecision()) - 1;
+            return new long[] {-max, max};
+        }
+        return null;
+    }
+
     protected String fmtTableName() {
         return String.format("%s", tableName);
     }
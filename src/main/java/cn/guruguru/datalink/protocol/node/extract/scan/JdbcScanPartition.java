@@ -0,0 +1,54 @@
+package cn.guruguru.datalink.protocol.node.extract.scan;
+
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * Partitioning of a JDBC scan, the table is read by {@code numPartitions} readers in parallel, each one reading a
+ * stride of {@code [lowerBound, upperBound]} on the partition column
+ *
+ * <p>The partition column is optional, it is the primary key by default. The bounds are required, they are usually the
+ * minimum and maximum values of the column queried before the job is submitted. Bounds wider than the actual values,
+ * e.g. the range of the column type, put almost all rows into a single stride and the scan into a single reader.
+ *
+ * @see <a href="https://nightlies.apache.org/flink/flink-docs-release-1.15/docs/connectors/table/jdbc/#partitioned-scan">Flink Partitioned Scan</a>
+ * @see <a href="https://spark.apache.org/docs/3.1.1/sql-data-sources-jdbc.html">Spark JDBC To Other Databases</a>
+ */
+@Data
+@NoArgsConstructor(force = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JdbcScanPartition implements Serializable {
+    private static final long serialVersionUID = -1797652420736713482L;
+
+    @Nullable
+    @JsonProperty("partitionColumn")
+    private final String partitionColumn;
+    @JsonProperty("numPartitions")
+    private final int numPartitions;
+    @JsonProperty("lowerBound")
+    private final Long lowerBound;
+    @JsonProperty("upperBound")
+    private final Long upperBound;
+
+    @JsonCreator
+    public JdbcScanPartition(@Nullable @JsonProperty("partitionColumn") String partitionColumn,
+                             @JsonProperty("numPartitions") int numPartitions,
+                             @JsonProperty("lowerBound") Long lowerBound,
+                             @JsonProperty("upperBound") Long upperBound) {
+        Preconditions.checkArgument(numPartitions > 0, "numPartitions must be positive");
+        Preconditions.checkArgument(lowerBound != null && upperBound != null,
+                "lowerBound and upperBound are required, e.g. the minimum and maximum of the partition column");
+        Preconditions.checkArgument(lowerBound <= upperBound, "lowerBound is greater than upperBound");
+        this.partitionColumn = partitionColumn;
+        this.numPartitions = numPartitions;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+}
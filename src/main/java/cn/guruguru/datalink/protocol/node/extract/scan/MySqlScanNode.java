@@ -2,7 +2,9 @@ package cn.guruguru.datalink.protocol.node.extract.scan;
 
 import cn.guruguru.datalink.datasource.NodeDataSource;
 import cn.guruguru.datalink.datasource.DataSourceType;
+import cn.guruguru.datalink.parser.EngineType;
 import cn.guruguru.datalink.protocol.field.DataField;
+import cn.guruguru.datalink.utils.JdbcUrlUtil;
 
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
@@ -31,6 +33,18 @@ public class MySqlScanNode extends JdbcScanNode {
     private static final long serialVersionUID = -5521981462461235277L;
     public static final String TYPE = "MysqlScan";
 
+    public MySqlScanNode(String id,
+                         String name,
+                         List<DataField> fields,
+                         @Nullable Map<String, String> properties,
+                         @Nonnull String url,
+                         String username,
+                         String password,
+                         @Nonnull String tableName,
+                         @Nullable String primaryKey) {
+        this(id, name, fields, properties, url, username, password, tableName, primaryKey, null);
+    }
+
     @JsonCreator
     public MySqlScanNode(@JsonProperty("id") String id,
                         @JsonProperty("name") String name,
@@ -40,7 +54,31 @@ public class MySqlScanNode extends JdbcScanNode {
                         @JsonProperty("username") String username,
                         @JsonProperty("password") String password,
                         @Nonnull @JsonProperty("tableName") String tableName,
-                        @Nullable @JsonProperty("primaryKey") String primaryKey) {
-        super(id, name, fields, properties, url, username, password, tableName, primaryKey);
+                        @Nullable @JsonProperty("primaryKey") String primaryKey,
+                         @Nullable @JsonProperty("partition") JdbcScanPartition partition) {
+        super(id, name, fields, properties, url, username, password, tableName, primaryKey, partition);
+    }
+
+    /**
+     * MySQL Connector/J ignores the fetch size and reads the whole result set into memory unless the cursor fetch is
+     * enabled
+     */
+    @Override
+    protected void tuneFetchOptions(EngineType engineType, Map<String, String> options, int fetchSize) {
+        super.tuneFetchOptions(engineType, options, fetchSize);
+        switch (engineType) {
+            case FLINK_SQL: // the Flink connector has no connection properties
+                options.put("url", JdbcUrlUtil.appendParameter(options.get("url"), "useCursorFetch", "true"));
+                break;
+            case SPARK_SQL: // other options are passed to the driver as connection properties
+                options.putIfAbsent("useCursorFetch", "true");
+                break;
+            default:
+        }
+    }
+
+    @Override
+    protected String quoteSourceIdentifier(String identifier) {
+        return "`" + identifier + "`";
     }
 }
@@ -2,6 +2,7 @@ package cn.guruguru.datalink.protocol.node.extract.scan;
 
 import cn.guruguru.datalink.datasource.NodeDataSource;
 import cn.guruguru.datalink.datasource.DataSourceType;
+import cn.guruguru.datalink.parser.EngineType;
 import cn.guruguru.datalink.protocol.field.DataField;
 
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
@@ -33,6 +34,18 @@ public class OracleScanNode extends JdbcScanNode {
     private static final long serialVersionUID = -5521981462461235288L;
     public static final String TYPE = "OracleScan";
 
+    public OracleScanNode(String id,
+                          String name,
+                          List<DataField> fields,
+                          @Nullable Map<String, String> properties,
+                          @Nonnull String url,
+                          String username,
+                          String password,
+                          @Nonnull String tableName,
+                          @Nullable String primaryKey) {
+        this(id, name, fields, properties, url, username, password, tableName, primaryKey, null);
+    }
+
     @JsonCreator
     public OracleScanNode(@JsonProperty("id") String id,
                          @JsonProperty("name") String name,
@@ -42,8 +55,21 @@ public class OracleScanNode extends JdbcScanNode {
                          @JsonProperty("username") String username,
                          @JsonProperty("password") String password,
                          @Nonnull @JsonProperty("tableName") String tableName,
-                         @Nullable @JsonProperty("primaryKey") String primaryKey) {
-        super(id, name, fields, properties, url, username, password, tableName, primaryKey);
+                         @Nullable @JsonProperty("primaryKey") String primaryKey,
+                          @Nullable @JsonProperty("partition") JdbcScanPartition partition) {
+        super(id, name, fields, properties, url, username, password, tableName, primaryKey, partition);
+    }
+
+    /**
+     * Oracle prefetches 10 rows per round trip by default, the Flink connector overrides it by the fetch size of the
+     * statement, and Spark passes {@code defaultRowPrefetch} to the driver as a connection property
+     */
+    @Override
+    protected void tuneFetchOptions(EngineType engineType, Map<String, String> options, int fetchSize) {
+        super.tuneFetchOptions(engineType, options, fetchSize);
+        if (engineType == EngineType.SPARK_SQL) {
+            options.putIfAbsent("defaultRowPrefetch", options.get("fetchsize"));
+        }
     }
 
     /**
@@ -32,6 +32,18 @@ public class PostgresqlScanNode extends JdbcScanNode {
     private static final long serialVersionUID = 6436264611745457260L;
     public static final String TYPE = "PostgresqlScan";
 
+    public PostgresqlScanNode(String id,
+                              String name,
+                              List<DataField> fields,
+                              @Nullable Map<String, String> properties,
+                              @Nonnull String url,
+                              String username,
+                              String password,
+                              @Nonnull String tableName,
+                              @Nullable String primaryKey) {
+        this(id, name, fields, properties, url, username, password, tableName, primaryKey, null);
+    }
+
     @JsonCreator
     public PostgresqlScanNode(@JsonProperty("id") String id,
                               @JsonProperty("name") String name,
@@ -41,7 +53,8 @@ public class PostgresqlScanNode extends JdbcScanNode {
                               @JsonProperty("username") String username,
                               @JsonProperty("password") String password,
                               @Nonnull @JsonProperty("tableName") String tableName,
-                              @Nullable @JsonProperty("primaryKey") String primaryKey) {
-        super(id, name, fields, properties, url, username, password, tableName, primaryKey);
+                              @Nullable @JsonProperty("primaryKey") String primaryKey,
+                              @Nullable @JsonProperty("partition") JdbcScanPartition partition) {
+        super(id, name, fields, properties, url, username, password, tableName, primaryKey, partition);
     }
 }
@@ -0,0 +1,85 @@
+package cn.guruguru.datalink.protocol.node.extract.scan;
+
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.util.deparser.ExpressionDeParser;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Projection and predicates pushed down into the query of a scan node
+ *
+ * <p>Columns of the predicates are the names of the fields of the node, they are quoted in the dialect of the data
+ * source when the query is generated.
+ *
+ * @see cn.guruguru.datalink.parser.impl.PushdownPlan
+ */
+@Data
+public class ScanPushdown {
+
+    @Nullable
+    private final List<String> columns; // null to read all columns
+    private final List<Expression> predicates;
+
+    public ScanPushdown(@Nullable List<String> columns, List<Expression> predicates) {
+        Preconditions.checkArgument(columns == null || !columns.isEmpty(), "columns is empty");
+        this.columns = columns;
+        this.predicates = Preconditions.checkNotNull(predicates, "predicates is null");
+    }
+
+    /**
+     * Generate the select list of the query
+     *
+     * @param quoter quotes an identifier in the dialect of the data source
+     * @param requiredColumns columns which must be read in addition, e.g. the partition column
+     * @return a select list, or null to read all columns
+     */
+    @Nullable
+    public String genProjection(Function<String, String> quoter, String... requiredColumns) {
+        if (columns == null) {
+            return null;
+        }
+        Set<String> projection = new LinkedHashSet<>(columns);
+        for (String column : requiredColumns) {
+            if (column != null && projection.stream().noneMatch(column::equalsIgnoreCase)) {
+                projection.add(column);
+            }
+        }
+        return projection.stream().map(quoter).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Generate the conjunction of the predicates
+     *
+     * @param quoter quotes an identifier in the dialect of the data source
+     * @return a predicate, or null if there is no predicate
+     */
+    @Nullable
+    public String genPredicate(Function<String, String> quoter) {
+        if (predicates.isEmpty()) {
+            return null;
+        }
+        List<String> conjuncts = new ArrayList<>(predicates.size());
+        for (Expression predicate : predicates) {
+            StringBuilder buffer = new StringBuilder();
+            ExpressionDeParser deParser = new ExpressionDeParser(null, buffer) {
+                @Override
+                public void visit(Column column) {
+                    getBuffer().append(quoter.apply(column.getColumnName()));
+                }
+            };
+            predicate.accept(deParser);
+            conjuncts.add(predicate instanceof OrExpression ? "(" + buffer + ")" : buffer.toString());
+        }
+        return String.join(" AND ", conjuncts);
+    }
+}
@@ -0,0 +1,33 @@
+package cn.guruguru.datalink.protocol.node.transform;
+
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+
+/**
+ * A pair of equal fields of a join, the names are the names of the fields of the left and the right input nodes
+ */
+@Data
+@NoArgsConstructor(force = true)
+public class JoinKey implements Serializable {
+    private static final long serialVersionUID = -3196260731985129430L;
+
+    @JsonProperty("leftField")
+    private final String leftField;
+    @JsonProperty("rightField")
+    private final String rightField;
+
+    @JsonCreator
+    public JoinKey(@JsonProperty("leftField") String leftField,
+                   @JsonProperty("rightField") String rightField) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(leftField), "leftField is blank");
+        Preconditions.checkArgument(StringUtils.isNotBlank(rightField), "rightField is blank");
+        this.leftField = leftField.trim();
+        this.rightField = rightField.trim();
+    }
+}
@@ -0,0 +1,126 @@
+package cn.guruguru.datalink.protocol.node.transform;
+
+import cn.guruguru.datalink.protocol.enums.JoinStrategy;
+import cn.guruguru.datalink.protocol.enums.JoinType;
+import cn.guruguru.datalink.protocol.field.DataField;
+import cn.guruguru.datalink.protocol.relation.FieldRelation;
+import cn.guruguru.datalink.utils.DurationUtil;
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonTypeName;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Regular join of two inputs on equal keys
+ *
+ * <p>The input fields of the field relations should carry the id of their input node, so that fields with the same
+ * name are told apart. If one side is marked small, the join strategy is hinted for that side.
+ *
+ * <p>Flink 1.15 has neither join hints nor a state TTL of a single join: the hint is only rendered for Spark, and the
+ * state TTL is applied to the whole Flink job as {@code table.exec.state.ttl}, the largest TTL of the joins of a
+ * pipeline is used.
+ */
+@JsonTypeName(JoinNode.TYPE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@NoArgsConstructor
+public class JoinNode extends TransformNode implements JoinTransform {
+    private static final long serialVersionUID = -6043497384916224913L;
+    public static final String TYPE = "Join";
+
+    @JsonProperty("leftNodeId")
+    private String leftNodeId;
+    @JsonProperty("rightNodeId")
+    private String rightNodeId;
+    @JsonProperty("joinType")
+    private JoinType joinType;
+    /**
+     * Left fields are fields of the left input, right fields are fields of the right input
+     */
+    @JsonProperty("joinKeys")
+    private List<JoinKey> joinKeys;
+    /**
+     * The id of the input node which is small enough to be broadcast or hashed
+     */
+    @Nullable
+    @JsonProperty("smallNodeId")
+    private String smallNodeId;
+    @Nullable
+    @JsonProperty("joinStrategy")
+    private JoinStrategy joinStrategy;
+    /**
+     * Time to keep the state of a streaming join, e.g. {@code 1 h}
+     */
+    @Nullable
+    @JsonProperty("stateTtl")
+    private String stateTtl;
+
+    @JsonCreator
+    public JoinNode(@JsonProperty("id") String id,
+                    @JsonProperty("name") String name,
+                    @JsonProperty("fields") List<DataField> fields,
+                    @JsonProperty("fieldRelations") List<FieldRelation> fieldRelations,
+                    @Nullable @JsonProperty("filterClause") String filterClause,
+                    @JsonProperty("leftNodeId") String leftNodeId,
+                    @JsonProperty("rightNodeId") String rightNodeId,
+                    @Nullable @JsonProperty("joinType") JoinType joinType,
+                    @JsonProperty("joinKeys") List<JoinKey> joinKeys,
+                    @Nullable @JsonProperty("smallNodeId") String smallNodeId,
+                    @Nullable @JsonProperty("joinStrategy") JoinStrategy joinStrategy,
+                    @Nullable @JsonProperty("stateTtl") String stateTtl) {
+        super(id, name, fields, fieldRelations, filterClause);
+        this.leftNodeId = Preconditions.checkNotNull(leftNodeId, "leftNodeId is null");
+        this.rightNodeId = Preconditions.checkNotNull(rightNodeId, "rightNodeId is null");
+        Preconditions.checkArgument(!leftNodeId.equals(rightNodeId), "leftNodeId equals rightNodeId");
+        this.joinType = joinType == null ? JoinType.INNER : joinType;
+        this.joinKeys = Preconditions.checkNotNull(joinKeys, "joinKeys is null");
+        Preconditions.checkState(!joinKeys.isEmpty(), "joinKeys is empty");
+        Preconditions.checkArgument(smallNodeId == null || leftNodeId.equals(smallNodeId)
+                || rightNodeId.equals(smallNodeId), "smallNodeId is not an input: %s", smallNodeId);
+        this.smallNodeId = smallNodeId;
+        this.joinStrategy = smallNodeId == null ? null : joinStrategy == null ? JoinStrategy.BROADCAST : joinStrategy;
+        Preconditions.checkArgument(stateTtl == null || DurationUtil.isDuration(stateTtl),
+                "stateTtl is not a duration: %s", stateTtl);
+        this.stateTtl = StringUtils.trimToNull(stateTtl);
+    }
+
+    @JsonIgnore
+    @Override
+    public List<String> getKeyFields(String nodeId) {
+        if (leftNodeId.equals(nodeId)) {
+            return joinKeys.stream().map(JoinKey::getLeftField).collect(Collectors.toList());
+        }
+        if (rightNodeId.equals(nodeId)) {
+            return joinKeys.stream().map(JoinKey::getRightField).collect(Collectors.toList());
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Get the state TTL in milliseconds
+     *
+     * @return milliseconds, or null if the state TTL is not set
+     */
+    @Nullable
+    @JsonIgnore
+    public Long getStateTtlMillis() {
+        if (stateTtl == null) {
+            return null;
+        }
+        return DurationUtil.toMillis(stateTtl);
+    }
+}
@@ -0,0 +1,17 @@
+package cn.guruguru.datalink.protocol.node.transform;
+
+import java.util.List;
+
+/**
+ * A transform joining the rows of its inputs on equal keys
+ */
+public interface JoinTransform {
+
+    /**
+     * Get the names of the join key fields of an input node
+     *
+     * @param nodeId the id of an input node
+     * @return names of the fields, empty if the node is not an input
+     */
+    List<String> getKeyFields(String nodeId);
+}
@@ -0,0 +1,79 @@
+package cn.guruguru.datalink.protocol.node.transform;
+
+import cn.guruguru.datalink.utils.DurationUtil;
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the rows looked up from a dimension table
+ *
+ * <p>The Flink JDBC connector only caches rows if both {@code maxRows} and {@code ttl} are set, every lookup queries
+ * the database otherwise.
+ *
+ * @see <a href="https://nightlies.apache.org/flink/flink-docs-release-1.15/docs/connectors/table/jdbc/#lookup-cache">Lookup Cache</a>
+ */
+@Data
+@NoArgsConstructor(force = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LookupCache implements Serializable {
+    private static final long serialVersionUID = 8265917386205491757L;
+
+    @Nullable
+    @JsonProperty("maxRows")
+    private final Long maxRows;
+    /**
+     * Time to live of a cached row, e.g. {@code 10min}
+     */
+    @Nullable
+    @JsonProperty("ttl")
+    private final String ttl;
+    @Nullable
+    @JsonProperty("maxRetries")
+    private final Integer maxRetries;
+    @JsonProperty("async")
+    private final boolean async;
+
+    @JsonCreator
+    public LookupCache(@Nullable @JsonProperty("maxRows") Long maxRows,
+                       @Nullable @JsonProperty("ttl") String ttl,
+                       @Nullable @JsonProperty("maxRetries") Integer maxRetries,
+                       @Nullable @JsonProperty("async") Boolean async) {
+        Preconditions.checkArgument((maxRows == null) == StringUtils.isBlank(ttl),
+                "maxRows and ttl must be set together");
+        Preconditions.checkArgument(maxRows == null || maxRows > 0, "maxRows must be positive");
+        Preconditions.checkArgument(StringUtils.isBlank(ttl) || DurationUtil.isDuration(ttl),
+                "ttl is not a duration: %s", ttl);
+        Preconditions.checkArgument(maxRetries == null || maxRetries >= 0, "maxRetries must not be negative");
+        this.maxRows = maxRows;
+        this.ttl = StringUtils.trimToNull(ttl);
+        this.maxRetries = maxRetries;
+        this.async = async != null && async;
+    }
+
+    /**
+     * Generate the lookup options of a Flink JDBC table
+     *
+     * @return lookup options
+     */
+    public Map<String, String> tableOptions() {
+        Map<String, String> options = new LinkedHashMap<>();
+        if (maxRows != null) {
+            options.put("lookup.cache.max-rows", String.valueOf(maxRows));
+            options.put("lookup.cache.ttl", ttl);
+        }
+        if (maxRetries != null) {
+            options.put("lookup.max-retries", String.valueOf(maxRetries));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,93 @@
+package cn.guruguru.datalink.protocol.node.transform;
+
+import cn.guruguru.datalink.protocol.enums.JoinType;
+import cn.guruguru.datalink.protocol.field.DataField;
+import cn.guruguru.datalink.protocol.relation.FieldRelation;
+import com.google.common.base.Preconditions;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonTypeName;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Lookup join of a stream with a dimension table
+ *
+ * <p>Every row of the stream input is enriched by the rows of the lookup input whose fields equal the join keys. The
+ * input fields of the field relations should carry the id of their input node, so that fields with the same name are
+ * told apart.
+ *
+ * <p>For Flink, the lookup input must be a JDBC scan node, which is queried for every row of the stream as of its
+ * processing time, optionally through a {@link LookupCache}. For Spark, the lookup input is read once and broadcast.
+ */
+@JsonTypeName(LookupJoinNode.TYPE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@NoArgsConstructor
+public class LookupJoinNode extends TransformNode implements JoinTransform {
+    private static final long serialVersionUID = 2875023216453306118L;
+    public static final String TYPE = "LookupJoin";
+    /**
+     * Processing time attribute appended to the stream input for Flink
+     */
+    public static final String PROC_TIME_FIELD = "proc_time";
+
+    @JsonProperty("streamNodeId")
+    private String streamNodeId;
+    @JsonProperty("lookupNodeId")
+    private String lookupNodeId;
+    @JsonProperty("joinType")
+    private JoinType joinType;
+    /**
+     * Left fields are fields of the stream input, right fields are fields of the lookup input
+     */
+    @JsonProperty("joinKeys")
+    private List<JoinKey> joinKeys;
+    @Nullable
+    @JsonProperty("lookupCache")
+    private LookupCache lookupCache;
+
+    @JsonCreator
+    public LookupJoinNode(@JsonProperty("id") String id,
+                          @JsonProperty("name") String name,
+                          @JsonProperty("fields") List<DataField> fields,
+                          @JsonProperty("fieldRelations") List<FieldRelation> fieldRelations,
+                          @Nullable @JsonProperty("filterClause") String filterClause,
+                          @JsonProperty("streamNodeId") String streamNodeId,
+                          @JsonProperty("lookupNodeId") String lookupNodeId,
+                          @Nullable @JsonProperty("joinType") JoinType joinType,
+                          @JsonProperty("joinKeys") List<JoinKey> joinKeys,
+                          @Nullable @JsonProperty("lookupCache") LookupCache lookupCache) {
+        super(id, name, fields, fieldRelations, filterClause);
+        this.streamNodeId = Preconditions.checkNotNull(streamNodeId, "streamNodeId is null");
+        this.lookupNodeId = Preconditions.checkNotNull(lookupNodeId, "lookupNodeId is null");
+        Preconditions.checkArgument(!streamNodeId.equals(lookupNodeId), "streamNodeId equals lookupNodeId");
+        this.joinType = joinType == null ? JoinType.INNER : joinType;
+        this.joinKeys = Preconditions.checkNotNull(joinKeys, "joinKeys is null");
+        Preconditions.checkState(!joinKeys.isEmpty(), "joinKeys is empty");
+        this.lookupCache = lookupCache;
+    }
+
+    @JsonIgnore
+    @Override
+    public List<String> getKeyFields(String nodeId) {
+        if (streamNodeId.equals(nodeId)) {
+            return joinKeys.stream().map(JoinKey::getLeftField).collect(Collectors.toList());
+        }
+        if (lookupNodeId.equals(nodeId)) {
+            return joinKeys.stream().map(JoinKey::getRightField).collect(Collectors.toList());
+        }
+        return Collections.emptyList();
+    }
+}
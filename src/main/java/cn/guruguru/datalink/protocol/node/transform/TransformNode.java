@@ -11,6 +11,7 @@ import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgn
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonSubTypes;
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonTypeName;
 
 import javax.annotation.Nullable;
 import java.io.Serializable;
@@ -25,7 +26,11 @@ import java.util.Map;
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "type")
 @JsonSubTypes({
         @JsonSubTypes.Type(value = TransformNode.class, name = TransformNode.TYPE), // InLong Sort: baseTransform
+        @JsonSubTypes.Type(value = LookupJoinNode.class, name = LookupJoinNode.TYPE),
+        @JsonSubTypes.Type(value = JoinNode.class, name = JoinNode.TYPE),
+        @JsonSubTypes.Type(value = UnionNode.class, name = UnionNode.TYPE),
 })
+@JsonTypeName(TransformNode.TYPE)
 @Data
 @NoArgsConstructor
 public class TransformNode implements Node, Serializable {
@@ -53,13 +58,25 @@ public class TransformNode implements Node, Serializable {
                          @JsonProperty("fields") List<DataField> fields,
                          @JsonProperty("fieldRelations") List<FieldRelation> fieldRelations,
                          @Nullable @JsonProperty("filterClause") String filterClause) {
+        this(id, name, fields, fieldRelations, filterClause, true);
+    }
+
+    /**
+     * Constructor for transforms whose fields may be mapped without field relations
+     */
+    protected TransformNode(String id,
+                            String name,
+                            List<DataField> fields,
+                            List<FieldRelation> fieldRelations,
+                            @Nullable String filterClause,
+                            boolean requireFieldRelations) {
         this.id = Preconditions.checkNotNull(id, "id is null");
         this.name = name;
         this.fields = Preconditions.checkNotNull(fields, "fields is null");
         Preconditions.checkState(!fields.isEmpty(), "fields is empty");
         this.fieldRelations = Preconditions.checkNotNull(fieldRelations,
                 "fieldRelations is null");
-        Preconditions.checkState(!fieldRelations.isEmpty(), "fieldRelations is empty");
+        Preconditions.checkState(!requireFieldRelations || !fieldRelations.isEmpty(), "fieldRelations is empty");
         this.filterClause = filterClause;
     }
 
@@ -0,0 +1,73 @@
+package cn.guruguru.datalink.protocol.node.transform;
+
+import cn.guruguru.datalink.protocol.field.DataField;
+import cn.guruguru.datalink.protocol.node.Node;
+import cn.guruguru.datalink.protocol.relation.FieldRelation;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonTypeName;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Union of all rows of its inputs, e.g. the shards {@code orders_00} to {@code orders_63} of a table
+ *
+ * <p>The field relations of an input are the relations whose input fields carry the id of that input. An input
+ * without such relations is mapped by the names of the fields, which is the common case of sharded tables. The filter
+ * clause applies to the fields of the union.
+ */
+@JsonTypeName(UnionNode.TYPE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@NoArgsConstructor
+public class UnionNode extends TransformNode {
+    private static final long serialVersionUID = 3380651842675327490L;
+    public static final String TYPE = "Union";
+
+    @JsonCreator
+    public UnionNode(@JsonProperty("id") String id,
+                     @JsonProperty("name") String name,
+                     @JsonProperty("fields") List<DataField> fields,
+                     @Nullable @JsonProperty("fieldRelations") List<FieldRelation> fieldRelations,
+                     @Nullable @JsonProperty("filterClause") String filterClause) {
+        super(id, name, fields, fieldRelations == null ? Collections.emptyList() : fieldRelations, filterClause,
+                false);
+    }
+
+    /**
+     * Get the field relations of an input
+     *
+     * @param inputNode an input node
+     * @return the relations of the input, or relations from the input fields of the same names
+     */
+    public List<FieldRelation> getInputFieldRelations(Node inputNode) {
+        List<FieldRelation> relations = getFieldRelations().stream()
+                .filter(r -> r.getInputField() instanceof DataField
+                        && inputNode.getId().equals(((DataField) r.getInputField()).getNodeId()))
+                .collect(Collectors.toList());
+        if (!relations.isEmpty()) {
+            return relations;
+        }
+        relations = new ArrayList<>();
+        for (DataField field : getFields()) {
+            for (DataField inputField : inputNode.getFields()) {
+                if (inputField.getName().equalsIgnoreCase(field.getName())) {
+                    relations.add(new FieldRelation(inputField, field));
+                    break;
+                }
+            }
+        }
+        return relations;
+    }
+}
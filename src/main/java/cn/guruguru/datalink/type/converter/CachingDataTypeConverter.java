@@ -0,0 +1,98 @@
+package cn.guruguru.datalink.type.converter;
+
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.protocol.field.DataType;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * A bounded and thread-safe memoizing decorator of {@link DataTypeConverter}
+ *
+ * <p>The result of a conversion only depends on the engine, the node type and the type, precision and scale of the
+ * data type, so it is cached by a {@link DataTypeKey}. Failed conversions are not cached and the exception of the
+ * delegate is thrown as is.
+ *
+ * <p>Usages:
+ * <pre>
+ *     DataTypeConverter typeConverter = SimpleTypeConverterFactory.getCachedInstance(EngineType.FLINK_SQL);
+ *     String fieldType = typeConverter.toEngineType(nodeType, dataType);
+ * </pre>
+ */
+public class CachingDataTypeConverter implements DataTypeConverter {
+    private static final long serialVersionUID = -2316594411036253071L;
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000L;
+
+    private final EngineType engineType;
+    private final DataTypeConverter delegate;
+    private final long maximumSize;
+    private final transient Cache<DataTypeKey, String> cache;
+
+    public CachingDataTypeConverter(EngineType engineType, DataTypeConverter delegate) {
+        this(engineType, delegate, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public CachingDataTypeConverter(EngineType engineType, DataTypeConverter delegate, long maximumSize) {
+        this.engineType = Preconditions.checkNotNull(engineType, "engineType is null");
+        this.delegate = Preconditions.checkNotNull(delegate, "delegate is null");
+        Preconditions.checkState(maximumSize > 0, "maximumSize must be positive");
+        this.maximumSize = maximumSize;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String toEngineType(String nodeType, DataType dataType) {
+        DataTypeKey key = DataTypeKey.of(engineType, nodeType, dataType);
+        String engineFieldType = cache.getIfPresent(key);
+        if (engineFieldType == null) {
+            // concurrent misses of the same key may convert twice, which is harmless because conversions are pure
+            engineFieldType = delegate.toEngineType(nodeType, dataType);
+            if (engineFieldType != null) {
+                cache.put(key, engineFieldType);
+            }
+        }
+        return engineFieldType;
+    }
+
+    /**
+     * Get hit and miss statistics of the cache
+     *
+     * @return a snapshot of the statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Get the approximate number of cached conversions
+     *
+     * @return number of entries
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Discard all cached conversions, the statistics are kept
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public EngineType getEngineType() {
+        return engineType;
+    }
+
+    public DataTypeConverter getDelegate() {
+        return delegate;
+    }
+
+    private Object readResolve() {
+        return new CachingDataTypeConverter(engineType, delegate, maximumSize);
+    }
+}
@@ -0,0 +1,42 @@
+package cn.guruguru.datalink.type.converter;
+
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.protocol.field.DataType;
+import com.google.common.base.Preconditions;
+import lombok.Value;
+
+import javax.annotation.Nullable;
+
+/**
+ * Immutable and canonical key of a type conversion
+ *
+ * <p>{@link DataType} is mutable and its subclasses carry unrelated state (e.g. the column name of {@link
+ * cn.guruguru.datalink.ddl.table.TableField}), so only the attributes that affect the conversion are kept here.
+ */
+@Value
+public class DataTypeKey {
+    EngineType engineType;
+    String nodeType;
+    String type;
+    @Nullable
+    Integer precision;
+    @Nullable
+    Integer scale;
+
+    /**
+     * Create a key for a type conversion
+     *
+     * @param engineType engine type
+     * @param nodeType node type
+     * @param dataType data type of data source
+     * @return a canonical key
+     */
+    public static DataTypeKey of(EngineType engineType, String nodeType, DataType dataType) {
+        Preconditions.checkNotNull(engineType, "engineType is null");
+        Preconditions.checkNotNull(nodeType, "nodeType is null");
+        Preconditions.checkNotNull(dataType, "dataType is null");
+        Preconditions.checkNotNull(dataType.getType(), "type is null");
+        return new DataTypeKey(
+                engineType, nodeType, dataType.getType(), dataType.getPrecision(), dataType.getScale());
+    }
+}
@@ -2,10 +2,14 @@ package cn.guruguru.datalink.type.converter.factory;
 
 import cn.guruguru.datalink.exception.UnsupportedEngineException;
 import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.type.converter.CachingDataTypeConverter;
 import cn.guruguru.datalink.type.converter.DataTypeConverter;
 import cn.guruguru.datalink.type.converter.FlinkDataTypeConverter;
 import cn.guruguru.datalink.type.converter.SparkDataTypeConverter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Simple Converter Factory for creating a {@link
  * DataTypeConverter}
@@ -18,6 +22,15 @@ import cn.guruguru.datalink.type.converter.SparkDataTypeConverter;
  */
 public class SimpleTypeConverterFactory {
 
+    private static final Map<EngineType, CachingDataTypeConverter> CACHED_CONVERTERS = new EnumMap<>(EngineType.class);
+
+    static {
+        CACHED_CONVERTERS.put(EngineType.SPARK_SQL,
+                new CachingDataTypeConverter(EngineType.SPARK_SQL, new SparkDataTypeConverter()));
+        CACHED_CONVERTERS.put(EngineType.FLINK_SQL,
+                new CachingDataTypeConverter(EngineType.FLINK_SQL, new FlinkDataTypeConverter()));
+    }
+
     /**
      * Creates a data converter based on the type of computing engine
      *
@@ -38,4 +51,18 @@ public class SimpleTypeConverterFactory {
     public static DataTypeConverter of(EngineType engineType) {
         return createInstance(engineType);
     }
+
+    /**
+     * Get the cached type converter shared by the parsers and the DDL converters
+     *
+     * @param engineType engine type
+     * @return a shared caching type converter
+     */
+    public static CachingDataTypeConverter getCachedInstance(EngineType engineType) {
+        CachingDataTypeConverter typeConverter = CACHED_CONVERTERS.get(engineType);
+        if (typeConverter == null) {
+            throw new UnsupportedEngineException("Unsupported engine:" + engineType);
+        }
+        return typeConverter;
+    }
 }
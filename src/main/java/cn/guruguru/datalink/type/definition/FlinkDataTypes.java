@@ -164,7 +164,7 @@ public class FlinkDataTypes implements DataTypes {
     @Override
     public boolean isNumericType(String typeString) {
         LogicalType dataType = LogicalTypeParser.parse(typeString);
-        return isDatetimeType(dataType);
+        return isNumericType(dataType);
     }
 
     /**
@@ -0,0 +1,69 @@
+package cn.guruguru.datalink.type.mapping;
+
+import cn.guruguru.datalink.parser.EngineType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declarative type mapping of an engine, which is deserialized from a resource like {@code type-mapping/flink-sql.json}
+ *
+ * <pre>
+ * {
+ *   "engine": "FLINK_SQL",
+ *   "dialects": [
+ *     {
+ *       "name": "MySQL",
+ *       "nodeTypes": ["MysqlScan"],
+ *       "mappings": {
+ *         "INT": ["INT", "MEDIUMINT", "SMALLINT UNSIGNED"],
+ *         "@DECIMAL": ["NUMERIC", "DECIMAL"]
+ *       }
+ *     }
+ *   ]
+ * }
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+public class TypeMappingSpec {
+    @JsonProperty("engine")
+    private EngineType engine;
+
+    @JsonProperty("dialects")
+    private List<DialectSpec> dialects;
+
+    /**
+     * Type mapping of a data source dialect
+     */
+    @Data
+    @NoArgsConstructor
+    public static class DialectSpec {
+        /**
+         * display name of the dialect, like {@code MySQL CDC}
+         */
+        @JsonProperty("name")
+        private String name;
+
+        /**
+         * node types using the dialect, like {@code MysqlCdc}
+         */
+        @JsonProperty("nodeTypes")
+        private List<String> nodeTypes;
+
+        /**
+         * whether to return unknown types as is instead of throwing an exception
+         */
+        @JsonProperty("passThroughUnknownTypes")
+        private boolean passThroughUnknownTypes;
+
+        /**
+         * engine type or {@code @}-prefixed rule name to data source types
+         */
+        @JsonProperty("mappings")
+        private Map<String, List<String>> mappings;
+    }
+}
@@ -0,0 +1,179 @@
+package cn.guruguru.datalink.type.mapping;
+
+import cn.guruguru.datalink.exception.UnsupportedDataSourceException;
+import cn.guruguru.datalink.exception.UnsupportedDataTypeException;
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.protocol.field.DataType;
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compiled type mapping of an engine
+ *
+ * <p>A {@link TypeMappingSpec} is loaded once and compiled into hash tables from node type to dialect and from
+ * upper-case data source type to {@link TypeRule}. Engine type literals are parsed and formatted by the engine when
+ * compiling, so a conversion of a fixed type is two hash lookups without allocation.
+ */
+@Slf4j
+public class TypeMappingTable {
+
+    public static final String RULE_PREFIX = "@";
+
+    /**
+     * Built-in rule to return the upper-case data source type as is
+     */
+    public static final String PASS_THROUGH_RULE = "PASS_THROUGH";
+
+    private static final TypeRule PASS_THROUGH = dataType -> StringUtils.upperCase(dataType.getType());
+
+    private final EngineType engineType;
+    private final Map<String, DialectTable> dialectTables;
+
+    private TypeMappingTable(EngineType engineType, Map<String, DialectTable> dialectTables) {
+        this.engineType = engineType;
+        this.dialectTables = dialectTables;
+    }
+
+    /**
+     * Load and compile a type mapping resource from the classpath
+     *
+     * @param resource resource name, like {@code type-mapping/flink-sql.json}
+     * @param rules rules of the engine by name without {@code @}
+     * @param literalCompiler parses and formats an engine type literal, it should throw an exception if the literal
+     *                        is invalid
+     * @return a compiled type mapping
+     */
+    public static TypeMappingTable load(String resource,
+                                        Map<String, TypeRule> rules,
+                                        UnaryOperator<String> literalCompiler) {
+        Preconditions.checkNotNull(resource, "resource is null");
+        TypeMappingSpec spec;
+        try (InputStream in = TypeMappingTable.class.getClassLoader().getResourceAsStream(resource)) {
+            Preconditions.checkNotNull(in, "type mapping resource %s is not found", resource);
+            spec = new ObjectMapper().readValue(in, TypeMappingSpec.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to load type mapping resource " + resource, e);
+        }
+        return compile(spec, rules, literalCompiler);
+    }
+
+    /**
+     * Compile a type mapping
+     *
+     * @param spec type mapping spec
+     * @param rules rules of the engine by name without {@code @}
+     * @param literalCompiler parses and formats an engine type literal
+     * @return a compiled type mapping
+     */
+    public static TypeMappingTable compile(TypeMappingSpec spec,
+                                           Map<String, TypeRule> rules,
+                                           UnaryOperator<String> literalCompiler) {
+        Preconditions.checkNotNull(spec, "spec is null");
+        Preconditions.checkNotNull(spec.getEngine(), "engine is null");
+        Preconditions.checkNotNull(spec.getDialects(), "dialects is null");
+        Preconditions.checkNotNull(rules, "rules is null");
+        Preconditions.checkNotNull(literalCompiler, "literalCompiler is null");
+        Map<String, DialectTable> dialectTables = new HashMap<>();
+        for (TypeMappingSpec.DialectSpec dialectSpec : spec.getDialects()) {
+            String name = Preconditions.checkNotNull(dialectSpec.getName(), "dialect name is null");
+            Preconditions.checkNotNull(dialectSpec.getMappings(), "mappings of %s is null", name);
+            Map<String, TypeRule> typeRules = new HashMap<>();
+            for (Map.Entry<String, List<String>> mapping : dialectSpec.getMappings().entrySet()) {
+                TypeRule typeRule = compileTarget(mapping.getKey(), rules, literalCompiler);
+                for (String sourceType : mapping.getValue()) {
+                    TypeRule previous = typeRules.put(StringUtils.upperCase(sourceType), typeRule);
+                    Preconditions.checkState(previous == null,
+                            "type %s of %s is mapped more than once", sourceType, name);
+                }
+            }
+            DialectTable dialectTable = new DialectTable(name, dialectSpec.isPassThroughUnknownTypes(), typeRules);
+            Preconditions.checkNotNull(dialectSpec.getNodeTypes(), "node types of %s is null", name);
+            for (String nodeType : dialectSpec.getNodeTypes()) {
+                DialectTable previous = dialectTables.put(nodeType, dialectTable);
+                Preconditions.checkState(previous == null, "node type %s is mapped more than once", nodeType);
+            }
+        }
+        return new TypeMappingTable(spec.getEngine(), Collections.unmodifiableMap(dialectTables));
+    }
+
+    private static TypeRule compileTarget(String target,
+                                          Map<String, TypeRule> rules,
+                                          UnaryOperator<String> literalCompiler) {
+        if (target.startsWith(RULE_PREFIX)) {
+            String ruleName = target.substring(RULE_PREFIX.length());
+            if (PASS_THROUGH_RULE.equals(ruleName)) {
+                return PASS_THROUGH;
+            }
+            TypeRule typeRule = rules.get(ruleName);
+            Preconditions.checkState(typeRule != null, "unknown type rule %s", target);
+            return typeRule;
+        }
+        String engineFieldType = literalCompiler.apply(target);
+        return dataType -> engineFieldType;
+    }
+
+    /**
+     * Convert a data source type to an engine type
+     *
+     * @param nodeType node type
+     * @param dataType data source type
+     * @return engine type
+     * @throws UnsupportedDataSourceException if the node type has no mapping
+     * @throws UnsupportedDataTypeException if the data source type has no mapping
+     */
+    public String toEngineType(String nodeType, DataType dataType) {
+        DialectTable dialectTable = dialectTables.get(nodeType);
+        if (dialectTable == null) {
+            throw new UnsupportedDataSourceException("Unsupported data source type:" + nodeType);
+        }
+        return dialectTable.toEngineType(dataType);
+    }
+
+    public EngineType getEngineType() {
+        return engineType;
+    }
+
+    /**
+     * Compiled type mapping of a dialect
+     */
+    private static class DialectTable {
+        private final String name;
+        private final boolean passThroughUnknownTypes;
+        private final Map<String, TypeRule> typeRules;
+
+        DialectTable(String name, boolean passThroughUnknownTypes, Map<String, TypeRule> typeRules) {
+            this.name = name;
+            this.passThroughUnknownTypes = passThroughUnknownTypes;
+            this.typeRules = typeRules;
+        }
+
+        String toEngineType(DataType dataType) {
+            String fieldType = dataType.getType();
+            // types are upper-case in most cases, so upper-casing is only needed when the first lookup misses
+            TypeRule typeRule = typeRules.get(fieldType);
+            if (typeRule == null) {
+                fieldType = StringUtils.upperCase(fieldType);
+                typeRule = typeRules.get(fieldType);
+            }
+            if (typeRule != null) {
+                return typeRule.apply(dataType);
+            }
+            if (passThroughUnknownTypes) {
+                log.info("Unconsidered {} data type:{}", name, fieldType);
+                return fieldType;
+            }
+            log.error("Unsupported " + name + " data type:" + fieldType);
+            throw new UnsupportedDataTypeException("Unsupported " + name + " data type:" + fieldType);
+        }
+    }
+}
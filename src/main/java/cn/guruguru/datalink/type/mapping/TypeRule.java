@@ -0,0 +1,22 @@
+package cn.guruguru.datalink.type.mapping;
+
+import cn.guruguru.datalink.protocol.field.DataType;
+
+/**
+ * A rule to derive an engine type from a data source type, e.g. from its precision and scale
+ *
+ * <p>Rules are referenced by name with a {@code @} prefix in a type mapping resource, like {@code "@DECIMAL"}.
+ *
+ * @see TypeMappingTable
+ */
+@FunctionalInterface
+public interface TypeRule {
+
+    /**
+     * Derive an engine type
+     *
+     * @param dataType data source type
+     * @return engine type
+     */
+    String apply(DataType dataType);
+}
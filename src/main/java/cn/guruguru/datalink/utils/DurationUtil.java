@@ -0,0 +1,54 @@
+package cn.guruguru.datalink.utils;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utilities for durations in the format of Flink configuration, e.g. {@code 100ms}, {@code 10 s}, {@code 5min},
+ * {@code 1 h} or {@code 7d}, a duration without a unit is in milliseconds
+ */
+public class DurationUtil {
+
+    public static final String DURATION_REGEX = "(\\d+)\\s*(ms|s|min|h|d)?";
+
+    private static final Pattern DURATION_PATTERN = Pattern.compile(DURATION_REGEX, Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Whether a string is a duration
+     *
+     * @param duration a string
+     * @return true if it is a duration
+     */
+    public static boolean isDuration(String duration) {
+        return duration != null && DURATION_PATTERN.matcher(duration.trim()).matches();
+    }
+
+    /**
+     * Convert a duration to milliseconds
+     *
+     * @param duration a duration
+     * @return milliseconds
+     */
+    public static long toMillis(String duration) {
+        Preconditions.checkNotNull(duration, "duration is null");
+        Matcher matcher = DURATION_PATTERN.matcher(duration.trim());
+        Preconditions.checkArgument(matcher.matches(), "not a duration: %s", duration);
+        long value = Long.parseLong(matcher.group(1));
+        String unit = matcher.group(2) == null ? "ms" : matcher.group(2).toLowerCase(Locale.ROOT);
+        switch (unit) {
+            case "s":
+                return value * 1000;
+            case "min":
+                return value * 60 * 1000;
+            case "h":
+                return value * 60 * 60 * 1000;
+            case "d":
+                return value * 24 * 60 * 60 * 1000;
+            default:
+                return value;
+        }
+    }
+}
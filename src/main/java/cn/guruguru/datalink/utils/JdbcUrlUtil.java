@@ -88,6 +88,21 @@ public class JdbcUrlUtil {
         throw new IllegalArgumentException(String.format("The %s URI '%s' is invalid", dialect, url));
     }
 
+    /**
+     * Append a query parameter to a jdbc url, unless the url already contains the parameter
+     *
+     * @param url a JDBC URL, e.g. {@code jdbc:mysql://localhost:3306/db?useSSL=false}
+     * @param key parameter key
+     * @param value parameter value
+     * @return a JDBC URL with the parameter
+     */
+    public static String appendParameter(String url, String key, String value) {
+        if (url.matches(".*[?&]" + Pattern.quote(key) + "=.*")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + key + "=" + value;
+    }
+
     /**
      * Get a pattern for different JDBC dialect
      *
@@ -0,0 +1,233 @@
+package cn.guruguru.datalink.utils;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Logger of input and generated SQL
+ *
+ * <p>SQL is only formatted when a record is actually emitted: arguments wrapped by {@link #sql(String)} or
+ * {@link #compressed(String)} are deferred until the underlying logger calls {@link Object#toString()}, and values of
+ * options which look like credentials (e.g. {@code 'password' = '...'}) are masked at that time.
+ *
+ * <p>The level and the sampling policy can be set with system properties:
+ * <ul>
+ *     <li>{@value #LEVEL_PROPERTY}: {@code OFF} or a level of SLF4J ({@code TRACE}, {@code DEBUG}, {@code INFO},
+ *     {@code WARN} or {@code ERROR}), the default is {@code DEBUG}</li>
+ *     <li>{@value #SAMPLING_INTERVAL_PROPERTY}: log one of every N SQL records, the default is 1</li>
+ * </ul>
+ * Invalid values are logged as a warning and replaced by the defaults, so that a typo does not break loading the
+ * classes holding a SQL logger.
+ *
+ * <p>Usages:
+ * <pre>
+ *     private static final SqlLogger sqlLog = new SqlLogger(log);
+ *     sqlLog.log("node id:{}, create table sql:\n{}", node.getId(), SqlLogger.sql(sql));
+ * </pre>
+ */
+public class SqlLogger {
+
+    public static final String LEVEL_PROPERTY = "datalink.sql.log.level";
+    public static final String SAMPLING_INTERVAL_PROPERTY = "datalink.sql.log.sampling-interval";
+
+    private static final String MASK = "******";
+    // 'password' = 'xxx' for Flink, password 'xxx' for Spark
+    private static final Pattern SECRET_OPTION_PATTERN = Pattern.compile(
+            "('?[\\w.-]*(?:password|secret|token|credential)[\\w.-]*'?\\s*=?\\s*)'(?:[^']|'')*'",
+            Pattern.CASE_INSENSITIVE);
+
+    private final Logger logger;
+    private final Level level;
+    private final int samplingInterval;
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * Create a SQL logger configured by system properties
+     *
+     * @param logger the underlying logger
+     */
+    public SqlLogger(Logger logger) {
+        this(logger, parseLevel(logger, System.getProperty(LEVEL_PROPERTY)),
+                parseSamplingInterval(logger, System.getProperty(SAMPLING_INTERVAL_PROPERTY)));
+    }
+
+    /**
+     * Create a SQL logger
+     *
+     * @param logger the underlying logger
+     * @param level the level of SQL records
+     * @param samplingInterval log one of every {@code samplingInterval} SQL records
+     */
+    public SqlLogger(Logger logger, Level level, int samplingInterval) {
+        Preconditions.checkArgument(samplingInterval > 0, "sampling interval must be positive");
+        this.logger = Preconditions.checkNotNull(logger, "logger is null");
+        this.level = Preconditions.checkNotNull(level, "level is null");
+        this.samplingInterval = samplingInterval;
+    }
+
+    private static Level parseLevel(Logger logger, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Level.DEBUG;
+        }
+        String name = value.trim().toUpperCase(Locale.ROOT);
+        if ("WARNING".equals(name)) {
+            return Level.WARN;
+        }
+        for (Level level : Level.values()) {
+            if (level.name().equals(name)) {
+                return level;
+            }
+        }
+        logger.warn("invalid {}: {}, fall back to {}", LEVEL_PROPERTY, value, Level.DEBUG);
+        return Level.DEBUG;
+    }
+
+    private static int parseSamplingInterval(Logger logger, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return 1;
+        }
+        try {
+            int samplingInterval = Integer.parseInt(value.trim());
+            if (samplingInterval > 0) {
+                return samplingInterval;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        logger.warn("invalid {}: {}, fall back to 1", SAMPLING_INTERVAL_PROPERTY, value);
+        return 1;
+    }
+
+    /**
+     * Whether SQL records of this logger can be emitted
+     */
+    public boolean isEnabled() {
+        switch (level) {
+            case TRACE:
+                return logger.isTraceEnabled();
+            case DEBUG:
+                return logger.isDebugEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            case WARN:
+                return logger.isWarnEnabled();
+            case ERROR:
+                return logger.isErrorEnabled();
+            case OFF:
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Log a SQL record if the level is enabled and the record is sampled
+     *
+     * @param format the format of SLF4J
+     * @param arguments arguments, SQL should be wrapped by {@link #sql(String)} or {@link #compressed(String)}
+     */
+    public void log(String format, Object... arguments) {
+        if (!isEnabled() || counter.getAndIncrement() % samplingInterval != 0) {
+            return;
+        }
+        switch (level) {
+            case TRACE:
+                logger.trace(format, arguments);
+                break;
+            case DEBUG:
+                logger.debug(format, arguments);
+                break;
+            case INFO:
+                logger.info(format, arguments);
+                break;
+            case WARN:
+                logger.warn(format, arguments);
+                break;
+            case ERROR:
+                logger.error(format, arguments);
+                break;
+            default:
+        }
+    }
+
+    // ~ deferred arguments -----------------------------------------
+
+    /**
+     * Defer masking a SQL until it is formatted
+     *
+     * @param sql a SQL
+     * @return an argument whose {@code toString()} is the masked SQL
+     */
+    public static Object sql(String sql) {
+        return lazy(() -> mask(sql));
+    }
+
+    /**
+     * Defer compressing and masking a SQL until it is formatted
+     *
+     * @param sql a SQL
+     * @return an argument whose {@code toString()} is the compressed and masked SQL
+     * @see SqlUtil#compress(String)
+     */
+    public static Object compressed(String sql) {
+        return lazy(() -> mask(SqlUtil.compress(sql)));
+    }
+
+    /**
+     * Defer formatting an argument until it is formatted
+     *
+     * @param supplier the supplier of the message, called at most once
+     * @return an argument whose {@code toString()} is the supplied message
+     */
+    public static Object lazy(Supplier<?> supplier) {
+        return new LazyArgument(Preconditions.checkNotNull(supplier, "supplier is null"));
+    }
+
+    /**
+     * Mask the values of options which look like credentials
+     *
+     * @param sql a SQL
+     * @return a masked SQL
+     */
+    public static String mask(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        return SECRET_OPTION_PATTERN.matcher(sql).replaceAll("$1'" + MASK + "'");
+    }
+
+    /**
+     * Level of SQL records
+     */
+    public enum Level {
+        OFF,
+        TRACE,
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR
+    }
+
+    // shared by the threads of an asynchronous appender
+    private static class LazyArgument {
+        private Supplier<?> supplier;
+        private String value;
+
+        private LazyArgument(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public synchronized String toString() {
+            if (supplier != null) {
+                value = String.valueOf(supplier.get());
+                supplier = null;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package cn.guruguru.datalink.utils;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Incremental splitter of a SQL script
+ *
+ * <p>Statements are read one at a time from a {@link Reader}, so only the current statement is held in memory.
+ * A statement is terminated by a {@code ;} or by a line only containing {@code /} (SQL*Plus style). Terminators in
+ * quoted literals and identifiers are ignored, and {@code --} and {@code /* *}{@code /} comments are removed.
+ * Empty statements are skipped and returned statements are trimmed without the terminator.
+ *
+ * <p>Usages:
+ * <pre>
+ *     try (SqlStatementSplitter splitter = new SqlStatementSplitter(reader)) {
+ *         while (splitter.hasNext()) {
+ *             String statement = splitter.next();
+ *         }
+ *     }
+ * </pre>
+ */
+public class SqlStatementSplitter implements Iterator<String>, Closeable {
+
+    private static final int EOF = -1;
+
+    private final PushbackReader reader;
+    private final StringBuilder buffer = new StringBuilder();
+    private String nextStatement;
+    private boolean endOfStream;
+
+    public SqlStatementSplitter(Reader reader) {
+        this.reader = new PushbackReader(Preconditions.checkNotNull(reader, "reader is null"));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextStatement == null && !endOfStream) {
+            try {
+                nextStatement = readStatement();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return nextStatement != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String statement = nextStatement;
+        nextStatement = null;
+        return statement;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String readStatement() throws IOException {
+        boolean blankLine = true;
+        int c;
+        while ((c = reader.read()) != EOF) {
+            switch (c) {
+                case '\'':
+                case '"':
+                case '`':
+                    readQuoted((char) c);
+                    blankLine = false;
+                    break;
+                case '-':
+                    if (peek() == '-') {
+                        skipLineComment();
+                        buffer.append('\n');
+                        blankLine = true;
+                    } else {
+                        buffer.append('-');
+                        blankLine = false;
+                    }
+                    break;
+                case '/':
+                    int next = peek();
+                    if (next == '*') {
+                        skipBlockComment();
+                        buffer.append(' ');
+                    } else if (blankLine && (next == '\n' || next == '\r' || next == EOF)) {
+                        String statement = takeStatement();
+                        if (statement != null) {
+                            return statement;
+                        }
+                    } else {
+                        buffer.append('/');
+                        blankLine = false;
+                    }
+                    break;
+                case ';':
+                    String statement = takeStatement();
+                    if (statement != null) {
+                        return statement;
+                    }
+                    blankLine = true;
+                    break;
+                case '\n':
+                    buffer.append('\n');
+                    blankLine = true;
+                    break;
+                default:
+                    buffer.append((char) c);
+                    if (!Character.isWhitespace(c)) {
+                        blankLine = false;
+                    }
+            }
+        }
+        endOfStream = true;
+        return takeStatement();
+    }
+
+    /**
+     * Read a quoted literal or identifier, a doubled quote is an escaped quote
+     */
+    private void readQuoted(char quote) throws IOException {
+        buffer.append(quote);
+        int c;
+        while ((c = reader.read()) != EOF) {
+            buffer.append((char) c);
+            if (c == quote) {
+                if (peek() != quote) {
+                    return;
+                }
+                buffer.append((char) reader.read());
+            }
+        }
+    }
+
+    private void skipLineComment() throws IOException {
+        int c;
+        while ((c = reader.read()) != EOF && c != '\n') {
+            // skip
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        reader.read(); // '*'
+        int previous = 0;
+        int c;
+        while ((c = reader.read()) != EOF) {
+            if (previous == '*' && c == '/') {
+                return;
+            }
+            previous = c;
+        }
+    }
+
+    private int peek() throws IOException {
+        int c = reader.read();
+        if (c != EOF) {
+            reader.unread(c);
+        }
+        return c;
+    }
+
+    private String takeStatement() {
+        String statement = buffer.toString().trim();
+        buffer.setLength(0);
+        return statement.isEmpty() ? null : statement;
+    }
+}
@@ -6,16 +6,45 @@ public class SqlUtil {
     /**
      * Compress a SQL
      *
+     * <p>Line feeds are removed, whitespaces after {@code (} and before {@code )} or {@code ;} are removed, and
+     * consecutive whitespaces are replaced with a single space. The SQL is scanned only once.
+     *
      * @param sql regular SQL
      * @return compressed SQL
      */
     public static String compress(String sql) {
         Preconditions.checkNotNull(sql,"SQL is null");
-        return sql.replaceAll("\\n", "")
-                .replaceAll("\\(\\s*", "(")
-                .replaceAll("\\s*\\)", ")")
-                .replaceAll("\\s{2,}", " ")
-                .replaceAll("\\s*;", ";")
-                .trim();
+        StringBuilder compressed = new StringBuilder(sql.length());
+        int whitespaceStart = -1; // the start of the pending whitespaces
+        int whitespaceCount = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\n') {
+                continue;
+            }
+            if (isWhitespace(c)) {
+                if (whitespaceCount++ == 0) {
+                    whitespaceStart = i;
+                }
+                continue;
+            }
+            if (whitespaceCount > 0) {
+                boolean afterOpenParen = compressed.length() > 0
+                        && compressed.charAt(compressed.length() - 1) == '(';
+                if (!afterOpenParen && c != ')' && c != ';') {
+                    compressed.append(whitespaceCount == 1 ? sql.charAt(whitespaceStart) : ' ');
+                }
+                whitespaceCount = 0;
+            }
+            compressed.append(c);
+        }
+        return compressed.toString().trim();
+    }
+
+    /**
+     * Same as {@code \s} of {@link java.util.regex.Pattern}
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 }
@@ -5,6 +5,9 @@ import cn.guruguru.datalink.ddl.table.AffixStrategy;
 import cn.guruguru.datalink.ddl.table.CaseStrategy;
 import cn.guruguru.datalink.ddl.table.JdbcDialect;
 import cn.guruguru.datalink.ddl.result.FlinkDdlConverterResult;
+import cn.guruguru.datalink.ddl.statement.CreateDatabaseStatement;
+import cn.guruguru.datalink.ddl.statement.CreateTableStatement;
+import cn.guruguru.datalink.ddl.statement.DdlStatementListener;
 import cn.guruguru.datalink.ddl.table.TableDuplicateStrategy;
 import cn.guruguru.datalink.ddl.table.TableField;
 import cn.guruguru.datalink.ddl.table.TableSchema;
@@ -12,9 +15,13 @@ import cn.guruguru.datalink.utils.SqlUtil;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class FlinkDdlConverterTest {
 
@@ -111,6 +118,80 @@ public class FlinkDdlConverterTest {
         Assert.assertEquals(expectedDDL, actualDDL);
     }
 
+    @Test
+    public void testConvertSqlInParallel() {
+        StringBuilder sqls = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            // every table is declared twice and databases repeat, which must collapse in the same order
+            sqls.append("CREATE TABLE \"SCHEMA_").append(i % 40 % 3).append("\".\"TABLE_").append(i % 40).append("\" (")
+                    .append("\"ID\" NUMBER(15,0) NOT NULL ENABLE, \"NAME\" VARCHAR2(32 CHAR));\n")
+                    .append("COMMENT ON COLUMN \"SCHEMA_").append(i % 40 % 3).append("\".\"TABLE_").append(i % 40)
+                    .append("\".\"NAME\" IS 'name ").append(i).append("';\n");
+        }
+        FlinkDdlConverterResult expectedResult = flinkSqlConverter.convertSql(
+                JdbcDialect.Oracle, "P1_CATALOG1", null, sqls.toString(), CaseStrategy.UPPERCASE);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            FlinkDdlConverterResult actualResult = flinkSqlConverter.convertSql(
+                    JdbcDialect.Oracle, "P1_CATALOG1", null, sqls.toString(), CaseStrategy.UPPERCASE, executor);
+            Assert.assertEquals(expectedResult, actualResult);
+            Assert.assertEquals(3, actualResult.getCreateDatabaseStatements().size());
+            Assert.assertEquals(40, actualResult.getCreateTableStatements().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConvertStreamForOracle() {
+        String sqls = "-- dump of API_OPER; exported by expdp\n" +
+                "CREATE TABLE \"API_OPER\".\"EDG25_APP_MESSAGE\" \n" +
+                "   (    \"ID\" VARCHAR2(32 CHAR) NOT NULL ENABLE, -- abc; def\n" +
+                "    \"AID\" VARCHAR2(32 CHAR), \n" +
+                "     PRIMARY KEY (\"ID\")\n" +
+                "  USING INDEX PCTFREE 10 INITRANS 2 MAXTRANS 255 COMPUTE STATISTICS \n" +
+                "  TABLESPACE \"SRC_DATA\"  ENABLE\n" +
+                "   ) SEGMENT CREATION DEFERRED \n" +
+                "  TABLESPACE \"SRC_DATA\" ;\n" +
+                "COMMENT ON COLUMN \"API_OPER\".\"EDG25_APP_MESSAGE\".\"ID\" IS '主键;id';\n" +
+                "COMMENT ON TABLE \"API_OPER\".\"EDG25_APP_MESSAGE\" IS 'it''s a table';\n" +
+                "CREATE INDEX \"API_OPER\".\"IDX_AID\" ON \"API_OPER\".\"EDG25_APP_MESSAGE\" (\"AID\");\n" +
+                "/* next table, commented before it is created */\n" +
+                "COMMENT ON TABLE \"API_OPER\".\"EDG25_APP_LOG\" IS 'logs';\n" +
+                "COMMENT ON COLUMN \"API_OPER\".\"EDG25_APP_LOG\".\"ID\" IS 'log id';\n" +
+                "CREATE TABLE \"API_OPER\".\"EDG25_APP_LOG\" (\"ID\" NUMBER(15,0) NOT NULL ENABLE)\n" +
+                "/\n" +
+                "CREATE TABLE \"API_LOG\".\"LOG\" (\"MSG\" CLOB)";
+        List<String> actualStatements = new ArrayList<>();
+        int tableCount = flinkSqlConverter.convertStream(JdbcDialect.Oracle, "P1_CATALOG1", null,
+                new StringReader(sqls), CaseStrategy.SAME_NAME, new DdlStatementListener() {
+                    @Override
+                    public void onCreateDatabase(CreateDatabaseStatement statement) {
+                        actualStatements.add(SqlUtil.compress(statement.getDdl()));
+                    }
+
+                    @Override
+                    public void onCreateTable(CreateTableStatement statement) {
+                        actualStatements.add(SqlUtil.compress(statement.getDdl()));
+                    }
+                });
+        List<String> expectedStatements = Arrays.asList(
+                "CREATE DATABASE IF NOT EXISTS `P1_CATALOG1`.`API_OPER`",
+                "CREATE TABLE IF NOT EXISTS `P1_CATALOG1`.`API_OPER`.`EDG25_APP_MESSAGE` ("
+                        + "`ID` STRING NOT NULL COMMENT '主键;id', "
+                        + "`AID` STRING"
+                        + ") COMMENT 'it''s a table'",
+                "CREATE TABLE IF NOT EXISTS `P1_CATALOG1`.`API_OPER`.`EDG25_APP_LOG` ("
+                        + "`ID` DECIMAL(15, 0) NOT NULL COMMENT 'log id'"
+                        + ") COMMENT 'logs'",
+                "CREATE DATABASE IF NOT EXISTS `P1_CATALOG1`.`API_LOG`",
+                "CREATE TABLE IF NOT EXISTS `P1_CATALOG1`.`API_LOG`.`LOG` ("
+                        + "`MSG` STRING"
+                        + ")");
+        Assert.assertEquals(3, tableCount);
+        Assert.assertEquals(expectedStatements, actualStatements);
+    }
+
     @Test
     public void testConvertTableSchema() {
         TableField idColumn = new TableField("ID", "VARCHAR2", null, null, "主键", false, false, false);
@@ -0,0 +1,40 @@
+package cn.guruguru.datalink.ddl.converter;
+
+import cn.guruguru.datalink.utils.SqlUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OracleSqlPreprocessorTest {
+
+    @Test
+    public void testPreprocess() {
+        String sql = "CREATE TABLE \"SRC\".\"T\" (\n"
+                + "  \"ID\" NUMBER(*,0) NOT NULL ENABLE, \n"
+                + "  \"ENABLE\" NUMBER(* , 0), \n"
+                + "  \"NAME\" VARCHAR2(32) DEFAULT 'USING INDEX ENABLE', \n"
+                + "  PRIMARY KEY (\"ID\")\n"
+                + "  USING INDEX PCTFREE 10 TABLESPACE \"SRC_DATA\"  enable, \n"
+                + "  supplemental log data (ALL) columns\n"
+                + ") -- NUMBER(*,0) ENABLE\n";
+        String expected = "CREATE TABLE \"SRC\".\"T\" (\n"
+                + "  \"ID\" NUMBER NOT NULL, \n"
+                + "  \"ENABLE\" NUMBER, \n"
+                + "  \"NAME\" VARCHAR2(32) DEFAULT 'USING INDEX ENABLE', \n"
+                + "  PRIMARY KEY (\"ID\")\n"
+                + "   PCTFREE 10 TABLESPACE \"SRC_DATA\"\n"
+                + ") -- NUMBER(*,0) ENABLE\n";
+        Assert.assertEquals(expected, OracleSqlPreprocessor.preprocess(sql));
+    }
+
+    @Test
+    public void testPreprocessKeepsIdentifiers() {
+        String sql = "CREATE TABLE T (ENABLED NUMBER(10), NUMBER_OF_USING INT, SUPPLEMENTAL VARCHAR2(8))";
+        Assert.assertEquals(sql, OracleSqlPreprocessor.preprocess(sql));
+    }
+
+    @Test
+    public void testCompress() {
+        Assert.assertEquals("CREATE TABLE t (id INT, name\tSTRING);",
+                SqlUtil.compress("  CREATE TABLE t (\n  id INT,\n   name\tSTRING\n ) ;\n"));
+    }
+}
@@ -0,0 +1,54 @@
+package cn.guruguru.datalink.parser.batch;
+
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.parser.Parser;
+import cn.guruguru.datalink.parser.factory.SimpleParserFactory;
+import cn.guruguru.datalink.parser.result.ParseOutcome;
+import cn.guruguru.datalink.protocol.Pipeline;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit test for the {@link BatchPipelineCompiler}
+ */
+public class BatchPipelineCompilerTest {
+
+    private static final String MYSQL_SCAN_JSON =
+            "{\"id\":\"L101\",\"name\":\"mysql2amoro\",\"description\":\"insert mysql to amoro\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"N10381712676128\"],\"outputs\":[\"N10381714539552\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"N10381712676128\",\"name\":\"N10381712676128\",\"primaryKey\":\"\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"lake_policy\",\"primaryKey\":\"id\",\"properties\":{\"a\":1},\"fields\":[{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}]},{\"id\":\"N10381714539552\",\"name\":\"N10381714539552\",\"type\":\"AmoroLoad\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"properties\":{\"b\":2},\"fields\":[{\"nodeId\":\"N10381714539552\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"N10381714539552\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+
+    @Test
+    public void testCompileInInputOrder() throws Exception {
+        Parser parser = SimpleParserFactory.createParser(EngineType.FLINK_SQL);
+        String expected = parser.parse(Pipeline.deserialize(MYSQL_SCAN_JSON)).getSqlScript();
+        List<Pipeline> pipelines = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String json = MYSQL_SCAN_JSON.replace("\"L101\"", "\"L" + i + "\"");
+            if (i % 10 == 0) { // an output node that does not exist
+                json = json.replace("\"outputs\":[\"N10381714539552\"]", "\"outputs\":[\"N0\"]");
+            }
+            pipelines.add(Pipeline.deserialize(json));
+        }
+        ForkJoinPool pool = new ForkJoinPool(8);
+        try {
+            List<ParseOutcome> outcomes = new BatchPipelineCompiler(parser, pool).compile(pipelines);
+            Assert.assertEquals(pipelines.size(), outcomes.size());
+            for (int i = 0; i < outcomes.size(); i++) {
+                ParseOutcome outcome = outcomes.get(i);
+                Assert.assertEquals("L" + i, outcome.getPipelineId());
+                if (i % 10 == 0) {
+                    Assert.assertFalse(outcome.isSuccess());
+                    Assert.assertTrue(outcome.getError() instanceof NullPointerException);
+                } else {
+                    Assert.assertTrue(outcome.isSuccess());
+                    Assert.assertEquals(expected, outcome.getResult().getSqlScript());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
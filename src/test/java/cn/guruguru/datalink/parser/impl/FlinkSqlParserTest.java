@@ -5,11 +5,16 @@ import cn.guruguru.datalink.parser.Parser;
 import cn.guruguru.datalink.parser.factory.FlinkSqlParserFactory;
 import cn.guruguru.datalink.parser.factory.ParserFactory;
 import cn.guruguru.datalink.protocol.Pipeline;
+import cn.guruguru.datalink.protocol.node.extract.cdc.MysqlBackfill;
+import cn.guruguru.datalink.protocol.node.extract.cdc.MysqlCdcNode;
+import cn.guruguru.datalink.protocol.node.extract.scan.JdbcScanPartition;
 import cn.guruguru.datalink.utils.SqlUtil;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.core.JsonProcessingException;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.List;
 
 public class FlinkSqlParserTest {
 
@@ -55,4 +60,279 @@ public class FlinkSqlParserTest {
                 + "INSERT INTO `p1_catalog1`.`db`.`orders` SELECT CAST(`id` as DECIMAL(38, 0)) AS `id` FROM `lake_policy`;";
         Assert.assertEquals(expected, actual);
     }
+
+    @Test
+    public void parseIncrementalMysqlScan() throws IOException {
+    String json =
+        "{\"id\":\"L101\",\"name\":\"mysql2amoro\",\"description\":\"insert mysql to amoro incrementally\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"N1\"],\"outputs\":[\"N2\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"N1\",\"name\":\"N1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"lake_policy\",\"incremental\":{\"column\":\"update_time\",\"lastValue\":\"2024-01-01 00:00:00\"},\"fields\":[{\"nodeId\":\"N1\",\"type\":\"DataField\",\"name\":\"update_time\",\"dataType\":{\"type\":\"DATETIME\"}}]},{\"id\":\"N2\",\"name\":\"N2\",\"type\":\"AmoroLoad\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"fields\":[{\"nodeId\":\"N2\",\"type\":\"DataField\",\"name\":\"update_time\",\"dataType\":{\"type\":\"TIMESTAMP\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"N1\",\"type\":\"DataField\",\"name\":\"update_time\",\"dataType\":{\"type\":\"DATETIME\"}},\"outputField\":{\"nodeId\":\"N2\",\"type\":\"DataField\",\"name\":\"update_time\",\"dataType\":{\"type\":\"TIMESTAMP\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        String actual = SqlUtil.compress(parseResult.getSqlStatements().get(2));
+        // the Flink JDBC connector can not push down a predicate on a timestamp column
+        String expected = "INSERT INTO `p1_catalog1`.`db`.`orders` SELECT CAST(`update_time` as TIMESTAMP(6)) AS `update_time` "
+                + "FROM (SELECT * FROM `lake_policy` WHERE `update_time` > TIMESTAMP '2024-01-01 00:00:00') AS `lake_policy`";
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(
+                "SELECT COALESCE(MAX(`update_time`), TIMESTAMP '2024-01-01 00:00:00') FROM lake_policy"
+                        + " WHERE `update_time` > TIMESTAMP '2024-01-01 00:00:00'",
+                parseResult.getHighWatermarkSqls().get("N1"));
+    }
+
+    @Test
+    public void parseStatementSet() throws IOException {
+    String json =
+        "{\"runtimeMode\":\"STREAMING\",\"id\":\"L101\",\"name\":\"oraclecdc2amoros\",\"description\":\"insert oracle-cdc to two amoro tables\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"N1\"],\"outputs\":[\"N2\"]},{\"type\":\"Map\",\"inputs\":[\"N1\"],\"outputs\":[\"N3\"]}]},\"nodes\":[{\"type\":\"OracleCdc\",\"id\":\"N1\",\"name\":\"N1\",\"primaryKey\":\"\",\"hostname\":\"localhost\",\"port\":3306,\"username\":\"rqyin\",\"password\":\"easipass\",\"databaseName\":\"test12c\",\"schemaName\":\"s1\",\"tableName\":\"lake_policy\",\"fields\":[{\"nodeId\":\"N1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"NUMBER\",\"precision\":38,\"scale\":0}}]},{\"id\":\"N2\",\"name\":\"N2\",\"type\":\"AmoroLoad\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"fields\":[{\"nodeId\":\"N2\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"DECIMAL\",\"precision\":38,\"scale\":0}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"N1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"NUMBER\",\"precision\":38,\"scale\":0}},\"outputField\":{\"nodeId\":\"N2\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"DECIMAL\",\"precision\":38,\"scale\":0}}}]},{\"id\":\"N3\",\"name\":\"N3\",\"type\":\"AmoroLoad\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders_bak\",\"fields\":[{\"nodeId\":\"N3\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"DECIMAL\",\"precision\":38,\"scale\":0}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"N1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"NUMBER\",\"precision\":38,\"scale\":0}},\"outputField\":{\"nodeId\":\"N3\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"DECIMAL\",\"precision\":38,\"scale\":0}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        List<String> sqls = parseResult.getSqlStatements();
+        Assert.assertEquals("SET execution.runtime-mode=streaming", sqls.get(0));
+        Assert.assertEquals("SET table.optimizer.reuse-source-enabled=true", sqls.get(1));
+        Assert.assertEquals("SET table.optimizer.reuse-sub-plan-enabled=true", sqls.get(2));
+        // two create table statements of the load nodes and one of the source
+        Assert.assertEquals(7, sqls.size());
+        String statementSet = sqls.get(6);
+        Assert.assertTrue(statementSet, statementSet.startsWith("EXECUTE STATEMENT SET\nBEGIN\nINSERT INTO"));
+        Assert.assertTrue(statementSet, statementSet.endsWith(";\nEND"));
+        String compressed = SqlUtil.compress(statementSet);
+        Assert.assertTrue(compressed, compressed.contains(
+                "INSERT INTO `p1_catalog1`.`db`.`orders` SELECT CAST(`id` as DECIMAL(38, 0)) AS `id` FROM `lake_policy`;"));
+        Assert.assertTrue(compressed, compressed.contains(
+                "INSERT INTO `p1_catalog1`.`db`.`orders_bak` SELECT CAST(`id` as DECIMAL(38, 0)) AS `id` FROM `lake_policy`;"));
+
+        pipeline.setStatementSet(false);
+        parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        Assert.assertEquals(6, parseResult.getSqlStatements().size());
+    }
+
+    @Test
+    public void parseLookupJoin() throws IOException {
+        String json =
+                "{\"runtimeMode\":\"STREAMING\",\"id\":\"L101\",\"name\":\"lookup\",\"description\":\"enrich orders with customers\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\",\"D1\"],\"outputs\":[\"J1\"]},{\"type\":\"Map\",\"inputs\":[\"J1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlCdc\",\"id\":\"S1\",\"name\":\"S1\",\"hostname\":\"localhost\",\"port\":3306,\"username\":\"rqyin\",\"password\":\"easipass\",\"database-name\":\"mydatabase\",\"table-name\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"MysqlScan\",\"id\":\"D1\",\"name\":\"D1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"customers\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"VARCHAR\"}},{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"memo\",\"dataType\":{\"type\":\"VARCHAR\"}}]},{\"type\":\"LookupJoin\",\"id\":\"J1\",\"name\":\"J1\",\"streamNodeId\":\"S1\",\"lookupNodeId\":\"D1\",\"joinType\":\"LEFT\",\"joinKeys\":[{\"leftField\":\"customer_id\",\"rightField\":\"id\"}],\"lookupCache\":{\"maxRows\":10000,\"ttl\":\"10min\"},\"fields\":[{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"VARCHAR\"}},\"outputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        String actual = SqlUtil.compress(parseResult.getSqlScript());
+        String expected = "CREATE VIEW `transform_J1` (`id`, `customer_name`) AS"
+                + "SELECT `orders`.`id` AS `id`, CAST(`customers`.`name` as STRING) AS `customer_name` "
+                + "FROM (SELECT *, PROCTIME() AS `proc_time` FROM `orders`) AS `orders` "
+                + "LEFT JOIN `customers` FOR SYSTEM_TIME AS OF `orders`.`proc_time` AS `customers` "
+                + "ON `orders`.`customer_id` = `customers`.`id`;";
+        Assert.assertTrue(actual, actual.contains(expected));
+        Assert.assertTrue(actual, actual.contains("'lookup.cache.max-rows' = '10000', 'lookup.cache.ttl' = '10min');"));
+
+        try {
+            Pipeline.deserialize(json.replace("\"ttl\":\"10min\"", "\"ttl\":\"10 minutes\""));
+            Assert.fail("the ttl with an unknown unit is accepted");
+        } catch (JsonProcessingException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("ttl is not a duration"));
+        }
+    }
+
+    @Test
+    public void parseJoin() throws IOException {
+        String json =
+                "{\"id\":\"J101\",\"name\":\"join\",\"description\":\"join orders with customers\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\",\"D1\"],\"outputs\":[\"J1\"]},{\"type\":\"Map\",\"inputs\":[\"J1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"S1\",\"name\":\"S1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"MysqlScan\",\"id\":\"D1\",\"name\":\"D1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"customers\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"VARCHAR\"}}]},{\"type\":\"Join\",\"id\":\"J1\",\"name\":\"J1\",\"leftNodeId\":\"S1\",\"rightNodeId\":\"D1\",\"joinKeys\":[{\"leftField\":\"customer_id\",\"rightField\":\"id\"}],\"smallNodeId\":\"D1\",\"joinStrategy\":\"SHUFFLE_HASH\",\"stateTtl\":\"1 h\",\"fields\":[{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"VARCHAR\"}},\"outputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        String actual = SqlUtil.compress(parseResult.getSqlScript());
+        // Flink 1.15 has no join hints, the state TTL of the join is applied to the job
+        Assert.assertTrue(actual, actual.startsWith("SET table.exec.state.ttl=1 h;"));
+        String expected = "CREATE VIEW `transform_J1` (`id`, `customer_name`) AS"
+                + "SELECT `orders`.`id` AS `id`, CAST(`customers`.`name` as STRING) AS `customer_name` "
+                + "FROM `orders` JOIN `customers` ON `orders`.`customer_id` = `customers`.`id`;";
+        Assert.assertTrue(actual, actual.contains(expected));
+    }
+
+    @Test
+    public void parseTuningProfile() throws IOException {
+        String json =
+                "{\"id\":\"T101\",\"name\":\"tuning\",\"description\":\"tuned pipeline\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"S1\",\"name\":\"S1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}}]}],\"tuningProfile\":{\"preset\":\"LARGE_STATE\",\"checkpointInterval\":\"1 min\"},\"properties\":{\"table.exec.mini-batch.size\":\"2000\"}}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        List<String> sqls = parseResult.getSqlStatements();
+        // the values of the preset are overridden by the profile, and the profile is overridden by the properties
+        Assert.assertEquals("SET execution.checkpointing.interval=1 min", sqls.get(0));
+        Assert.assertEquals("SET execution.checkpointing.mode=EXACTLY_ONCE", sqls.get(1));
+        Assert.assertEquals("SET execution.checkpointing.unaligned=true", sqls.get(2));
+        Assert.assertEquals("SET state.backend=rocksdb", sqls.get(3));
+        Assert.assertEquals("SET state.backend.incremental=true", sqls.get(4));
+        Assert.assertEquals("SET table.exec.mini-batch.enabled=true", sqls.get(5));
+        Assert.assertEquals("SET table.exec.mini-batch.allow-latency=2 s", sqls.get(6));
+        Assert.assertEquals("SET table.optimizer.agg-phase-strategy=TWO_PHASE", sqls.get(7));
+        Assert.assertEquals("SET table.exec.mini-batch.size=2000", sqls.get(8));
+        // unknown keys of a profile are rejected
+        String unknownKeyJson =
+                "{\"id\":\"T101\",\"name\":\"tuning\",\"description\":\"tuned pipeline\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"S1\",\"name\":\"S1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}}]}],\"tuningProfile\":{\"preset\":\"LOW_LATENCY\",\"checkpointIntervall\":\"1 min\"}}";
+        try {
+            Pipeline.deserialize(unknownKeyJson);
+            Assert.fail("the unknown key of the tuning profile is accepted");
+        } catch (JsonProcessingException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("checkpointIntervall"));
+        }
+    }
+
+    @Test
+    public void parseUpsertKeyAligned() throws IOException {
+        // the primary key of the sink is the renamed primary key of the CDC source
+        String json =
+                "{\"runtimeMode\":\"STREAMING\",\"id\":\"C101\",\"name\":\"cdc\",\"description\":\"sync orders\",\"stateTtl\":\"1 d\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"T1\"]},{\"type\":\"Map\",\"inputs\":[\"T1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlCdc\",\"id\":\"S1\",\"name\":\"S1\",\"hostname\":\"localhost\",\"port\":3306,\"username\":\"rqyin\",\"password\":\"easipass\",\"database-name\":\"mydatabase\",\"table-name\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"Transform\",\"id\":\"T1\",\"name\":\"T1\",\"fields\":[{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"order_id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"order_id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"order_id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"order_id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"order_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"order_id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        List<String> sqls = parseResult.getSqlStatements();
+        Assert.assertEquals("SET execution.runtime-mode=streaming", sqls.get(0));
+        Assert.assertEquals("SET table.exec.state.ttl=1 d", sqls.get(1));
+        Assert.assertEquals("SET table.exec.sink.upsert-materialize=NONE", sqls.get(2));
+        // the changelog is materialized if the primary key of the sink is another field
+        String misalignedJson =
+                "{\"runtimeMode\":\"STREAMING\",\"id\":\"C101\",\"name\":\"cdc\",\"description\":\"sync orders\",\"stateTtl\":\"1 d\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"T1\"]},{\"type\":\"Map\",\"inputs\":[\"T1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlCdc\",\"id\":\"S1\",\"name\":\"S1\",\"hostname\":\"localhost\",\"port\":3306,\"username\":\"rqyin\",\"password\":\"easipass\",\"database-name\":\"mydatabase\",\"table-name\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"Transform\",\"id\":\"T1\",\"name\":\"T1\",\"fields\":[{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"order_id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"order_id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"customer_id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"order_id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"order_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"order_id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"T1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}}]}]}";
+        pipeline = Pipeline.deserialize(misalignedJson);
+        parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        sqls = parseResult.getSqlStatements();
+        Assert.assertEquals("SET table.exec.state.ttl=1 d", sqls.get(1));
+        Assert.assertTrue(sqls.get(2), sqls.get(2).startsWith("CREATE"));
+    }
+
+    @Test
+    public void parseMysqlCdcSnapshotTuning() throws IOException {
+        String json =
+                "{\"runtimeMode\":\"STREAMING\",\"id\":\"C102\",\"name\":\"cdc\",\"description\":\"sync orders and customers\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]},{\"type\":\"Map\",\"inputs\":[\"S2\"],\"outputs\":[\"L2\"]}]},\"nodes\":[{\"type\":\"MysqlCdc\",\"id\":\"S1\",\"name\":\"S1\",\"hostname\":\"localhost\",\"port\":3306,\"username\":\"rqyin\",\"password\":\"easipass\",\"database-name\":\"mydatabase\",\"table-name\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"snapshotTuning\":{\"parallelism\":4,\"estimatedRowCount\":500000000}},{\"type\":\"MysqlCdc\",\"id\":\"S2\",\"name\":\"S2\",\"hostname\":\"localhost\",\"port\":3306,\"username\":\"rqyin\",\"password\":\"easipass\",\"database-name\":\"mydatabase\",\"table-name\":\"customers\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S2\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S2\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"VARCHAR\"}}],\"serverId\":5402},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}}]},{\"type\":\"AmoroLoad\",\"id\":\"L2\",\"name\":\"L2\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"customers\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L2\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L2\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S2\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L2\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S2\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"STRING\"}},\"outputField\":{\"nodeId\":\"L2\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        String actual = SqlUtil.compress(parseResult.getSqlScript());
+        // the job and every node run with the parallelism of the snapshot
+        Assert.assertTrue(actual, actual.contains("SET parallelism.default=4;"));
+        // the range of the other node starts from its legacy server id, the range of the tuned node skips it
+        Assert.assertTrue(actual, actual.contains("'server-id' = '5406-5409'"));
+        Assert.assertTrue(actual, actual.contains("'server-id' = '5402-5405'"));
+        // a numeric key of 500 million rows read by 4 readers
+        Assert.assertTrue(actual, actual.contains("'scan.incremental.snapshot.chunk.size' = '65536'"));
+        Assert.assertTrue(actual, actual.contains("'chunk-meta.group.size' = '1908'"));
+    }
+
+    @Test
+    public void parseOracleCdcLogMinerTuning() throws IOException {
+        String json =
+                "{\"runtimeMode\":\"STREAMING\",\"id\":\"O101\",\"name\":\"oraclecdc\",\"description\":\"sync policies\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"OracleCdc\",\"id\":\"S1\",\"name\":\"S1\",\"primaryKey\":\"id\",\"hostname\":\"localhost\",\"port\":1521,\"username\":\"rqyin\",\"password\":\"easipass\",\"databaseName\":\"test12c\",\"schemaName\":\"s1\",\"tableName\":\"policy\",\"logMinerTuning\":{\"preset\":\"HIGH_VOLUME\",\"batchSizeMax\":1000000},\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"NUMBER\",\"precision\":38,\"scale\":0}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"remark\",\"dataType\":{\"type\":\"CLOB\"}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"policy\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"DECIMAL\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"remark\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"NUMBER\",\"precision\":38,\"scale\":0}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"DECIMAL\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"remark\",\"dataType\":{\"type\":\"CLOB\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"remark\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        String actual = SqlUtil.compress(parseResult.getSqlScript());
+        String expected = "'debezium.log.mining.strategy' = 'online_catalog', "
+                + "'debezium.log.mining.batch.size.min' = '10000', "
+                + "'debezium.log.mining.batch.size.default' = '100000', "
+                + "'debezium.log.mining.batch.size.max' = '1000000', "
+                + "'debezium.log.mining.sleep.time.min.ms' = '0', "
+                + "'debezium.log.mining.sleep.time.default.ms' = '1000', "
+                + "'debezium.log.mining.sleep.time.max.ms' = '3000', "
+                + "'debezium.log.mining.sleep.time.increment.ms' = '200', "
+                + "'debezium.lob.enabled' = 'true')";
+        Assert.assertTrue(actual, actual.contains(expected));
+        // LOB handling can not be disabled for a CLOB field
+        String noLobJson =
+                "{\"runtimeMode\":\"STREAMING\",\"id\":\"O101\",\"name\":\"oraclecdc\",\"description\":\"sync policies\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"OracleCdc\",\"id\":\"S1\",\"name\":\"S1\",\"primaryKey\":\"id\",\"hostname\":\"localhost\",\"port\":1521,\"username\":\"rqyin\",\"password\":\"easipass\",\"databaseName\":\"test12c\",\"schemaName\":\"s1\",\"tableName\":\"policy\",\"logMinerTuning\":{\"preset\":\"LOW_LATENCY\",\"lobEnabled\":false},\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"NUMBER\",\"precision\":38,\"scale\":0}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"remark\",\"dataType\":{\"type\":\"CLOB\"}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"policy\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"DECIMAL\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"remark\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"NUMBER\",\"precision\":38,\"scale\":0}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"DECIMAL\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"remark\",\"dataType\":{\"type\":\"CLOB\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"remark\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+        try {
+            Pipeline.deserialize(noLobJson);
+            Assert.fail("LOB handling is disabled for a CLOB field");
+        } catch (JsonProcessingException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("[remark]"));
+        }
+    }
+
+    @Test
+    public void parseMongoCdc() throws IOException {
+        String json =
+                "{\"runtimeMode\":\"STREAMING\",\"id\":\"M101\",\"name\":\"mongocdc\",\"description\":\"sync orders\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MongoCdc\",\"id\":\"S1\",\"name\":\"S1\",\"hostname\":\"localhost:27017,localhost:27018\",\"username\":\"rqyin\",\"password\":\"easipass\",\"database\":\"shop\",\"collection\":\"orders\",\"tuning\":{\"batchSize\":2048,\"pollMaxBatchSize\":2048,\"pollAwaitTimeMs\":500,\"copyExistingQueueSize\":20480,\"incrementalSnapshot\":true,\"chunkSizeMb\":128},\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"_id\",\"dataType\":{\"type\":\"OBJECTID\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"qty\",\"dataType\":{\"type\":\"INT32\"}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"qty\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"_id\",\"dataType\":{\"type\":\"OBJECTID\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"qty\",\"dataType\":{\"type\":\"INT32\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"qty\",\"dataType\":{\"type\":\"INT\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        String actual = SqlUtil.compress(parseResult.getSqlScript());
+        String expected = "CREATE TABLE IF NOT EXISTS `orders`(`_id` STRING, `qty` INT, "
+                + "PRIMARY KEY (`_id`) NOT ENFORCED) WITH ('connector' = 'mongodb-cdc', "
+                + "'hosts' = 'localhost:27017,localhost:27018', 'username' = 'rqyin', 'password' = 'easipass', "
+                + "'database' = 'shop', 'collection' = 'orders', 'batch.size' = '2048', "
+                + "'poll.max.batch.size' = '2048', 'poll.await.time.ms' = '500', "
+                + "'copy.existing.queue.size' = '20480', 'scan.incremental.snapshot.enabled' = 'true', "
+                + "'scan.incremental.snapshot.chunk.size.mb' = '128');";
+        Assert.assertTrue(actual, actual.contains(expected));
+    }
+
+    @Test
+    public void parseBatchRuntimeMode() throws IOException {
+        String json =
+                "{\"runtimeMode\":\"BATCH\",\"id\":\"B101\",\"name\":\"backfill\",\"description\":\"backfill orders\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlCdc\",\"id\":\"S1\",\"name\":\"S1\",\"hostname\":\"localhost\",\"port\":3306,\"username\":\"rqyin\",\"password\":\"easipass\",\"database-name\":\"mydatabase\",\"table-name\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        List<String> sqls = parseResult.getSqlStatements();
+        Assert.assertEquals("SET execution.runtime-mode=batch", sqls.get(0));
+        Assert.assertEquals("SET execution.batch-shuffle-mode=ALL_EXCHANGES_BLOCKING", sqls.get(1));
+        Assert.assertEquals("SET parallelism.default=-1", sqls.get(2));
+        // the CDC source is read as a bounded snapshot of the table
+        String actual = SqlUtil.compress(parseResult.getSqlScript());
+        Assert.assertTrue(actual, actual.contains("'connector' = 'jdbc'"));
+        Assert.assertTrue(actual, actual.contains("'url' = 'jdbc:mysql://localhost:3306/mydatabase?useCursorFetch=true'"));
+        Assert.assertTrue(actual, actual.contains("'scan.fetch-size'"));
+        Assert.assertFalse(actual, actual.contains("mysql-cdc"));
+        // the snapshot is partitioned by the backfill, whose offset is not used
+        ((MysqlCdcNode) pipeline.getNodes().get(0)).setBackfill(
+                new MysqlBackfill(new JdbcScanPartition(null, 4, 1L, 50000000L), null, null, null, null));
+        actual = SqlUtil.compress(new FlinkSqlParserFactory().createParser().parse(pipeline).getSqlScript());
+        Assert.assertTrue(actual, actual.contains("'scan.partition.column' = 'id'"));
+        Assert.assertTrue(actual, actual.contains("'scan.partition.num' = '4'"));
+        Assert.assertFalse(actual, actual.contains("TEMPORARY"));
+        // a source without a snapshot can not be bounded
+        String mongoJson =
+                "{\"runtimeMode\":\"BATCH\",\"id\":\"B102\",\"name\":\"backfill\",\"description\":\"backfill orders\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MongoCdc\",\"id\":\"S1\",\"name\":\"S1\",\"hostname\":\"localhost:27017,localhost:27018\",\"username\":\"rqyin\",\"password\":\"easipass\",\"database\":\"shop\",\"collection\":\"orders\",\"tuning\":{\"batchSize\":2048,\"pollMaxBatchSize\":2048,\"pollAwaitTimeMs\":500,\"copyExistingQueueSize\":20480,\"incrementalSnapshot\":true,\"chunkSizeMb\":128},\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"_id\",\"dataType\":{\"type\":\"OBJECTID\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"qty\",\"dataType\":{\"type\":\"INT32\"}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"qty\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"_id\",\"dataType\":{\"type\":\"OBJECTID\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"qty\",\"dataType\":{\"type\":\"INT32\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"qty\",\"dataType\":{\"type\":\"INT\"}}}]}]}";
+        try {
+            new FlinkSqlParserFactory().createParser().parse(Pipeline.deserialize(mongoJson));
+            Assert.fail("an unbounded source is read in the BATCH mode");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("BATCH"));
+        }
+    }
+
+    @Test
+    public void parseMysqlCdcBackfill() throws IOException {
+        String json =
+                "{\"runtimeMode\":\"STREAMING\",\"id\":\"B103\",\"name\":\"backfill\",\"description\":\"backfill and sync orders\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlCdc\",\"id\":\"S1\",\"name\":\"S1\",\"hostname\":\"localhost\",\"port\":3306,\"username\":\"rqyin\",\"password\":\"easipass\",\"database-name\":\"mydatabase\",\"table-name\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"backfill\":{\"partition\":{\"numPartitions\":4,\"lowerBound\":1,\"upperBound\":50000000},\"fetchTuning\":{},\"gtidSet\":\"3e11fa47-71ca-11e1-9e33-c80aa9429562:1-5\"}},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new FlinkSqlParserFactory().createParser().parse(pipeline);
+        List<String> sqls = parseResult.getSqlStatements();
+        // the batch job only has the settings of the BATCH mode
+        Assert.assertEquals("SET execution.runtime-mode=batch", sqls.get(0));
+        Assert.assertEquals("SET execution.batch-shuffle-mode=ALL_EXCHANGES_BLOCKING", sqls.get(1));
+        Assert.assertEquals("SET parallelism.default=-1", sqls.get(2));
+        Assert.assertEquals("SET table.dml-sync=true", sqls.get(3));
+        // the CDC table reads the binlog from the recorded offset
+        String cdcTable = SqlUtil.compress(sqls.get(4));
+        Assert.assertTrue(cdcTable, cdcTable.contains("'scan.startup.mode' = 'specific-offset'"));
+        Assert.assertTrue(cdcTable, cdcTable.contains(
+                "'scan.startup.specific-offset.gtid-set' = '3e11fa47-71ca-11e1-9e33-c80aa9429562:1-5'"));
+        // it is shadowed by a partitioned scan until the batch job has written the existing rows
+        String snapshotTable = SqlUtil.compress(sqls.get(6));
+        Assert.assertTrue(snapshotTable, snapshotTable.startsWith("CREATE TEMPORARY TABLE `orders`("));
+        Assert.assertTrue(snapshotTable, snapshotTable.contains("'scan.partition.num' = '4'"));
+        Assert.assertTrue(snapshotTable, snapshotTable.contains("'scan.partition.upper-bound' = '50000000'"));
+        Assert.assertTrue(snapshotTable, snapshotTable.contains("useCursorFetch=true"));
+        Assert.assertEquals(sqls.get(7), sqls.get(14));
+        Assert.assertEquals("DROP TEMPORARY TABLE `orders`", sqls.get(8));
+        // the settings of the batch job are reset before the streaming job
+        Assert.assertEquals("RESET execution.batch-shuffle-mode", sqls.get(9));
+        Assert.assertEquals("RESET parallelism.default", sqls.get(10));
+        Assert.assertEquals("RESET table.dml-sync", sqls.get(11));
+        Assert.assertEquals("SET execution.runtime-mode=streaming", sqls.get(12));
+        Assert.assertEquals("SET table.exec.sink.upsert-materialize=NONE", sqls.get(13));
+        Assert.assertEquals(15, sqls.size());
+        // the settings of the streaming job do not apply to the batch job
+        pipeline.setStateTtl("1 d");
+        sqls = new FlinkSqlParserFactory().createParser().parse(pipeline).getSqlStatements();
+        Assert.assertEquals("SET table.dml-sync=true", sqls.get(3));
+        Assert.assertEquals("SET table.exec.state.ttl=1 d", sqls.get(13));
+        Assert.assertEquals(16, sqls.size());
+        // the offset is recorded right before the job is submitted
+        ((MysqlCdcNode) pipeline.getNodes().get(0)).setBackfill(
+                new MysqlBackfill(new JdbcScanPartition(null, 4, 1L, 50000000L), null, null, null, null));
+        try {
+            new FlinkSqlParserFactory().createParser().parse(pipeline);
+            Assert.fail("the binlog offset of the backfill is not recorded");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("not recorded"));
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package cn.guruguru.datalink.parser.impl;
+
+import cn.guruguru.datalink.parser.result.IncrementalParseResult;
+import cn.guruguru.datalink.protocol.Pipeline;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+public class IncrementalParseTest {
+
+    private final FlinkSqlParser parser = new FlinkSqlParser();
+
+    @Test
+    public void testReparseChangedNodes() throws IOException {
+        IncrementalParseResult first = parser.parse(pipeline("orders", "INT"), null);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("S1", "L1", "S2", "L2")), first.getDiff().getReparsedNodeIds());
+        Assert.assertEquals(6, first.getDiff().getAddedStatements().size());
+
+        // nothing changed
+        IncrementalParseResult second = parser.parse(pipeline("orders", "INT"), first);
+        Assert.assertTrue(second.getDiff().getReparsedNodeIds().isEmpty());
+        Assert.assertTrue(second.getDiff().isEmpty());
+        Assert.assertEquals(first.getSqlStatements(), second.getSqlStatements());
+
+        // a load node changed
+        IncrementalParseResult third = parser.parse(pipeline("customers", "INT"), second);
+        Assert.assertEquals(Collections.singleton("L2"), third.getDiff().getReparsedNodeIds());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("S1", "L1", "S2")), third.getDiff().getReusedNodeIds());
+        Assert.assertEquals(2, third.getDiff().getAddedStatements().size());
+        Assert.assertEquals(2, third.getDiff().getRemovedStatements().size());
+        Assert.assertEquals(parser.parse(pipeline("customers", "INT")).getSqlStatements(),
+                third.getSqlStatements());
+
+        // an extract node changed, its downstream node is parsed again
+        IncrementalParseResult fourth = parser.parse(pipeline("customers", "BIGINT"), third);
+        Assert.assertEquals(new HashSet<>(Arrays.asList("S2", "L2")), fourth.getDiff().getReparsedNodeIds());
+        Assert.assertEquals(parser.parse(pipeline("customers", "BIGINT")).getSqlStatements(),
+                fourth.getSqlStatements());
+    }
+
+    /**
+     * Two pipelines of MysqlScan to AmoroLoad, the second one is changeable
+     */
+    private static Pipeline pipeline(String secondTable, String secondType) throws IOException {
+        String json = "{\"id\":\"P1\",\"name\":\"P1\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":["
+                + "{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]},"
+                + "{\"type\":\"Map\",\"inputs\":[\"S2\"],\"outputs\":[\"L2\"]}]},"
+                + "\"nodes\":[" + scanNode("S1", "src1", "INT") + "," + loadNode("L1", "S1", "orders", "INT") + ","
+                + scanNode("S2", "src2", secondType) + "," + loadNode("L2", "S2", secondTable, secondType) + "]}";
+        return Pipeline.deserialize(json);
+    }
+
+    private static String scanNode(String id, String table, String type) {
+        return "{\"type\":\"MysqlScan\",\"id\":\"" + id + "\",\"name\":\"" + id + "\","
+                + "\"url\":\"jdbc:mysql://localhost:3306/db\",\"username\":\"u\",\"password\":\"p\","
+                + "\"tableName\":\"" + table + "\",\"primaryKey\":\"id\","
+                + "\"fields\":[" + field(id, type) + "]}";
+    }
+
+    private static String loadNode(String id, String input, String table, String type) {
+        return "{\"type\":\"AmoroLoad\",\"id\":\"" + id + "\",\"name\":\"" + id + "\","
+                + "\"catalog\":\"c\",\"database\":\"db\",\"table\":\"" + table + "\",\"primaryKey\":\"id\","
+                + "\"fields\":[" + field(id, "STRING") + "],"
+                + "\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":" + field(input, type)
+                + ",\"outputField\":" + field(id, "STRING") + "}]}";
+    }
+
+    private static String field(String nodeId, String type) {
+        return "{\"nodeId\":\"" + nodeId + "\",\"type\":\"DataField\",\"name\":\"id\","
+                + "\"dataType\":{\"type\":\"" + type + "\"}}";
+    }
+}
@@ -0,0 +1,77 @@
+package cn.guruguru.datalink.parser.impl;
+
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.parser.Parser;
+import cn.guruguru.datalink.parser.factory.SimpleParserFactory;
+import cn.guruguru.datalink.protocol.Pipeline;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Concurrency test for the parsers shared by the {@link SimpleParserFactory}
+ */
+public class ParserConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ITERATIONS = 200;
+
+    private static final String MYSQL_SCAN_JSON =
+            "{\"id\":\"L101\",\"name\":\"mysql2amoro\",\"description\":\"insert mysql to amoro\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"N10381712676128\"],\"outputs\":[\"N10381714539552\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"N10381712676128\",\"name\":\"N10381712676128\",\"primaryKey\":\"\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"lake_policy\",\"primaryKey\":\"id\",\"properties\":{\"a\":1},\"fields\":[{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}]},{\"id\":\"N10381714539552\",\"name\":\"N10381714539552\",\"type\":\"AmoroLoad\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"properties\":{\"b\":2},\"fields\":[{\"nodeId\":\"N10381714539552\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"N10381714539552\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+    private static final String ORACLE_CDC_JSON =
+            "{\"id\":\"L101\",\"name\":\"oraclecdc2amoro\",\"description\":\"insert oracle-cdc to amoro\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"N10381712676128\"],\"outputs\":[\"N10381714539552\"]}]},\"nodes\":[{\"type\":\"OracleCdc\",\"id\":\"N10381712676128\",\"name\":\"N10381712676128\",\"primaryKey\":\"\",\"hostname\":\"localhost\",\"port\":3306,\"username\":\"rqyin\",\"password\":\"easipass\",\"databaseName\":\"test12c\",\"schemaName\":\"s1\",\"tableName\":\"lake_policy\",\"properties\":{\"a\":1},\"fields\":[{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"NUMBER\",\"precision\":38,\"scale\":0}}]},{\"id\":\"N10381714539552\",\"name\":\"N10381714539552\",\"type\":\"AmoroLoad\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"properties\":{\"b\":2},\"fields\":[{\"nodeId\":\"N10381714539552\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"DECIMAL\",\"precision\":38,\"scale\":0}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"NUMBER\",\"precision\":38,\"scale\":0}},\"outputField\":{\"nodeId\":\"N10381714539552\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"DECIMAL\",\"precision\":38,\"scale\":0}}}]}]}";
+
+    @Test
+    public void parseFlinkConcurrently() throws Exception {
+        assertConcurrentParsing(EngineType.FLINK_SQL, Arrays.asList(MYSQL_SCAN_JSON, ORACLE_CDC_JSON));
+    }
+
+    @Test
+    public void parseSparkConcurrently() throws Exception {
+        assertConcurrentParsing(EngineType.SPARK_SQL, Arrays.asList(MYSQL_SCAN_JSON));
+    }
+
+    private void assertConcurrentParsing(EngineType engineType, List<String> jsons) throws Exception {
+        Parser parser = SimpleParserFactory.createParser(engineType);
+        Assert.assertSame(parser, SimpleParserFactory.createParser(engineType));
+        List<Pipeline> pipelines = new ArrayList<>();
+        List<String> expectedScripts = new ArrayList<>();
+        for (String json : jsons) {
+            Pipeline pipeline = Pipeline.deserialize(json);
+            pipelines.add(pipeline);
+            expectedScripts.add(parser.parse(pipeline).getSqlScript());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        int index = j % pipelines.size();
+                        String actual = parser.parse(pipelines.get(index)).getSqlScript();
+                        if (!expectedScripts.get(index).equals(actual)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -5,11 +5,14 @@ import cn.guruguru.datalink.parser.factory.ParserFactory;
 import cn.guruguru.datalink.parser.factory.SparkSqlParserFactory;
 import cn.guruguru.datalink.parser.result.ParseResult;
 import cn.guruguru.datalink.protocol.Pipeline;
+import cn.guruguru.datalink.protocol.ViewCache;
+import cn.guruguru.datalink.protocol.enums.StorageLevel;
 import cn.guruguru.datalink.utils.SqlUtil;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.List;
 
 public class SparkSqlParserTest {
 
@@ -56,4 +59,112 @@ public class SparkSqlParserTest {
                 + "INSERT INTO `p1_catalog1`.`db`.`orders` SELECT COALESCE(CAST(`id` as INT), 0) AS `id` FROM `MYSCHEMA.my_table`;";
         Assert.assertEquals(expected, actual);
     }
+
+    @Test
+    public void parseMysqlScanPushdown() throws IOException {
+        String json =
+                "{\"id\":\"L101\",\"name\":\"mysql2amoro\",\"description\":\"insert mysql to amoro\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"N10381712676128\"],\"outputs\":[\"N10381714539552\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"N10381712676128\",\"name\":\"N10381712676128\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"lake_policy\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"STRING\"}},{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"age\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"memo\",\"dataType\":{\"type\":\"STRING\"}}]},{\"id\":\"N10381714539552\",\"name\":\"N10381714539552\",\"type\":\"AmoroLoad\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"filterClause\":\"WHERE age > 18 AND name = 'a' AND UPPER(name) = 'A' AND age < '30' AND name >= 10\",\"fields\":[{\"nodeId\":\"N10381714539552\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"N10381714539552\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"N10381714539552\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"N10381712676128\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"STRING\"}},\"outputField\":{\"nodeId\":\"N10381714539552\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParserFactory parserFactory = new SparkSqlParserFactory();
+        final Parser sparkSqlParser = parserFactory.createParser();
+        ParseResult parseResult = sparkSqlParser.parse(pipeline);
+        String actual = SqlUtil.compress(parseResult.getSqlScript());
+        // the unused column memo is pruned, the predicate on UPPER(name) and the comparisons with literals of
+        // another type are only evaluated by Spark
+        String expected = "CREATE OR REPLACE TEMPORARY VIEW `lake_policy` " +
+                "USING org.apache.spark.sql.jdbc " +
+                "OPTIONS (" +
+                "url 'jdbc:mysql://localhost:3306/mydatabase', " +
+                "user 'rqyin', " +
+                "password 'easipass', " +
+                "dbtable '(SELECT `id`, `name`, `age` FROM lake_policy WHERE `age` > 18 AND `name` = \\'a\\') t');";
+        Assert.assertTrue(actual, actual.startsWith(expected));
+    }
+
+    @Test
+    public void parseSharedView() throws IOException {
+        String json =
+                "{\"id\":\"L101\",\"name\":\"mysql2amoros\",\"description\":\"insert mysql to two amoro tables\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]},{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L2\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"S1\",\"name\":\"S1\",\"primaryKey\":\"id\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"lake_policy\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}]},{\"id\":\"L1\",\"name\":\"L1\",\"type\":\"AmoroLoad\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}}}]},{\"id\":\"L2\",\"name\":\"L2\",\"type\":\"AmoroLoad\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders_bak\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L2\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L2\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new SparkSqlParserFactory().createParser().parse(pipeline);
+        List<String> sqls = parseResult.getSqlStatements();
+        // one view and two tables, without caching
+        Assert.assertEquals(5, sqls.size());
+        Assert.assertTrue(sqls.stream().noneMatch(sql -> sql.startsWith("CACHE ")));
+
+        pipeline.setViewCache(ViewCache.defaults());
+        sqls = new SparkSqlParserFactory().createParser().parse(pipeline).getSqlStatements();
+        Assert.assertEquals("CACHE LAZY TABLE `lake_policy` OPTIONS ('storageLevel' 'MEMORY_AND_DISK')", sqls.get(3));
+        Assert.assertTrue(SqlUtil.compress(sqls.get(4)).startsWith("INSERT INTO `p1_catalog1`.`db`.`orders` "));
+        Assert.assertTrue(SqlUtil.compress(sqls.get(5)).startsWith("INSERT INTO `p1_catalog1`.`db`.`orders_bak` "));
+        Assert.assertEquals("UNCACHE TABLE IF EXISTS `lake_policy`", sqls.get(6));
+        Assert.assertEquals(7, sqls.size());
+
+        pipeline.setViewCache(new ViewCache(null, StorageLevel.MEMORY_ONLY, 0));
+        sqls = new SparkSqlParserFactory().createParser().parse(pipeline).getSqlStatements();
+        Assert.assertEquals("CACHE LAZY TABLE `lake_policy` OPTIONS ('storageLevel' 'DISK_ONLY')", sqls.get(3));
+
+        pipeline.setViewCache(new ViewCache(false, null, null));
+        sqls = new SparkSqlParserFactory().createParser().parse(pipeline).getSqlStatements();
+        Assert.assertEquals(5, sqls.size());
+    }
+
+    @Test
+    public void parseLookupJoin() throws IOException {
+        String json =
+                "{\"id\":\"L101\",\"name\":\"lookup\",\"description\":\"enrich orders with customers\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\",\"D1\"],\"outputs\":[\"J1\"]},{\"type\":\"Map\",\"inputs\":[\"J1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"S1\",\"name\":\"S1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"MysqlScan\",\"id\":\"D1\",\"name\":\"D1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"customers\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"VARCHAR\"}},{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"memo\",\"dataType\":{\"type\":\"VARCHAR\"}}]},{\"type\":\"LookupJoin\",\"id\":\"J1\",\"name\":\"J1\",\"streamNodeId\":\"S1\",\"lookupNodeId\":\"D1\",\"joinType\":\"LEFT\",\"joinKeys\":[{\"leftField\":\"customer_id\",\"rightField\":\"id\"}],\"lookupCache\":{\"maxRows\":10000,\"ttl\":\"10min\"},\"fields\":[{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"VARCHAR\"}},\"outputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new SparkSqlParserFactory().createParser().parse(pipeline);
+        String actual = SqlUtil.compress(parseResult.getSqlScript());
+        // the lookup node only reads the name and the join key
+        Assert.assertTrue(actual, actual.contains("dbtable '(SELECT `id`, `name` FROM customers) t');"));
+        String expected = "CREATE OR REPLACE TEMPORARY VIEW `transform_J1` (`id`, `customer_name`) AS"
+                + "SELECT /*+ BROADCAST(`customers`) */ `orders`.`id` AS `id`, "
+                + "CAST(`customers`.`name` as STRING) AS `customer_name` "
+                + "FROM `orders` LEFT JOIN `customers` ON `orders`.`customer_id` = `customers`.`id`;";
+        Assert.assertTrue(actual, actual.contains(expected));
+    }
+
+    @Test
+    public void parseJoin() throws IOException {
+        String json =
+                "{\"id\":\"J101\",\"name\":\"join\",\"description\":\"join orders with customers\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\",\"D1\"],\"outputs\":[\"J1\"]},{\"type\":\"Map\",\"inputs\":[\"J1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"S1\",\"name\":\"S1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"MysqlScan\",\"id\":\"D1\",\"name\":\"D1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"customers\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"VARCHAR\"}}]},{\"type\":\"Join\",\"id\":\"J1\",\"name\":\"J1\",\"leftNodeId\":\"S1\",\"rightNodeId\":\"D1\",\"joinKeys\":[{\"leftField\":\"customer_id\",\"rightField\":\"id\"}],\"smallNodeId\":\"D1\",\"joinStrategy\":\"SHUFFLE_HASH\",\"stateTtl\":\"1 h\",\"fields\":[{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"D1\",\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"VARCHAR\"}},\"outputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"J1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_name\",\"dataType\":{\"type\":\"STRING\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new SparkSqlParserFactory().createParser().parse(pipeline);
+        String actual = SqlUtil.compress(parseResult.getSqlScript());
+        String expected = "CREATE OR REPLACE TEMPORARY VIEW `transform_J1` (`id`, `customer_name`) AS"
+                + "SELECT /*+ SHUFFLE_HASH(`customers`) */ `orders`.`id` AS `id`, "
+                + "CAST(`customers`.`name` as STRING) AS `customer_name` "
+                + "FROM `orders` JOIN `customers` ON `orders`.`customer_id` = `customers`.`id`;";
+        Assert.assertTrue(actual, actual.contains(expected));
+    }
+
+    @Test
+    public void parseUnion() throws IOException {
+        String json =
+                "{\"id\":\"U101\",\"name\":\"union\",\"description\":\"union the shards of orders\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\",\"S2\"],\"outputs\":[\"U1\"]},{\"type\":\"Map\",\"inputs\":[\"U1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"S1\",\"name\":\"S1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"orders_0\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"MysqlScan\",\"id\":\"S2\",\"name\":\"S2\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"orders_1\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S2\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S2\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"Union\",\"id\":\"U1\",\"name\":\"U1\",\"fields\":[{\"nodeId\":\"U1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"U1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"filterClause\":\"WHERE customer_id > 0\"},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"U1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}}]}]}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new SparkSqlParserFactory().createParser().parse(pipeline);
+        String actual = SqlUtil.compress(parseResult.getSqlScript());
+        // the fields of the union are matched by name in every shard, the filter is applied to the union
+        String expected = "CREATE OR REPLACE TEMPORARY VIEW `transform_U1` (`id`, `customer_id`) AS"
+                + "SELECT * FROM (SELECT `id` AS `id`, `customer_id` AS `customer_id` FROM `orders_0` "
+                + "UNION ALL SELECT `id` AS `id`, `customer_id` AS `customer_id` FROM `orders_1`) "
+                + "AS `transform_U1` WHERE customer_id > 0;";
+        Assert.assertTrue(actual, actual.contains(expected));
+    }
+
+    @Test
+    public void parseTuningProfile() throws IOException {
+        String json =
+                "{\"id\":\"T101\",\"name\":\"tuning\",\"description\":\"tuned pipeline\",\"relation\":{\"fieldRelations\":[],\"nodeRelations\":[{\"type\":\"Map\",\"inputs\":[\"S1\"],\"outputs\":[\"L1\"]}]},\"nodes\":[{\"type\":\"MysqlScan\",\"id\":\"S1\",\"name\":\"S1\",\"url\":\"jdbc:mysql://localhost:3306/mydatabase\",\"username\":\"rqyin\",\"password\":\"easipass\",\"tableName\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}]},{\"type\":\"AmoroLoad\",\"id\":\"L1\",\"name\":\"L1\",\"catalog\":\"p1_catalog1\",\"database\":\"db\",\"table\":\"orders\",\"primaryKey\":\"id\",\"fields\":[{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}],\"fieldRelations\":[{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}},{\"type\":\"FieldRelation\",\"inputField\":{\"nodeId\":\"S1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}},\"outputField\":{\"nodeId\":\"L1\",\"type\":\"DataField\",\"name\":\"customer_id\",\"dataType\":{\"type\":\"INT\"}}}]}],\"tuningProfile\":{\"preset\":\"HIGH_THROUGHPUT\",\"shufflePartitions\":200}}";
+        Pipeline pipeline = Pipeline.deserialize(json);
+        ParseResult parseResult = new SparkSqlParserFactory().createParser().parse(pipeline);
+        List<String> sqls = parseResult.getSqlStatements();
+        // only the options of Spark are rendered
+        Assert.assertEquals("SET spark.sql.adaptive.enabled=true", sqls.get(0));
+        Assert.assertEquals("SET spark.sql.adaptive.coalescePartitions.enabled=true", sqls.get(1));
+        Assert.assertEquals("SET spark.sql.shuffle.partitions=200", sqls.get(2));
+        Assert.assertTrue(sqls.get(3), sqls.get(3).startsWith("CREATE"));
+    }
 }
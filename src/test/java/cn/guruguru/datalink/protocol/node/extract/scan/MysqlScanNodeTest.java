@@ -1,5 +1,6 @@
 package cn.guruguru.datalink.protocol.node.extract.scan;
 
+import cn.guruguru.datalink.parser.EngineType;
 import cn.guruguru.datalink.protocol.node.Node;
 
 import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonInclude;
@@ -10,6 +11,8 @@ import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMap
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Map;
+
 public class MysqlScanNodeTest {
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -38,4 +41,109 @@ public class MysqlScanNodeTest {
         Assert.assertEquals(node2.getNodeType(), node1.getNodeType());
         Assert.assertEquals(node2.getNodeType(), node3.getNodeType());
     }
+
+    /**
+     * Partitioned scan options of the {@link MySqlScanNode}
+     */
+    @Test
+    public void testPartition() throws JsonProcessingException {
+        String json = "{\"type\":\"MysqlScan\",\"id\":\"N1\",\"name\":\"N1\",\"primaryKey\":\"id\","
+                + "\"url\":\"jdbc:mysql://localhost:3306/db\",\"tableName\":\"orders\","
+                + "\"partition\":{\"numPartitions\":8,\"lowerBound\":1,\"upperBound\":50000000},"
+                + "\"fields\":[{\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT UNSIGNED\"}},"
+                + "{\"type\":\"DataField\",\"name\":\"amount\",\"dataType\":{\"type\":\"BIGINT\"}}]}";
+        MySqlScanNode node = (MySqlScanNode) Node.deserialize(json);
+        // the column is derived from the primary key
+        Assert.assertEquals(new JdbcScanPartition("id", 8, 1L, 50000000L), node.getPartition());
+        Map<String, String> flinkOptions = node.tableOptions(EngineType.FLINK_SQL);
+        Assert.assertEquals("id", flinkOptions.get("scan.partition.column"));
+        Assert.assertEquals("8", flinkOptions.get("scan.partition.num"));
+        Assert.assertEquals("1", flinkOptions.get("scan.partition.lower-bound"));
+        Assert.assertEquals("50000000", flinkOptions.get("scan.partition.upper-bound"));
+        Map<String, String> sparkOptions = node.tableOptions(EngineType.SPARK_SQL);
+        Assert.assertEquals("id", sparkOptions.get("partitionColumn"));
+        Assert.assertEquals("8", sparkOptions.get("numPartitions"));
+        Assert.assertEquals("1", sparkOptions.get("lowerBound"));
+        Assert.assertEquals("50000000", sparkOptions.get("upperBound"));
+        // the resolved partition survives a round trip
+        Assert.assertEquals(node.getPartition(),
+                ((MySqlScanNode) Node.deserialize(Node.serialize(node))).getPartition());
+
+        // the bounds are not derived from the range of the column type, which would put all rows into one stride
+        try {
+            Node.deserialize(json.replace("{\"numPartitions\":8,\"lowerBound\":1,\"upperBound\":50000000}",
+                    "{\"numPartitions\":8}"));
+            Assert.fail("expected bounds are required");
+        } catch (JsonProcessingException e) {
+            Assert.assertTrue(e.getMessage().contains("lowerBound and upperBound are required"));
+        }
+        MySqlScanNode bounded = (MySqlScanNode) Node.deserialize(json.replace(
+                "{\"numPartitions\":8,\"lowerBound\":1,\"upperBound\":50000000}",
+                "{\"partitionColumn\":\"amount\",\"numPartitions\":8,\"lowerBound\":1,\"upperBound\":2000000000}"));
+        Assert.assertEquals(new JdbcScanPartition("amount", 8, 1L, 2000000000L), bounded.getPartition());
+    }
+
+    /**
+     * Fetch size options of the {@link MySqlScanNode}
+     */
+    @Test
+    public void testFetchTuning() throws JsonProcessingException {
+        String json = "{\"type\":\"MysqlScan\",\"id\":\"N1\",\"name\":\"N1\","
+                + "\"url\":\"jdbc:mysql://localhost:3306/db\",\"tableName\":\"orders\","
+                + "\"fetchTuning\":{\"memoryBudget\":1000000},"
+                + "\"fields\":[{\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}},"
+                + "{\"type\":\"DataField\",\"name\":\"name\",\"dataType\":{\"type\":\"VARCHAR\",\"precision\":100}}]}";
+        MySqlScanNode node = (MySqlScanNode) Node.deserialize(json);
+        // (16 + 4) + (16 + 2 * 100) bytes per row
+        Assert.assertEquals(236, JdbcFetchTuning.estimateRowWidth(node.getNodeType(), node.getFields()));
+        Map<String, String> flinkOptions = node.tableOptions(EngineType.FLINK_SQL);
+        Assert.assertEquals("4237", flinkOptions.get("scan.fetch-size"));
+        Assert.assertEquals("jdbc:mysql://localhost:3306/db?useCursorFetch=true", flinkOptions.get("url"));
+        Map<String, String> sparkOptions = node.tableOptions(EngineType.SPARK_SQL);
+        Assert.assertEquals("4237", sparkOptions.get("fetchsize"));
+        Assert.assertEquals("true", sparkOptions.get("useCursorFetch"));
+
+        // explicit properties override the tuning
+        MySqlScanNode overridden = (MySqlScanNode) Node.deserialize(
+                json.replace("\"fetchTuning\"", "\"properties\":{\"scan.fetch-size\":\"50\"},\"fetchTuning\""));
+        Assert.assertEquals("50", overridden.tableOptions(EngineType.FLINK_SQL).get("scan.fetch-size"));
+    }
+
+    /**
+     * Incremental scan of the {@link MySqlScanNode}
+     */
+    @Test
+    public void testIncremental() throws JsonProcessingException {
+        String json = "{\"type\":\"MysqlScan\",\"id\":\"N1\",\"name\":\"N1\","
+                + "\"url\":\"jdbc:mysql://localhost:3306/db\",\"tableName\":\"orders\","
+                + "\"incremental\":{\"column\":\"id\",\"lastValue\":\"100\"},"
+                + "\"fields\":[{\"type\":\"DataField\",\"name\":\"id\",\"dataType\":{\"type\":\"INT\"}}]}";
+        MySqlScanNode node = (MySqlScanNode) Node.deserialize(json);
+        Assert.assertEquals("(SELECT * FROM orders WHERE `id` > 100) t",
+                node.tableOptions(EngineType.SPARK_SQL).get("dbtable"));
+        // the range is pushed down by the bounds of the partitioned scan
+        Assert.assertTrue(node.isIncrementalPushedDown(EngineType.FLINK_SQL));
+        Map<String, String> flinkOptions = node.tableOptions(EngineType.FLINK_SQL);
+        Assert.assertEquals("orders", flinkOptions.get("table-name"));
+        Assert.assertEquals("id", flinkOptions.get("scan.partition.column"));
+        Assert.assertEquals("1", flinkOptions.get("scan.partition.num"));
+        Assert.assertEquals("101", flinkOptions.get("scan.partition.lower-bound"));
+        Assert.assertEquals(String.valueOf(Integer.MAX_VALUE), flinkOptions.get("scan.partition.upper-bound"));
+        Assert.assertEquals("SELECT COALESCE(MAX(`id`), 100) FROM orders WHERE `id` > 100", node.genHighWatermarkSql());
+
+        node.setIncremental(new IncrementalScan("id", "100", "200"));
+        // the query of the watermark does not depend on the upper value it returns
+        Assert.assertEquals("SELECT COALESCE(MAX(`id`), 100) FROM orders WHERE `id` > 100", node.genHighWatermarkSql());
+        Assert.assertEquals("(SELECT * FROM orders WHERE `id` > 100 AND `id` <= 200) t",
+                node.tableOptions(EngineType.SPARK_SQL).get("dbtable"));
+        Assert.assertEquals("200", node.tableOptions(EngineType.FLINK_SQL).get("scan.partition.upper-bound"));
+
+        node.setIncremental(new IncrementalScan("id", "1 OR 1=1", null));
+        try {
+            node.tableOptions(EngineType.SPARK_SQL);
+            Assert.fail("an illegal value is accepted");
+        } catch (IllegalArgumentException expected) {
+            // the value is not formatted into SQL
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package cn.guruguru.datalink.type.converter;
+
+import cn.guruguru.datalink.ddl.table.TableField;
+import cn.guruguru.datalink.exception.UnsupportedDataTypeException;
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.protocol.field.DataType;
+import cn.guruguru.datalink.protocol.node.extract.scan.MySqlScanNode;
+import cn.guruguru.datalink.protocol.node.extract.scan.OracleScanNode;
+import com.google.common.cache.CacheStats;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CachingDataTypeConverterTest {
+
+    @Test
+    public void testCacheHitAndMiss() {
+        DataTypeConverter delegate = new FlinkDataTypeConverter();
+        CachingDataTypeConverter typeConverter = new CachingDataTypeConverter(EngineType.FLINK_SQL, delegate);
+        DataType decimal = new DataType("NUMBER", 20, 4);
+        // column names of table fields are not part of the key
+        TableField column1 = new TableField("COL1", "NUMBER", 20, 4, "comment 1");
+        TableField column2 = new TableField("COL2", "NUMBER", 20, 4, "comment 2");
+
+        Assert.assertEquals(delegate.toEngineType(OracleScanNode.TYPE, decimal),
+                typeConverter.toEngineType(OracleScanNode.TYPE, decimal));
+        Assert.assertEquals("DECIMAL(20, 4)", typeConverter.toEngineType(OracleScanNode.TYPE, column1));
+        Assert.assertEquals("DECIMAL(20, 4)", typeConverter.toEngineType(OracleScanNode.TYPE, column2));
+        // same type of another node type is a different entry
+        Assert.assertEquals("DECIMAL(20, 4)",
+                typeConverter.toEngineType(MySqlScanNode.TYPE, new DataType("DECIMAL", 20, 4)));
+
+        CacheStats stats = typeConverter.stats();
+        Assert.assertEquals(2, stats.hitCount());
+        Assert.assertEquals(2, stats.missCount());
+        Assert.assertEquals(2, typeConverter.size());
+    }
+
+    @Test
+    public void testFailedConversionIsNotCached() {
+        CachingDataTypeConverter typeConverter =
+                new CachingDataTypeConverter(EngineType.SPARK_SQL, new SparkDataTypeConverter());
+        DataType unknown = new DataType("UNKNOWN_TYPE", null, null);
+        for (int i = 0; i < 2; i++) {
+            try {
+                typeConverter.toEngineType(OracleScanNode.TYPE, unknown);
+                Assert.fail("expected UnsupportedDataTypeException");
+            } catch (UnsupportedDataTypeException e) {
+                // expected
+            }
+        }
+        Assert.assertEquals(0, typeConverter.size());
+        Assert.assertEquals(2, typeConverter.stats().missCount());
+    }
+
+    @Test
+    public void testBoundedSize() {
+        CachingDataTypeConverter typeConverter =
+                new CachingDataTypeConverter(EngineType.FLINK_SQL, new FlinkDataTypeConverter(), 4);
+        for (int precision = 1; precision <= 38; precision++) {
+            typeConverter.toEngineType(OracleScanNode.TYPE, new DataType("NUMBER", precision, 0));
+        }
+        Assert.assertTrue(typeConverter.size() <= 4);
+    }
+}
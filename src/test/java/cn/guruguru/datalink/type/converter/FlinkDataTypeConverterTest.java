@@ -0,0 +1,35 @@
+package cn.guruguru.datalink.type.converter;
+
+import cn.guruguru.datalink.exception.UnsupportedDataTypeException;
+import cn.guruguru.datalink.protocol.field.DataType;
+import cn.guruguru.datalink.protocol.node.extract.cdc.OracleCdcNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FlinkDataTypeConverterTest {
+
+    private final FlinkDataTypeConverter typeConverter = new FlinkDataTypeConverter();
+
+    @Test
+    public void testOracleCdcTypes() {
+        Assert.assertEquals("DECIMAL(20, 4)",
+                typeConverter.toEngineType(OracleCdcNode.TYPE, new DataType("NUMBER", 20, 4)));
+        Assert.assertEquals("TIMESTAMP(6)",
+                typeConverter.toEngineType(OracleCdcNode.TYPE, new DataType("TIMESTAMP", 6, null)));
+        Assert.assertEquals("STRING",
+                typeConverter.toEngineType(OracleCdcNode.TYPE, new DataType("SYS.XMLTYPE", null, null)));
+    }
+
+    @Test
+    public void testUnsupportedOracleCdcTypes() {
+        String[] unsupportedTypes = {"TIMESTAMP WITH TIME ZONE", "TIMESTAMP WITH LOCAL TIME ZONE", "XMLTYPE"};
+        for (String type : unsupportedTypes) {
+            try {
+                typeConverter.toEngineType(OracleCdcNode.TYPE, new DataType(type, null, null));
+                Assert.fail("expected UnsupportedDataTypeException for " + type);
+            } catch (UnsupportedDataTypeException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package cn.guruguru.datalink.type.mapping;
+
+import cn.guruguru.datalink.exception.UnsupportedDataSourceException;
+import cn.guruguru.datalink.exception.UnsupportedDataTypeException;
+import cn.guruguru.datalink.parser.EngineType;
+import cn.guruguru.datalink.protocol.field.DataType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TypeMappingTableTest {
+
+    @Test
+    public void testCompileAndConvert() {
+        Map<String, TypeRule> rules = Collections.singletonMap("DECIMAL",
+                dataType -> String.format("DECIMAL(%s, %s)", dataType.getPrecision(), dataType.getScale()));
+        TypeMappingTable table = TypeMappingTable.compile(
+                spec("INT", "@DECIMAL", "@PASS_THROUGH"), rules, literal -> "<" + literal + ">");
+        Assert.assertEquals("<INT>", table.toEngineType("MysqlScan", new DataType("INT", null, null)));
+        Assert.assertEquals("<INT>", table.toEngineType("MysqlScan", new DataType("mediumint", null, null)));
+        Assert.assertEquals("DECIMAL(10, 2)", table.toEngineType("MysqlScan", new DataType("DECIMAL", 10, 2)));
+        Assert.assertEquals("JSON", table.toEngineType("MysqlScan", new DataType("json", null, null)));
+        try {
+            table.toEngineType("MysqlScan", new DataType("GEOMETRY", null, null));
+            Assert.fail("expected UnsupportedDataTypeException");
+        } catch (UnsupportedDataTypeException e) {
+            Assert.assertEquals("Unsupported MySQL data type:GEOMETRY", e.getMessage());
+        }
+        try {
+            table.toEngineType("OracleScan", new DataType("NUMBER", null, null));
+            Assert.fail("expected UnsupportedDataSourceException");
+        } catch (UnsupportedDataSourceException e) {
+            Assert.assertEquals("Unsupported data source type:OracleScan", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnknownRule() {
+        TypeMappingTable.compile(spec("INT", "@UNKNOWN", "@PASS_THROUGH"), Collections.emptyMap(), s -> s);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDuplicateSourceType() {
+        TypeMappingSpec spec = spec("INT", "BIGINT", "@PASS_THROUGH");
+        spec.getDialects().get(0).getMappings().put("DECIMAL", Collections.singletonList("int"));
+        TypeMappingTable.compile(spec, Collections.emptyMap(), s -> s);
+    }
+
+    private static TypeMappingSpec spec(String intTarget, String decimalTarget, String jsonTarget) {
+        Map<String, List<String>> mappings = new LinkedHashMap<>();
+        mappings.put(intTarget, Arrays.asList("INT", "MEDIUMINT"));
+        mappings.put(decimalTarget, Collections.singletonList("DECIMAL"));
+        mappings.put(jsonTarget, Collections.singletonList("JSON"));
+        TypeMappingSpec.DialectSpec dialectSpec = new TypeMappingSpec.DialectSpec();
+        dialectSpec.setName("MySQL");
+        dialectSpec.setNodeTypes(Collections.singletonList("MysqlScan"));
+        dialectSpec.setMappings(mappings);
+        TypeMappingSpec spec = new TypeMappingSpec();
+        spec.setEngine(EngineType.FLINK_SQL);
+        spec.setDialects(Collections.singletonList(dialectSpec));
+        return spec;
+    }
+}
@@ -0,0 +1,110 @@
+package cn.guruguru.datalink.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SqlLoggerTest {
+
+    @Test
+    public void testMask() {
+        Assert.assertEquals("CREATE TABLE t (id INT) WITH ('url' = 'jdbc:mysql://localhost:3306',"
+                        + " 'password' = '******', 'properties.sasl.token' = '******')",
+                SqlLogger.mask("CREATE TABLE t (id INT) WITH ('url' = 'jdbc:mysql://localhost:3306',"
+                        + " 'password' = 'p@ss''word', 'properties.sasl.token' = 'abc')"));
+        Assert.assertEquals("CREATE TABLE t (id INT) USING jdbc OPTIONS (user 'root', password '******')",
+                SqlLogger.mask("CREATE TABLE t (id INT) USING jdbc OPTIONS (user 'root', password 'secret')"));
+    }
+
+    @Test
+    public void testDeferredArguments() {
+        AtomicInteger calls = new AtomicInteger();
+        Object argument = SqlLogger.lazy(() -> "SQL-" + calls.incrementAndGet());
+        Assert.assertEquals(0, calls.get());
+        Assert.assertEquals("SQL-1", argument.toString());
+        Assert.assertEquals("SQL-1", argument.toString());
+        Assert.assertEquals(1, calls.get());
+
+        SqlLogger sqlLogger = new SqlLogger(countingLogger(new AtomicInteger()), SqlLogger.Level.OFF, 1);
+        Assert.assertFalse(sqlLogger.isEnabled());
+        sqlLogger.log("sql:{}", SqlLogger.lazy(() -> {
+            throw new AssertionError("a disabled record must not be formatted");
+        }));
+    }
+
+    @Test
+    public void testSampling() {
+        AtomicInteger emitted = new AtomicInteger();
+        SqlLogger sqlLogger = new SqlLogger(countingLogger(emitted), SqlLogger.Level.DEBUG, 3);
+        for (int i = 0; i < 10; i++) {
+            sqlLogger.log("sql:{}", SqlLogger.compressed("SELECT 1"));
+        }
+        Assert.assertEquals(4, emitted.get());
+    }
+
+    @Test
+    public void testLenientProperties() {
+        String level = System.getProperty(SqlLogger.LEVEL_PROPERTY);
+        String samplingInterval = System.getProperty(SqlLogger.SAMPLING_INTERVAL_PROPERTY);
+        try {
+            List<String> records = new ArrayList<>();
+            Logger logger = (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(),
+                    new Class<?>[] {Logger.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("is")) {
+                            return true;
+                        }
+                        records.add(method.getName());
+                        return null;
+                    });
+            // a level of SLF4J
+            System.setProperty(SqlLogger.LEVEL_PROPERTY, "warn");
+            System.setProperty(SqlLogger.SAMPLING_INTERVAL_PROPERTY, "1");
+            new SqlLogger(logger).log("sql:{}", SqlLogger.sql("SELECT 1"));
+            Assert.assertEquals(Collections.singletonList("warn"), records);
+            // invalid values fall back to the defaults
+            records.clear();
+            System.setProperty(SqlLogger.LEVEL_PROPERTY, "verbose");
+            System.setProperty(SqlLogger.SAMPLING_INTERVAL_PROPERTY, "every");
+            SqlLogger sqlLogger = new SqlLogger(logger);
+            Assert.assertEquals(Arrays.asList("warn", "warn"), records);
+            records.clear();
+            sqlLogger.log("sql:{}", SqlLogger.sql("SELECT 1"));
+            sqlLogger.log("sql:{}", SqlLogger.sql("SELECT 1"));
+            Assert.assertEquals(Arrays.asList("debug", "debug"), records);
+        } finally {
+            restoreProperty(SqlLogger.LEVEL_PROPERTY, level);
+            restoreProperty(SqlLogger.SAMPLING_INTERVAL_PROPERTY, samplingInterval);
+        }
+    }
+
+    private static void restoreProperty(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+
+    /**
+     * A logger with all levels enabled, counting the emitted DEBUG records
+     */
+    private static Logger countingLogger(AtomicInteger debugRecords) {
+        return (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[] {Logger.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("is")) {
+                        return true;
+                    }
+                    if (method.getName().equals("debug")) {
+                        debugRecords.incrementAndGet();
+                    }
+                    return null;
+                });
+    }
+}